@@ -0,0 +1,39 @@
+package rs.raf.bank_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rs.raf.bank_service.domain.enums.CardIssuer;
+import rs.raf.bank_service.specification.CardNumberGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+        Luhn kontrolna cifra i generisanje broja kartice (CardService.createCard i approveCardRequest).
+     */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardNumberGeneratorBenchmark {
+
+    @Param({"VISA", "MASTERCARD", "AMERICAN_EXPRESS", "DINA"})
+    private CardIssuer issuer;
+
+    private String firstFifteen;
+
+    @Setup
+    public void setUp() {
+        firstFifteen = "433333123456789";
+    }
+
+    @Benchmark
+    public String luhnDigit() {
+        return CardNumberGenerator.luhnDigit(firstFifteen);
+    }
+
+    @Benchmark
+    public String generateCardNumber() {
+        return CardNumberGenerator.generateCardNumber(issuer);
+    }
+}
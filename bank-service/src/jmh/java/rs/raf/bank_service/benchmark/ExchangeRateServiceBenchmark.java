@@ -0,0 +1,112 @@
+package rs.raf.bank_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rs.raf.bank_service.domain.dto.ConvertDto;
+import rs.raf.bank_service.domain.dto.ExchangeRateDto;
+import rs.raf.bank_service.domain.entity.Currency;
+import rs.raf.bank_service.domain.entity.ExchangeRate;
+import rs.raf.bank_service.repository.CurrencyRepository;
+import rs.raf.bank_service.repository.ExchangeRateRepository;
+import rs.raf.bank_service.service.ExchangeRateService;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+        ExchangeRateService nad repozitorijumima u memoriji, sa kursnom listom kakvu pravi updateExchangeRates:
+        RSD -> valuta i obrnuto. Direktan par (EUR -> RSD) i par preko RSD (EUR -> USD) idu razlicitim granama.
+        convertFixedPoint je poredjenje: isti kurs kao long u milionitim delovima i iznos u parama.
+     */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExchangeRateServiceBenchmark {
+
+    // kurs 1 RSD u valuti
+    private static final Map<String, String> RSD_RATES = Map.of(
+            "EUR", "0.008535", "USD", "0.009242", "CHF", "0.008128",
+            "GBP", "0.007138", "JPY", "1.384210", "CAD", "0.012871", "AUD", "0.014397");
+
+    private static final long RATE_SCALE = 1_000_000L;
+
+    @Param({"EUR:RSD", "EUR:USD"})
+    private String pair;
+
+    private ExchangeRateService exchangeRateService;
+    private ConvertDto convertDto;
+    private String from;
+    private String to;
+    private long amountCents;
+    private long rateMicros;
+
+    @Setup
+    public void setUp() {
+        Map<String, Currency> currencies = new HashMap<>();
+        Map<String, ExchangeRate> rates = new HashMap<>();
+        Currency rsd = currency(currencies, "RSD");
+
+        RSD_RATES.forEach((code, value) -> {
+            Currency currency = currency(currencies, code);
+            BigDecimal rate = new BigDecimal(value);
+            put(rates, rsd, currency, rate, rate.multiply(new BigDecimal("1.01")));
+
+            BigDecimal mirrored = BigDecimal.ONE.divide(rate, 6, RoundingMode.UP);
+            put(rates, currency, rsd, mirrored, mirrored.multiply(new BigDecimal("1.01")));
+        });
+
+        CurrencyRepository currencyRepository = InMemoryRepository.of(CurrencyRepository.class, Map.of(
+                "findByCode", args -> Optional.ofNullable(currencies.get((String) args[0]))));
+        ExchangeRateRepository exchangeRateRepository = InMemoryRepository.of(ExchangeRateRepository.class, Map.of(
+                "findByFromCurrencyAndToCurrency", args -> Optional.ofNullable(
+                        rates.get(((Currency) args[0]).getCode() + ((Currency) args[1]).getCode()))));
+
+        exchangeRateService = new ExchangeRateService(exchangeRateRepository, currencyRepository, null);
+
+        String[] codes = pair.split(":");
+        from = codes[0];
+        to = codes[1];
+        convertDto = new ConvertDto(from, to, new BigDecimal("1250.75"));
+
+        amountCents = convertDto.getAmount().movePointRight(2).longValueExact();
+        rateMicros = exchangeRateService.getExchangeRate(from, to).getExchangeRate()
+                .movePointRight(6).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    @Benchmark
+    public ExchangeRateDto getExchangeRate() {
+        return exchangeRateService.getExchangeRate(from, to);
+    }
+
+    @Benchmark
+    public BigDecimal convert() {
+        return exchangeRateService.convert(convertDto);
+    }
+
+    @Benchmark
+    public long convertFixedPoint() {
+        // iznos u parama ciljne valute, zaokruzen half-up
+        return Math.floorDiv(amountCents * rateMicros + RATE_SCALE / 2, RATE_SCALE);
+    }
+
+    private static Currency currency(Map<String, Currency> currencies, String code) {
+        Currency currency = Currency.builder().code(code).name(code).symbol(code).active(true).build();
+        currencies.put(code, currency);
+        return currency;
+    }
+
+    private static void put(Map<String, ExchangeRate> rates, Currency from, Currency to, BigDecimal rate, BigDecimal sellRate) {
+        rates.put(from.getCode() + to.getCode(), ExchangeRate.builder()
+                .fromCurrency(from)
+                .toCurrency(to)
+                .exchangeRate(rate)
+                .sellRate(sellRate)
+                .build());
+    }
+}
@@ -0,0 +1,26 @@
+package rs.raf.bank_service.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+        Repozitorijum u memoriji za benchmarkove: implementiraju se samo metode koje meren kod zove
+        (po imenu), ostale bacaju UnsupportedOperationException. Bez Mockito-a, da merenje ne bi
+        obuhvatilo i snimanje poziva.
+     */
+final class InMemoryRepository {
+
+    private InMemoryRepository() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T of(Class<T> repositoryType, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, (proxy, method, args) -> {
+            Function<Object[], Object> implementation = methods.get(method.getName());
+            if (implementation != null) return implementation.apply(args);
+            if (method.getDeclaringClass() == Object.class) return method.invoke(methods, args);
+            throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package rs.raf.bank_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import rs.raf.bank_service.domain.entity.LoanRequest;
+import rs.raf.bank_service.domain.enums.LoanType;
+import rs.raf.bank_service.specification.LoanInterestRateCalculator;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/*
+        Nominalna i efektivna kamatna stopa za zahteve iz svih razreda iznosa i svih tipova kredita.
+        Svaki poziv pravi nove BigDecimal pragove iz stringova, pa je ovo uglavnom merenje alokacija.
+     */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanInterestRateCalculatorBenchmark {
+
+    private static final String[] AMOUNTS = {
+            "300000", "750000", "1500000", "4000000", "8000000", "15000000", "35000000"
+    };
+
+    private LoanRequest[] requests;
+
+    @Setup
+    public void setUp() {
+        LoanType[] types = LoanType.values();
+        requests = new LoanRequest[AMOUNTS.length * types.length];
+        int i = 0;
+        for (String amount : AMOUNTS)
+            for (LoanType type : types)
+                requests[i++] = LoanRequest.builder().amount(new BigDecimal(amount)).type(type).build();
+    }
+
+    // 7 iznosa x 5 tipova kredita
+    @Benchmark
+    @OperationsPerInvocation(35)
+    public void nominalRate(Blackhole blackhole) {
+        for (LoanRequest request : requests)
+            blackhole.consume(LoanInterestRateCalculator.calculateNominalRate(request));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(35)
+    public void effectiveRate(Blackhole blackhole) {
+        for (LoanRequest request : requests)
+            blackhole.consume(LoanInterestRateCalculator.calculateEffectiveRate(request));
+    }
+}
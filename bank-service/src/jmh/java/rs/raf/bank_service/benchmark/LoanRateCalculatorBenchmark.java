@@ -0,0 +1,64 @@
+package rs.raf.bank_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rs.raf.bank_service.specification.LoanRateCalculator;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/*
+        Mesecna rata anuiteta. Trenutna implementacija racuna (1 + r)^n tacno, pa za n = 360 i r sa 6 decimala
+        medjurezultat ima oko 2000 cifara. Pored nje se mere dve alternative sa istim ulazom:
+        pow sa DECIMAL64 preciznoscu i racun u double-u zaokruzen na pare (long).
+     */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoanRateCalculatorBenchmark {
+
+    @Param({"12", "60", "360"})
+    private int months;
+
+    @Param({"5.75"})
+    private String annualRate;
+
+    private BigDecimal principal;
+    private BigDecimal rate;
+    private long principalCents;
+    private double rateValue;
+
+    @Setup
+    public void setUp() {
+        principal = new BigDecimal("1500000.00");
+        rate = new BigDecimal(annualRate);
+        principalCents = principal.movePointRight(2).longValueExact();
+        rateValue = rate.doubleValue();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalExact() {
+        return LoanRateCalculator.calculateMonthlyRate(principal, rate, months);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalDecimal64() {
+        BigDecimal monthlyRate = rate.divide(new BigDecimal("100"), 6, RoundingMode.HALF_UP)
+                .divide(new BigDecimal("12"), 6, RoundingMode.HALF_UP);
+        BigDecimal onePlusRPowerN = monthlyRate.add(BigDecimal.ONE).pow(months, MathContext.DECIMAL64);
+        return principal.multiply(monthlyRate.multiply(onePlusRPowerN))
+                .divide(onePlusRPowerN.subtract(BigDecimal.ONE), 2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public long doubleToCents() {
+        // ista zaokruzivanja mesecne kamate kao u LoanRateCalculator
+        double monthlyRate = Math.round(Math.round(rateValue * 10_000d) / 12d) / 1_000_000d;
+        double onePlusRPowerN = Math.pow(1 + monthlyRate, months);
+        return Math.round(principalCents * monthlyRate * onePlusRPowerN / (onePlusRPowerN - 1));
+    }
+}
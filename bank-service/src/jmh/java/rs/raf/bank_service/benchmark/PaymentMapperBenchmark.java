@@ -0,0 +1,102 @@
+package rs.raf.bank_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import rs.raf.bank_service.domain.entity.*;
+import rs.raf.bank_service.domain.enums.PaymentStatus;
+import rs.raf.bank_service.domain.mapper.PaymentMapper;
+import rs.raf.bank_service.repository.AccountRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+        Mapiranje strane istorije placanja (20 placanja). toOverviewDto i toDetailsDto za svako placanje
+        traze racun primaoca u repozitorijumu, ovde u memoriji, pa meri samo trosak mapiranja i lookup-a.
+     */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentMapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private PaymentMapper paymentMapper;
+    private Payment[] payments;
+
+    @Setup
+    public void setUp() {
+        Currency rsd = Currency.builder().code("RSD").name("Dinar").symbol("RSD").active(true).build();
+        Currency eur = Currency.builder().code("EUR").name("Euro").symbol("€").active(true).build();
+
+        Map<String, Account> accounts = new HashMap<>();
+        Account sender = account("333000100000000110", rsd);
+        accounts.put(sender.getAccountNumber(), sender);
+
+        payments = new Payment[PAGE_SIZE];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Account receiver = account(String.format("333000100000%06d", 200 + i), i % 2 == 0 ? rsd : eur);
+            accounts.put(receiver.getAccountNumber(), receiver);
+
+            Payment payment = new Payment();
+            payment.setId((long) i);
+            payment.setSenderName("Petar Petrovic");
+            payment.setSenderAccount(sender);
+            payment.setAccountNumberReceiver(receiver.getAccountNumber());
+            payment.setAmount(new BigDecimal("1500.00").add(BigDecimal.valueOf(i)));
+            payment.setOutAmount(payment.getAmount());
+            payment.setPaymentCode("289");
+            payment.setPurposeOfPayment("Racun za struju");
+            payment.setReferenceNumber("97-" + (100000 + i));
+            payment.setDate(LocalDateTime.of(2025, 3, 14, 10, 0).minusDays(i));
+            payment.setStatus(PaymentStatus.COMPLETED);
+            if (i % 3 == 0) {
+                Card card = new Card();
+                card.setCardNumber("4333331234567897");
+                payment.setCard(card);
+            }
+            payments[i] = payment;
+        }
+
+        AccountRepository accountRepository = InMemoryRepository.of(AccountRepository.class, Map.of(
+                "findByAccountNumber", args -> Optional.ofNullable(accounts.get((String) args[0]))));
+        paymentMapper = new PaymentMapper(accountRepository);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void toOverviewDto(Blackhole blackhole) {
+        for (Payment payment : payments)
+            blackhole.consume(paymentMapper.toOverviewDto(payment));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void toDetailsDto(Blackhole blackhole) {
+        for (Payment payment : payments)
+            blackhole.consume(paymentMapper.toDetailsDto(payment));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void toPaymentDto(Blackhole blackhole) {
+        for (Payment payment : payments)
+            blackhole.consume(paymentMapper.toPaymentDto(payment, "Elektroprivreda Srbije"));
+    }
+
+    private static Account account(String accountNumber, Currency currency) {
+        PersonalAccount account = new PersonalAccount();
+        account.setAccountNumber(accountNumber);
+        account.setCurrency(currency);
+        account.setBalance(new BigDecimal("250000.00"));
+        account.setAvailableBalance(new BigDecimal("250000.00"));
+        return account;
+    }
+}
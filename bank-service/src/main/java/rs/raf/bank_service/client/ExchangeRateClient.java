@@ -5,7 +5,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import rs.raf.bank_service.domain.dto.UpdateExchangeRateDto;
 
-@FeignClient(name = "exchangeRateClient", url = "https://v6.exchangerate-api.com/v6/4e7f3fa3d4807f67a453fad5")
+@FeignClient(name = "exchangeRateClient", url = "${exchangerate.api.url:https://v6.exchangerate-api.com/v6/4e7f3fa3d4807f67a453fad5}")
 public interface ExchangeRateClient {
 
     @GetMapping("/latest/{currencyCode}")
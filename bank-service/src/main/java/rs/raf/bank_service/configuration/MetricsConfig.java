@@ -0,0 +1,16 @@
+package rs.raf.bank_service.configuration;
+
+import feign.micrometer.MicrometerCapability;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // latencija (feign.Client) i greske (feign.Feign.exception) svakog Feign poziva, po klijentu i metodi
+    @Bean
+    public MicrometerCapability micrometerCapability(MeterRegistry meterRegistry) {
+        return new MicrometerCapability(meterRegistry);
+    }
+}
@@ -1,13 +1,25 @@
 package rs.raf.bank_service.configuration;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.amqp.core.AmqpAdmin;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
     public static final String TRANSACTION_QUEUE = "transaction-queue";
@@ -23,13 +35,47 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory) {
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(jsonMessageConverter());
         factory.setPrefetchCount(1);
         factory.setConcurrentConsumers(1);
         factory.setMaxConcurrentConsumers(1);
+        // lag = od slanja do preuzimanja poruke, po timestamp-u koji postavlja posiljalac
+        factory.setAfterReceivePostProcessors(message -> {
+            Date sentAt = message.getMessageProperties().getTimestamp();
+            if (sentAt != null)
+                Timer.builder("banka.rabbit.listener.lag")
+                        .tag("queue", message.getMessageProperties().getConsumerQueue())
+                        .register(meterRegistry)
+                        .record(Duration.ofMillis(System.currentTimeMillis() - sentAt.getTime()));
+            return message;
+        });
         return factory;
     }
+
+    // timestamp slanja, iz njega email-service racuna banka.rabbit.listener.lag;
+    // configurer primenjuje spring.rabbitmq.template.* i message converter kao auto-konfiguracija
+    @Bean
+    public RabbitTemplate rabbitTemplate(RabbitTemplateConfigurer configurer, ConnectionFactory connectionFactory) {
+        RabbitTemplate template = new RabbitTemplate();
+        configurer.configure(template, connectionFactory);
+        template.addBeforePublishPostProcessors(message -> {
+            message.getMessageProperties().setTimestamp(new Date());
+            return message;
+        });
+        return template;
+    }
+
+    // broj poruka koje cekaju u redu, cita se sa brokera pri svakom scrape-u
+    @Bean
+    public MeterBinder rabbitQueueDepth(AmqpAdmin amqpAdmin, List<Queue> queues) {
+        return registry -> queues.forEach(queue -> Gauge.builder("banka.rabbit.queue.depth", amqpAdmin, admin -> {
+                    QueueInformation info = admin.getQueueInfo(queue.getName());
+                    return info == null ? Double.NaN : info.getMessageCount();
+                })
+                .tag("queue", queue.getName())
+                .register(registry));
+    }
 }
\ No newline at end of file
@@ -43,6 +43,7 @@ public class SpringSecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers("/swagger-ui.html").permitAll()
                 .antMatchers("/swagger-ui/**").permitAll()
                 .antMatchers("/api-docs/**").permitAll()
+                .antMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .antMatchers("/api/account/**").hasAnyRole("EMPLOYEE", "CLIENT")
                 .antMatchers("/api/account/*/cards/**").hasAnyRole("EMPLOYEE", "CLIENT")
                 .antMatchers("/api/payees/**").hasAnyRole("EMPLOYEE", "CLIENT")
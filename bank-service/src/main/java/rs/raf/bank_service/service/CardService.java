@@ -20,6 +20,7 @@ import rs.raf.bank_service.repository.AccountRepository;
 import rs.raf.bank_service.repository.CardRepository;
 import rs.raf.bank_service.repository.CardRequestRepository;
 import rs.raf.bank_service.security.JwtAuthenticationFilter;
+import rs.raf.bank_service.specification.CardNumberGenerator;
 import rs.raf.bank_service.utils.JwtTokenUtil;
 
 import javax.persistence.EntityNotFoundException;
@@ -73,7 +74,7 @@ public class CardService {
         card.setCreationDate(LocalDate.now());
         card.setExpirationDate(LocalDate.now().plusMonths(60));
         card.setIssuer(createCardDto.getIssuer());
-        card.setCardNumber(generateCardNumber(createCardDto.getIssuer()));
+        card.setCardNumber(CardNumberGenerator.generateCardNumber(createCardDto.getIssuer()));
         card.setCvv(generateCVV());
         card.setType(createCardDto.getType());
         card.setName(createCardDto.getName());
@@ -86,67 +87,6 @@ public class CardService {
         return CardMapper.toCardDtoNoOwner(card);
     }
 
-    private String generateCardNumber(CardIssuer issuer) {
-        String firstFifteen = generateMIIandIIN(issuer) + generateAccountNumber();
-        return firstFifteen + luhnDigit(firstFifteen);
-    }
-
-    private String generateMIIandIIN(CardIssuer issuer) {
-        Random random = new Random();
-
-        switch (issuer) {
-            case VISA:
-                return "433333";
-            case MASTERCARD:
-                if (random.nextBoolean()) {
-                    return 51 + random.nextInt(5) + "3333";
-                } else {
-                    return 2221 + random.nextInt(500) + "33";
-                }
-            case DINA:
-                return "989133";
-            case AMERICAN_EXPRESS:
-                if (random.nextBoolean()) {
-                    return "343333";
-                } else {
-                    return "373333";
-                }
-            default:
-                throw new IllegalArgumentException("Unsupported card type");
-        }
-    }
-
-    private String generateAccountNumber() {
-        Random random = new Random();
-
-        int accountNumber = random.nextInt(1000000000);
-        return String.format("%09d", accountNumber);
-    }
-
-
-    private String luhnDigit(String firstFifteen) {
-        int sum = 0;
-        boolean shouldDouble = true;
-
-        for (int i = firstFifteen.length() - 1; i >= 0; i--) {
-            int digit = Character.getNumericValue(firstFifteen.charAt(i));
-
-            if (shouldDouble) {
-                digit = digit * 2;
-                if (digit > 9) {
-                    digit -= 9;
-                }
-            }
-
-            sum = sum + digit;
-            shouldDouble = !shouldDouble;
-        }
-
-        int checkDigit = (10 - (sum % 10)) % 10;
-        return String.valueOf(checkDigit);
-    }
-
-
     public List<CardDto> getCardsByAccount(
             @Parameter(description = "Account number to search for", example = "222222222222222222") String accountNumber) {
         List<Card> cards = cardRepository.findByAccount_AccountNumber(accountNumber);
@@ -301,7 +241,7 @@ public class CardService {
         card.setName(cardRequest.getName());
         card.setIssuer(cardRequest.getCardIssuer());
         card.setType(cardRequest.getCardType());
-        card.setCardNumber(generateCardNumber(cardRequest.getCardIssuer()));
+        card.setCardNumber(CardNumberGenerator.generateCardNumber(cardRequest.getCardIssuer()));
         card.setCvv(generateCVV());
         card.setCreationDate(LocalDate.now());
         card.setExpirationDate(LocalDate.now().plusYears(4));
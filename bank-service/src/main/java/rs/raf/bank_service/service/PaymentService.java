@@ -2,6 +2,8 @@ package rs.raf.bank_service.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -33,6 +35,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class PaymentService {
 
+    private static final Timer CONFIRM_TIMER = Timer.builder("banka.payments.confirm")
+            .description("Izvrsavanje potvrdjenog placanja (skidanje i uplata sredstava)")
+            .register(Metrics.globalRegistry);
+
     private final AccountRepository accountRepository;
     private final JwtTokenUtil jwtTokenUtil;
     private final UserClient userClient;
@@ -288,6 +294,10 @@ public class PaymentService {
 
     @Transactional
     public void confirmPayment(Long paymentId) {
+        CONFIRM_TIMER.record(() -> confirm(paymentId));
+    }
+
+    private void confirm(Long paymentId) {
         Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new PaymentNotFoundException(paymentId));
 
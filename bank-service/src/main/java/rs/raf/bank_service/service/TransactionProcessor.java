@@ -1,6 +1,8 @@
 package rs.raf.bank_service.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -23,6 +25,8 @@ public class TransactionProcessor {
     @RabbitListener(queues = "transaction-queue")
     @Transactional
     public void processTransaction(TransactionMessageDto message) {
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        String outcome = "success";
         try {
             switch (message.getType()) {
                 case CONFIRM_PAYMENT:
@@ -56,7 +60,14 @@ public class TransactionProcessor {
             }
 
         } catch (Exception e) {
+            outcome = "error";
             log.error("Failed to process transaction: {}", message, e);
+        } finally {
+            sample.stop(Timer.builder("banka.transactions.process")
+                    .description("Obrada poruke iz transaction-queue")
+                    .tag("type", String.valueOf(message.getType()))
+                    .tag("outcome", outcome)
+                    .register(Metrics.globalRegistry));
         }
     }
 }
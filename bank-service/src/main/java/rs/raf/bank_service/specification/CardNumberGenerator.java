@@ -0,0 +1,67 @@
+package rs.raf.bank_service.specification;
+
+import rs.raf.bank_service.domain.enums.CardIssuer;
+
+import java.util.Random;
+
+public class CardNumberGenerator {
+
+    public static String generateCardNumber(CardIssuer issuer) {
+        String firstFifteen = generateMIIandIIN(issuer) + generateAccountNumber();
+        return firstFifteen + luhnDigit(firstFifteen);
+    }
+
+    private static String generateMIIandIIN(CardIssuer issuer) {
+        Random random = new Random();
+
+        switch (issuer) {
+            case VISA:
+                return "433333";
+            case MASTERCARD:
+                if (random.nextBoolean()) {
+                    return 51 + random.nextInt(5) + "3333";
+                } else {
+                    return 2221 + random.nextInt(500) + "33";
+                }
+            case DINA:
+                return "989133";
+            case AMERICAN_EXPRESS:
+                if (random.nextBoolean()) {
+                    return "343333";
+                } else {
+                    return "373333";
+                }
+            default:
+                throw new IllegalArgumentException("Unsupported card type");
+        }
+    }
+
+    private static String generateAccountNumber() {
+        Random random = new Random();
+
+        int accountNumber = random.nextInt(1000000000);
+        return String.format("%09d", accountNumber);
+    }
+
+    public static String luhnDigit(String firstFifteen) {
+        int sum = 0;
+        boolean shouldDouble = true;
+
+        for (int i = firstFifteen.length() - 1; i >= 0; i--) {
+            int digit = Character.getNumericValue(firstFifteen.charAt(i));
+
+            if (shouldDouble) {
+                digit = digit * 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+
+            sum = sum + digit;
+            shouldDouble = !shouldDouble;
+        }
+
+        int checkDigit = (10 - (sum % 10)) % 10;
+        return String.valueOf(checkDigit);
+    }
+}
@@ -0,0 +1,30 @@
+package rs.raf.bank_service.unit;
+
+import org.junit.jupiter.api.Test;
+import rs.raf.bank_service.domain.enums.CardIssuer;
+import rs.raf.bank_service.specification.CardNumberGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardNumberGeneratorTest {
+
+    @Test
+    void luhnDigit_ReturnsCheckDigit() {
+        assertEquals("6", CardNumberGenerator.luhnDigit("453201511283036"));
+        assertEquals("0", CardNumberGenerator.luhnDigit("000000000000000"));
+    }
+
+    @Test
+    void generateCardNumber_ProducesValidNumberForEveryIssuer() {
+        for (CardIssuer issuer : CardIssuer.values()) {
+            String cardNumber = CardNumberGenerator.generateCardNumber(issuer);
+
+            assertEquals(16, cardNumber.length());
+            assertTrue(cardNumber.chars().allMatch(Character::isDigit));
+            assertEquals(cardNumber.substring(15), CardNumberGenerator.luhnDigit(cardNumber.substring(0, 15)));
+        }
+        assertTrue(CardNumberGenerator.generateCardNumber(CardIssuer.VISA).startsWith("433333"));
+        assertTrue(CardNumberGenerator.generateCardNumber(CardIssuer.DINA).startsWith("989133"));
+    }
+}
@@ -0,0 +1,113 @@
+package rs.raf.bank_service.unit;
+
+import brave.Span;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rs.raf.bank_service.configuration.FileSpanExporter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileSpanExporterTest {
+
+    private static final TraceContext CONTEXT = TraceContext.newBuilder().traceId(1L).spanId(2L).build();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void end_WritesFinishedSpanAsJsonLine() throws Exception {
+        Path file = tempDir.resolve("traces/bank-service.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file.toString(), 1_000_000L);
+
+        MutableSpan span = new MutableSpan();
+        span.traceId("0000000000000001");
+        span.parentId("0000000000000003");
+        span.id("0000000000000002");
+        span.name("post /api/payment/confirm-payment/{paymentid}");
+        span.kind(Span.Kind.SERVER);
+        span.localServiceName("bank-service");
+        span.startTimestamp(1_000L);
+        span.finishTimestamp(4_500L);
+        span.tag("http.method", "POST");
+
+        exporter.end(CONTEXT, span, SpanHandler.Cause.FINISHED);
+        exporter.destroy();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(1, lines.size());
+        JsonNode node = new ObjectMapper().readTree(lines.get(0));
+        assertEquals("0000000000000001", node.get("traceId").asText());
+        assertEquals("0000000000000003", node.get("parentId").asText());
+        assertEquals("SERVER", node.get("kind").asText());
+        assertEquals("bank-service", node.get("service").asText());
+        assertEquals(3_500L, node.get("durationMicros").asLong());
+        assertEquals("POST", node.get("tags").get("http.method").asText());
+    }
+
+    @Test
+    void end_SkipsAbandonedSpans() throws Exception {
+        Path file = tempDir.resolve("bank-service.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file.toString(), 1_000_000L);
+
+        MutableSpan span = new MutableSpan();
+        span.traceId("0000000000000001");
+        span.id("0000000000000002");
+
+        exporter.end(CONTEXT, span, SpanHandler.Cause.ABANDONED);
+        exporter.destroy();
+
+        assertEquals(0, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void end_RotatesFileWhenItGrowsPastLimit() throws Exception {
+        Path file = tempDir.resolve("bank-service.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file.toString(), 1L);
+
+        MutableSpan span = new MutableSpan();
+        span.traceId("0000000000000001");
+        span.id("0000000000000002");
+        span.startTimestamp(1_000L);
+        span.finishTimestamp(2_000L);
+
+        exporter.end(CONTEXT, span, SpanHandler.Cause.FINISHED);
+        exporter.destroy();
+
+        assertEquals(1, Files.readAllLines(tempDir.resolve("bank-service.jsonl.1")).size());
+        assertEquals(0, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void end_CountsUtf8BytesTowardsRotationLimit() throws Exception {
+        MutableSpan span = new MutableSpan();
+        span.traceId("0000000000000001");
+        span.id("0000000000000002");
+        span.name("uplata za račun čćžšđ");
+        span.startTimestamp(1_000L);
+        span.finishTimestamp(2_000L);
+
+        Path probe = tempDir.resolve("probe.jsonl");
+        FileSpanExporter sizing = new FileSpanExporter(probe.toString(), 1_000_000L);
+        sizing.end(CONTEXT, span, SpanHandler.Cause.FINISHED);
+        sizing.destroy();
+        long lineBytes = Files.size(probe);
+
+        // limit je tacno velicina reda u bajtovima, a broj karaktera je manji
+        Path file = tempDir.resolve("bank-service.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file.toString(), lineBytes);
+        exporter.end(CONTEXT, span, SpanHandler.Cause.FINISHED);
+        exporter.destroy();
+
+        assertEquals(lineBytes, Files.size(tempDir.resolve("bank-service.jsonl.1")));
+        assertEquals(0, Files.size(file));
+    }
+}
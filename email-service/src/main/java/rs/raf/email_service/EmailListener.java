@@ -70,4 +70,12 @@ public class EmailListener {
         String plain = "Please pay your loans.";
         emailService.sendEmail(dto.getDestination(), subject, plain, content);
     }
+
+    @RabbitListener(queues = "margin-call")
+    public void handleMarginCall(EmailRequestDto dto) throws MessagingException {
+        String subject = "Margin call";
+        String content = "Your portfolio equity has fallen below the maintenance margin requirement. Please deposit at least " + dto.getCode() + " or reduce your positions.";
+        String plain = "Margin call: deposit at least " + dto.getCode() + " or reduce your positions.";
+        emailService.sendEmail(dto.getDestination(), subject, plain, content);
+    }
 }
\ No newline at end of file
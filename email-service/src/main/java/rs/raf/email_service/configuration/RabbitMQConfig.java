@@ -1,6 +1,12 @@
 package rs.raf.email_service.configuration;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.amqp.core.AmqpAdmin;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
@@ -8,6 +14,10 @@ import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
@@ -46,16 +56,42 @@ public class RabbitMQConfig {
         return new Queue("insufficient-funds", false);
     }
 
+    @Bean
+    public Queue marginCallQueue() {
+        return new Queue("margin-call", false);
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
     }
 
     @Bean
-    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory) {
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(jsonMessageConverter());
+        // lag = od slanja do preuzimanja poruke, po timestamp-u koji postavlja posiljalac
+        factory.setAfterReceivePostProcessors(message -> {
+            Date sentAt = message.getMessageProperties().getTimestamp();
+            if (sentAt != null)
+                Timer.builder("banka.rabbit.listener.lag")
+                        .tag("queue", message.getMessageProperties().getConsumerQueue())
+                        .register(meterRegistry)
+                        .record(Duration.ofMillis(System.currentTimeMillis() - sentAt.getTime()));
+            return message;
+        });
         return factory;
     }
+
+    // broj poruka koje cekaju u redu, cita se sa brokera pri svakom scrape-u
+    @Bean
+    public MeterBinder rabbitQueueDepth(AmqpAdmin amqpAdmin, List<Queue> queues) {
+        return registry -> queues.forEach(queue -> Gauge.builder("banka.rabbit.queue.depth", amqpAdmin, admin -> {
+                    QueueInformation info = admin.getQueueInfo(queue.getName());
+                    return info == null ? Double.NaN : info.getMessageCount();
+                })
+                .tag("queue", queue.getName())
+                .register(registry));
+    }
 }
\ No newline at end of file
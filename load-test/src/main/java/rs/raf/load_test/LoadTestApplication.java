@@ -0,0 +1,169 @@
+package rs.raf.load_test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import rs.raf.load_test.driver.Api;
+import rs.raf.load_test.driver.LoadDriver;
+import rs.raf.load_test.report.LatencyReport;
+import rs.raf.load_test.scenario.LoginWaveScenario;
+import rs.raf.load_test.scenario.OrderStormScenario;
+import rs.raf.load_test.scenario.PaymentBurstScenario;
+import rs.raf.load_test.scenario.Scenario;
+import rs.raf.load_test.standin.EmbeddedBroker;
+import rs.raf.load_test.standin.EmbeddedDatabase;
+import rs.raf.load_test.standin.MarketDataStub;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+        End-to-end load test: podize Postgres, AMQP broker i market data stub u ovom JVM-u, pokrece
+        user-, bank- i stock-service iz njihovih fat jar-ova, vozi scenarije redom i pise izvestaj.
+
+        mvn -B package -DskipTests
+        mvn -pl load-test exec:java -Dloadtest.scenarios=order-storm -Dloadtest.order-storm.rate=400
+     */
+@Slf4j
+public class LoadTestApplication {
+
+    private static final String USER = "user-service";
+    private static final String BANK = "bank-service";
+    private static final String STOCK = "stock-service";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        Duration startupTimeout = Duration.ofSeconds(config.getInt("loadtest.startup.timeout.seconds"));
+        Path logDir = config.getPath("loadtest.log.dir");
+
+        List<AutoCloseable> resources = new ArrayList<>();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> closeAll(resources), "load-test-shutdown"));
+
+        EmbeddedDatabase database = new EmbeddedDatabase(config.getInt("loadtest.port.postgres"), List.of("main_db", "bank_db", "stock_db"));
+        resources.add(database);
+        resources.add(new EmbeddedBroker(config.getInt("loadtest.port.amqp")));
+        MarketDataStub market = new MarketDataStub(config.getInt("loadtest.port.market"), config.getInt("loadtest.market.latency.ms"));
+        resources.add(market);
+
+        int userPort = config.getInt("loadtest.port.user");
+        int bankPort = config.getInt("loadtest.port.bank");
+        int stockPort = config.getInt("loadtest.port.stock");
+        Map<String, String> feign = Map.of(
+                "spring.cloud.openfeign.client.config.user-service.url", "http://localhost:" + userPort,
+                "spring.cloud.openfeign.client.config.bank-service.url", "http://localhost:" + bankPort,
+                "spring.cloud.openfeign.client.config.stock-service.url", "http://localhost:" + stockPort);
+
+        Map<String, String> userProperties = common(config, database, "main_db", feign);
+
+        Map<String, String> bankProperties = common(config, database, "bank_db", feign);
+        bankProperties.put("exchangerate.api.url", market.baseUrl() + "/v6/loadtest");
+        bankProperties.put("spring.jpa.show-sql", "false");
+
+        Map<String, String> stockProperties = common(config, database, "stock_db", feign);
+        stockProperties.put("alphavantage.base.url", market.baseUrl());
+        stockProperties.put("twelvedata.base.url", market.baseUrl() + "/twelvedata");
+        stockProperties.put("exchangerate.base.url", market.baseUrl() + "/v6");
+
+        // redosled prati zavisnosti pri startu: bank i stock pri bootstrap-u zovu user-service
+        List<ServiceProcess> services = new ArrayList<>();
+        services.add(start(config, USER, userPort, userProperties, logDir, startupTimeout, resources));
+        services.add(start(config, BANK, bankPort, bankProperties, logDir, startupTimeout, resources));
+        services.add(start(config, STOCK, stockPort, stockProperties, logDir, startupTimeout, resources));
+
+        LatencyReport report = new LatencyReport();
+        Api api = new Api(Map.of(
+                "user", "http://localhost:" + userPort,
+                "bank", "http://localhost:" + bankPort,
+                "stock", "http://localhost:" + stockPort), report);
+
+        List<String[]> clients = new ArrayList<>();
+        for (String client : config.getList("loadtest.clients")) clients.add(client.split(":", 2));
+        String[] admin = config.get("loadtest.admin").split(":", 2);
+        List<String> accounts = config.getList("loadtest.accounts");
+
+        awaitReady(api, clients.get(0), startupTimeout, services);
+
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        for (Scenario scenario : List.of(
+                new LoginWaveScenario(clients, admin),
+                new OrderStormScenario(clients, accounts),
+                new PaymentBurstScenario(clients, accounts, admin)))
+            scenarios.put(scenario.name(), scenario);
+
+        ObjectMapper objectMapper = api.getObjectMapper();
+        ArrayNode snapshots = objectMapper.createArrayNode();
+        LoadDriver driver = new LoadDriver(api);
+        for (String name : config.scenarios()) {
+            Scenario scenario = scenarios.get(name);
+            if (scenario == null) throw new IllegalArgumentException("Unknown scenario " + name + ", known: " + scenarios.keySet());
+            driver.run(scenario, config.scenarioSettings(name));
+            ObjectNode snapshot = report.snapshot(name, objectMapper);
+            LatencyReport.print(snapshot, System.out);
+            snapshots.add(snapshot);
+            report.reset();
+        }
+
+        Path reportPath = config.getPath("loadtest.report.path");
+        LatencyReport.write(snapshots, reportPath, objectMapper);
+        log.info("Report written to {}", reportPath);
+        System.exit(0);
+    }
+
+    private static Map<String, String> common(LoadTestConfig config, EmbeddedDatabase database, String db, Map<String, String> feign) {
+        Map<String, String> properties = new LinkedHashMap<>(feign);
+        properties.put("spring.datasource.url", database.jdbcUrl(db));
+        properties.put("spring.datasource.username", EmbeddedDatabase.USERNAME);
+        properties.put("spring.datasource.password", EmbeddedDatabase.USERNAME);
+        properties.put("spring.rabbitmq.host", "localhost");
+        properties.put("spring.rabbitmq.port", String.valueOf(config.getInt("loadtest.port.amqp")));
+        properties.put("spring.rabbitmq.virtual-host", EmbeddedBroker.VIRTUAL_HOST);
+        return properties;
+    }
+
+    private static ServiceProcess start(LoadTestConfig config, String name, int port, Map<String, String> properties,
+                                        Path logDir, Duration timeout, List<AutoCloseable> resources) throws Exception {
+        ServiceProcess service = new ServiceProcess(name, config.serviceJar(name), port, config.serviceJvmArgs(), properties, logDir);
+        resources.add(service);
+        service.awaitPort(timeout);
+        return service;
+    }
+
+    // port je otvoren pre nego sto bootstrap podaci postoje; cekamo prijavu i listu akcija
+    private static void awaitReady(Api api, String[] client, Duration timeout, List<ServiceProcess> services) throws InterruptedException {
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            for (ServiceProcess service : services)
+                if (!service.isAlive()) throw new IllegalStateException(service.getName() + " exited, see its log");
+            try {
+                String token = api.login("/api/auth/login/client", client[0], client[1]);
+                Api.Response listings = api.get("stock", "/api/listings?type=STOCK", null, token);
+                if (listings.isSuccess() && listings.json().size() > 0) {
+                    log.info("Services ready");
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.debug("Services not ready yet: {}", e.getMessage());
+            }
+            Thread.sleep(2000);
+        }
+        throw new IllegalStateException("Services not ready within " + timeout.toSeconds() + "s");
+    }
+
+    // obrnutim redom: prvo servisi, pa broker i baza
+    private static void closeAll(List<AutoCloseable> resources) {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            try {
+                resources.get(i).close();
+            } catch (Exception e) {
+                log.warn("Failed to close {}", resources.get(i), e);
+            }
+        }
+        resources.clear();
+    }
+}
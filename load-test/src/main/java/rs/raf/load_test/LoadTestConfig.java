@@ -0,0 +1,77 @@
+package rs.raf.load_test;
+
+import rs.raf.load_test.driver.ScenarioSettings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/*
+        Podesavanja iz load-test.properties, pregazena sistemskim property-jima (-Dloadtest.*).
+     */
+public class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+
+    public LoadTestConfig() {
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/load-test.properties")) {
+            if (in == null) throw new IllegalStateException("load-test.properties not found on classpath");
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("loadtest."))
+                .forEach(name -> properties.setProperty(name, System.getProperty(name)));
+    }
+
+    public String get(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) throw new IllegalArgumentException("Missing load test property " + key);
+        return value.trim();
+    }
+
+    public int getInt(String key) {
+        return Integer.parseInt(get(key));
+    }
+
+    public List<String> getList(String key) {
+        List<String> values = new ArrayList<>();
+        for (String value : get(key).split(","))
+            if (!value.isBlank()) values.add(value.trim());
+        return values;
+    }
+
+    public Path getPath(String key) {
+        return Path.of(get(key)).toAbsolutePath().normalize();
+    }
+
+    public List<String> scenarios() {
+        return getList("loadtest.scenarios");
+    }
+
+    public ScenarioSettings scenarioSettings(String scenario) {
+        String prefix = "loadtest." + scenario + ".";
+        return new ScenarioSettings(
+                getInt(prefix + "users"),
+                Double.parseDouble(get(prefix + "rate")),
+                Duration.ofMillis(getInt(prefix + "think.ms")),
+                Duration.ofSeconds(getInt(prefix + "warmup.seconds")),
+                Duration.ofSeconds(getInt(prefix + "duration.seconds")));
+    }
+
+    public List<String> serviceJvmArgs() {
+        String args = properties.getProperty("loadtest.service.jvm.args", "").trim();
+        return args.isEmpty() ? List.of() : Arrays.asList(args.split("\\s+"));
+    }
+
+    public Path serviceJar(String service) {
+        return getPath("loadtest.project.dir").resolve(service).resolve("target").resolve(service + "-0.0.1-SNAPSHOT.jar");
+    }
+}
@@ -0,0 +1,89 @@
+package rs.raf.load_test;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+        Jedan servis pokrenut iz svog fat jar-a kao zaseban proces. Podesavanja se prosledjuju kao
+        --kljuc=vrednost argumenti, pa pregaze application.properties bez izmena u servisu.
+     */
+@Slf4j
+public class ServiceProcess implements AutoCloseable {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final int port;
+    private final Process process;
+
+    public ServiceProcess(String name, Path jar, int port, List<String> jvmArgs, Map<String, String> properties, Path logDir) throws IOException {
+        if (!Files.isRegularFile(jar))
+            throw new IllegalStateException("Missing " + jar + " - run 'mvn -B package -DskipTests' from the project root first");
+        this.name = name;
+        this.port = port;
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+
+        Files.createDirectories(logDir);
+        Path logFile = logDir.resolve(name + ".log");
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(jar.getParent().getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile());
+        // stock-service cita kljuc kroz Dotenv i ne startuje bez njega; stub ga ne proverava
+        builder.environment().put("ALPHAVANTAGE_API_KEY", "loadtest");
+
+        this.process = builder.start();
+        log.info("Started {} (pid {}) on port {}, log: {}", name, process.pid(), port, logFile);
+    }
+
+    public void awaitPort(Duration timeout) throws InterruptedException {
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            if (!process.isAlive())
+                throw new IllegalStateException(name + " exited with code " + process.exitValue() + " during startup, see its log");
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress("localhost", port), 500);
+                return;
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException(name + " did not open port " + port + " within " + timeout.toSeconds() + "s");
+    }
+
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            log.warn("{} did not stop in 30s, killing it", name);
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
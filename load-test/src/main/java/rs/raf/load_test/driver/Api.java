@@ -0,0 +1,132 @@
+package rs.raf.load_test.driver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import lombok.Getter;
+import rs.raf.load_test.report.LatencyReport;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/*
+        Tanak HTTP klijent za scenarije. Svaki poziv se meri i upisuje u izvestaj pod oznakom
+        "<METOD> <servis> <putanja>", gde putanja nema konkretne id-jeve (npr. /api/listings/{id}).
+     */
+public class Api {
+
+    // planirani pocetak iteracije u otvorenom modelu; latencija se meri od njega, ne od stvarnog slanja,
+    // da kasnjenje zbog zagusenja ne nestane iz merenja (coordinated omission)
+    private static final ThreadLocal<Long> INTENDED_START = new ThreadLocal<>();
+
+    private final HttpClient client;
+    @Getter
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Getter
+    private final LatencyReport report;
+    private final Map<String, String> baseUrls;
+
+    public Api(Map<String, String> baseUrls, LatencyReport report) {
+        this.baseUrls = baseUrls;
+        this.report = report;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+    }
+
+    static void intendedStart(Long nanos) {
+        if (nanos == null) INTENDED_START.remove();
+        else INTENDED_START.set(nanos);
+    }
+
+    public Response get(String service, String path, String label, String token) {
+        return send(service, label, HttpRequest.newBuilder(uri(service, path)).GET(), token);
+    }
+
+    public Response post(String service, String path, String label, Object body, String token) {
+        try {
+            HttpRequest.BodyPublisher publisher = body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+            return send(service, label, HttpRequest.newBuilder(uri(service, path))
+                    .header("Content-Type", "application/json")
+                    .POST(publisher), token);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body for " + label, e);
+        }
+    }
+
+    // prijava bez merenja, za pripremu scenarija
+    public String login(String path, String email, String password) {
+        Response response = post("user", path, null, Map.of("email", email, "password", password), null);
+        if (!response.isSuccess())
+            throw new IllegalStateException("Login failed for " + email + " with status " + response.getStatus());
+        return response.json().get("token").asText();
+    }
+
+    private Response send(String service, String label, HttpRequest.Builder builder, String token) {
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        HttpRequest request = builder.timeout(Duration.ofSeconds(30)).build();
+        String endpoint = label == null ? null : request.method() + " " + service + " " + label;
+
+        Long intended = INTENDED_START.get();
+        long start = intended != null ? intended : System.nanoTime();
+        int status;
+        byte[] body;
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            body = response.body();
+        } catch (IOException e) {
+            status = -1;
+            body = new byte[0];
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, new byte[0], objectMapper);
+        }
+        if (endpoint != null) report.record(endpoint, System.nanoTime() - start, status);
+        // sledeci poziv u istoj iteraciji se meri od svog stvarnog pocetka
+        INTENDED_START.remove();
+        return new Response(status, body, objectMapper);
+    }
+
+    private URI uri(String service, String path) {
+        String baseUrl = baseUrls.get(service);
+        if (baseUrl == null) throw new IllegalArgumentException("Unknown service " + service);
+        return URI.create(baseUrl + path);
+    }
+
+    public static class Response {
+        @Getter
+        private final int status;
+        private final byte[] body;
+        private final ObjectMapper objectMapper;
+
+        Response(int status, byte[] body, ObjectMapper objectMapper) {
+            this.status = status;
+            this.body = body;
+            this.objectMapper = objectMapper;
+        }
+
+        public boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        public JsonNode json() {
+            if (body.length == 0) return MissingNode.getInstance();
+            try {
+                return objectMapper.readTree(body);
+            } catch (IOException e) {
+                return MissingNode.getInstance();
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package rs.raf.load_test.driver;
+
+import lombok.extern.slf4j.Slf4j;
+import rs.raf.load_test.scenario.Scenario;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+        Pokrece scenario u zatvorenom (N korisnika u petlji) ili otvorenom modelu (fiksan broj iteracija
+        u sekundi, nezavisno od toga koliko brzo servisi odgovaraju). Prvo zagrevanje, pa reset izvestaja,
+        pa merenje.
+     */
+@Slf4j
+public class LoadDriver {
+
+    private final Api api;
+
+    public LoadDriver(Api api) {
+        this.api = api;
+    }
+
+    public void run(Scenario scenario, ScenarioSettings settings) throws InterruptedException {
+        log.info("Scenario {}: {}", scenario.name(), settings);
+        scenario.setUp(api);
+
+        long warmupEnd = System.nanoTime() + settings.getWarmup().toNanos();
+        long end = warmupEnd + settings.getDuration().toNanos();
+        Thread resetter = new Thread(() -> {
+            sleepUntil(warmupEnd);
+            api.getReport().reset();
+            log.info("Scenario {}: warmup done, measuring", scenario.name());
+        }, "load-test-warmup");
+        resetter.start();
+
+        if (settings.isOpenModel()) runOpen(scenario, settings, end);
+        else runClosed(scenario, settings, end);
+
+        resetter.join();
+    }
+
+    private void runClosed(Scenario scenario, ScenarioSettings settings, long end) throws InterruptedException {
+        long thinkNanos = settings.getThinkTime().toNanos();
+        ExecutorService users = Executors.newFixedThreadPool(settings.getUsers());
+        for (int i = 0; i < settings.getUsers(); i++) {
+            users.submit(() -> {
+                Random random = ThreadLocalRandom.current();
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    iterate(scenario, random);
+                    if (thinkNanos > 0) LockSupport.parkNanos(thinkNanos);
+                }
+            });
+        }
+        shutdown(users, end);
+    }
+
+    private void runOpen(Scenario scenario, ScenarioSettings settings, long end) throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / settings.getRate());
+        ThreadPoolExecutor users = (ThreadPoolExecutor) Executors.newFixedThreadPool(settings.getUsers());
+        AtomicLong dropped = new AtomicLong();
+
+        long next = System.nanoTime();
+        while (next < end) {
+            sleepUntil(next);
+            long intended = next;
+            // red cekanja ne sme da raste bez granice kad servisi ne stizu; visak se broji kao odbacen
+            if (users.getQueue().size() > settings.getUsers() * 10) dropped.incrementAndGet();
+            else users.submit(() -> {
+                Api.intendedStart(intended);
+                try {
+                    iterate(scenario, ThreadLocalRandom.current());
+                } finally {
+                    Api.intendedStart(null);
+                }
+            });
+            next += intervalNanos;
+        }
+        shutdown(users, end);
+        if (dropped.get() > 0)
+            log.warn("Scenario {}: {} iterations dropped, services could not keep up with {} it/s",
+                    scenario.name(), dropped.get(), settings.getRate());
+    }
+
+    private void iterate(Scenario scenario, Random random) {
+        try {
+            scenario.iteration(api, random);
+        } catch (RuntimeException e) {
+            log.debug("Iteration of {} failed", scenario.name(), e);
+        }
+    }
+
+    private static void shutdown(ExecutorService users, long end) throws InterruptedException {
+        users.shutdown();
+        long grace = Math.max(end - System.nanoTime(), 0) + TimeUnit.SECONDS.toNanos(30);
+        if (!users.awaitTermination(grace, TimeUnit.NANOSECONDS)) users.shutdownNow();
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) LockSupport.parkNanos(remaining);
+    }
+}
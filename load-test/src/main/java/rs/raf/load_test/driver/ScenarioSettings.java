@@ -0,0 +1,29 @@
+package rs.raf.load_test.driver;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+@AllArgsConstructor
+public class ScenarioSettings {
+    // broj istovremenih korisnika; u otvorenom modelu gornja granica paralelnih iteracija
+    private final int users;
+    // iteracija u sekundi; 0 znaci zatvoren model (svaki korisnik odmah krece u sledecu iteraciju)
+    private final double rate;
+    private final Duration thinkTime;
+    private final Duration warmup;
+    private final Duration duration;
+
+    public boolean isOpenModel() {
+        return rate > 0;
+    }
+
+    @Override
+    public String toString() {
+        return isOpenModel()
+                ? String.format("%.0f it/s (max %d in flight), warmup %ds, measure %ds", rate, users, warmup.toSeconds(), duration.toSeconds())
+                : String.format("%d users, think %d ms, warmup %ds, measure %ds", users, thinkTime.toMillis(), warmup.toSeconds(), duration.toSeconds());
+    }
+}
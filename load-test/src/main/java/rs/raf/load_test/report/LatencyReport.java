@@ -0,0 +1,98 @@
+package rs.raf.load_test.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+        Latencije po endpoint-u (HdrHistogram, mikrosekunde) i broj odgovora po HTTP statusu.
+        Status -1 znaci da zahtev nije ni dobio odgovor (timeout, odbijena konekcija).
+     */
+public class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile long startedAt = System.nanoTime();
+
+    public void record(String endpoint, long latencyNanos, int status) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        stats.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    // posle zagrevanja; sve sto je izmereno do sada se odbacuje
+    public void reset() {
+        endpoints.clear();
+        startedAt = System.nanoTime();
+    }
+
+    public ObjectNode snapshot(String scenario, ObjectMapper objectMapper) {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("scenario", scenario);
+        root.put("durationSeconds", seconds);
+        ArrayNode list = root.putArray("endpoints");
+        new TreeMap<>(endpoints).forEach((name, stats) -> {
+            Histogram histogram = stats.recorder.getIntervalHistogram();
+            ObjectNode node = list.addObject();
+            node.put("endpoint", name);
+            node.put("count", histogram.getTotalCount());
+            node.put("throughputPerSecond", histogram.getTotalCount() / seconds);
+            node.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            node.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+            node.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            node.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            node.put("maxMs", millis(histogram.getMaxValue()));
+            ObjectNode statuses = node.putObject("statuses");
+            new TreeMap<>(stats.statuses).forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+        });
+        return root;
+    }
+
+    public static void print(ObjectNode snapshot, PrintStream out) {
+        out.printf("%n=== %s (%.1fs) ===%n", snapshot.get("scenario").asText(), snapshot.get("durationSeconds").asDouble());
+        out.printf("%-42s %8s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+        snapshot.get("endpoints").forEach(node -> out.printf("%-42s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                node.get("endpoint").asText(),
+                node.get("count").asLong(),
+                node.get("throughputPerSecond").asDouble(),
+                node.get("p50Ms").asDouble(),
+                node.get("p90Ms").asDouble(),
+                node.get("p99Ms").asDouble(),
+                node.get("p999Ms").asDouble(),
+                node.get("maxMs").asDouble(),
+                node.get("statuses")));
+    }
+
+    public static void write(ArrayNode snapshots, Path path, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), snapshots);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static class Endpoint {
+        private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+}
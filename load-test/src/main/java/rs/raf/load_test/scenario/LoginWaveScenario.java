@@ -0,0 +1,47 @@
+package rs.raf.load_test.scenario;
+
+import rs.raf.load_test.driver.Api;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/*
+        Talas prijava: svaka iteracija je jedna prijava klijenta, a svaka deseta prijava zaposlenog.
+        Meri BCrypt proveru i izdavanje JWT-a u user-service-u pod konkurentnim opterecenjem.
+     */
+public class LoginWaveScenario implements Scenario {
+
+    private final List<String[]> clients;
+    private final String[] admin;
+
+    public LoginWaveScenario(List<String[]> clients, String[] admin) {
+        this.clients = clients;
+        this.admin = admin;
+    }
+
+    @Override
+    public String name() {
+        return "login-wave";
+    }
+
+    @Override
+    public void setUp(Api api) {
+        // provera kredencijala pre merenja, da pogresna lozinka ne izgleda kao 401 u izvestaju
+        for (String[] client : clients)
+            api.login("/api/auth/login/client", client[0], client[1]);
+        api.login("/api/auth/login/employee", admin[0], admin[1]);
+    }
+
+    @Override
+    public void iteration(Api api, Random random) {
+        if (random.nextInt(10) == 0) {
+            api.post("user", "/api/auth/login/employee", "/api/auth/login/employee",
+                    Map.of("email", admin[0], "password", admin[1]), null);
+            return;
+        }
+        String[] client = clients.get(random.nextInt(clients.size()));
+        api.post("user", "/api/auth/login/client", "/api/auth/login/client",
+                Map.of("email", client[0], "password", client[1]), null);
+    }
+}
@@ -0,0 +1,69 @@
+package rs.raf.load_test.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import rs.raf.load_test.driver.Api;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/*
+        Oluja naloga: klijent otvori hartiju pa odmah posalje MARKET BUY za jednu akciju.
+        Nalog prolazi kroz stock-service, proveru sredstava u bank-service-u i journal; sa malim stanjima
+        iz bootstrap-a deo naloga zavrsi kao DECLINED, sto je i dalje 201 i isti put kroz sistem.
+     */
+public class OrderStormScenario implements Scenario {
+
+    private static final int MAX_LISTINGS = 200;
+
+    private final List<String[]> clients;
+    private final List<String> accounts;
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Long> listingIds = new ArrayList<>();
+
+    public OrderStormScenario(List<String[]> clients, List<String> accounts) {
+        this.clients = clients;
+        this.accounts = accounts;
+    }
+
+    @Override
+    public String name() {
+        return "order-storm";
+    }
+
+    @Override
+    public void setUp(Api api) {
+        for (String[] client : clients)
+            tokens.add(api.login("/api/auth/login/client", client[0], client[1]));
+
+        Api.Response response = api.get("stock", "/api/listings?type=STOCK", null, tokens.get(0));
+        if (!response.isSuccess())
+            throw new IllegalStateException("Cannot load listings, status " + response.getStatus());
+        for (JsonNode listing : response.json()) {
+            if (listingIds.size() == MAX_LISTINGS) break;
+            listingIds.add(listing.get("id").asLong());
+        }
+        if (listingIds.isEmpty()) throw new IllegalStateException("Stock service has no STOCK listings");
+    }
+
+    @Override
+    public void iteration(Api api, Random random) {
+        int client = random.nextInt(tokens.size());
+        String token = tokens.get(client);
+        Long listingId = listingIds.get(random.nextInt(listingIds.size()));
+
+        api.get("stock", "/api/listings/" + listingId, "/api/listings/{id}", token);
+
+        Map<String, Object> order = new HashMap<>();
+        order.put("listingId", listingId);
+        order.put("orderType", "MARKET");
+        order.put("quantity", 1);
+        order.put("contractSize", 1);
+        order.put("orderDirection", "BUY");
+        order.put("accountNumber", accounts.get(client));
+        order.put("allOrNone", false);
+        api.post("stock", "/api/orders", "/api/orders", order, token);
+    }
+}
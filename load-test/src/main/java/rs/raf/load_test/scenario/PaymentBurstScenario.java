@@ -0,0 +1,67 @@
+package rs.raf.load_test.scenario;
+
+import rs.raf.load_test.driver.Api;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/*
+        Nalet placanja: klijent kreira placanje drugom klijentu, a admin ga odmah potvrdi, sto ga salje
+        kroz transaction-queue (RabbitMQ) u TransactionProcessor. Klijenti placaju jedan drugom u krug,
+        pa se stanja ne prazne; iznos je mali zbog dnevnog limita seedovanih racuna.
+     */
+public class PaymentBurstScenario implements Scenario {
+
+    private static final BigDecimal AMOUNT = BigDecimal.ONE;
+
+    private final List<String[]> clients;
+    private final List<String> accounts;
+    private final String[] admin;
+    private final List<String> tokens = new ArrayList<>();
+    private String adminToken;
+
+    public PaymentBurstScenario(List<String[]> clients, List<String> accounts, String[] admin) {
+        this.clients = clients;
+        this.accounts = accounts;
+        this.admin = admin;
+    }
+
+    @Override
+    public String name() {
+        return "payment-burst";
+    }
+
+    @Override
+    public void setUp(Api api) {
+        if (clients.size() < 2) throw new IllegalStateException("payment-burst needs at least two clients");
+        for (String[] client : clients)
+            tokens.add(api.login("/api/auth/login/client", client[0], client[1]));
+        adminToken = api.login("/api/auth/login/employee", admin[0], admin[1]);
+    }
+
+    @Override
+    public void iteration(Api api, Random random) {
+        int sender = random.nextInt(tokens.size());
+        int receiver = (sender + 1 + random.nextInt(tokens.size() - 1)) % tokens.size();
+
+        Map<String, Object> payment = new HashMap<>();
+        payment.put("senderAccountNumber", accounts.get(sender));
+        payment.put("receiverAccountNumber", accounts.get(receiver));
+        payment.put("amount", AMOUNT);
+        payment.put("paymentCode", "289");
+        payment.put("purposeOfPayment", "Load test");
+        payment.put("referenceNumber", "97" + random.nextInt(1_000_000));
+        payment.put("recieverName", clients.get(receiver)[0]);
+
+        Api.Response created = api.post("bank", "/api/payment", "/api/payment", payment, tokens.get(sender));
+        if (!created.isSuccess()) return;
+
+        long paymentId = created.json().path("id").asLong(-1);
+        if (paymentId < 0) return;
+        api.post("bank", "/api/payment/confirm-payment/" + paymentId, "/api/payment/confirm-payment/{id}", null, adminToken);
+    }
+}
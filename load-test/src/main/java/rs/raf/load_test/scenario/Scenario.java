@@ -0,0 +1,16 @@
+package rs.raf.load_test.scenario;
+
+import rs.raf.load_test.driver.Api;
+
+import java.util.Random;
+
+public interface Scenario {
+
+    String name();
+
+    // jednom pre zagrevanja; ovde se prijavljuje i ucitavaju id-jevi, bez merenja
+    void setUp(Api api);
+
+    // jedna iteracija jednog virtuelnog korisnika; poziva se iz vise niti istovremeno
+    void iteration(Api api, Random random);
+}
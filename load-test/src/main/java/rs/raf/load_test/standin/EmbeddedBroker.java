@@ -0,0 +1,46 @@
+package rs.raf.load_test.standin;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.model.SystemConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+        Qpid Broker-J u istom JVM-u, sa AMQP 0-9-1 portom i in-memory virtual host-om "default".
+        Spring AMQP klijenti servisa se kace kao na RabbitMQ (guest/guest), samo sa virtual-host=default.
+     */
+@Slf4j
+public class EmbeddedBroker implements AutoCloseable {
+
+    public static final String VIRTUAL_HOST = "default";
+
+    private final SystemLauncher launcher = new SystemLauncher();
+
+    public EmbeddedBroker(int port) throws Exception {
+        Path workDir = Files.createTempDirectory("load-test-qpid");
+
+        Map<String, String> context = new HashMap<>();
+        context.put("qpid.amqp_port", String.valueOf(port));
+        context.put("qpid.work_dir", workDir.toString());
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SystemConfig.TYPE, "Memory");
+        attributes.put(SystemConfig.INITIAL_CONFIGURATION_LOCATION,
+                EmbeddedBroker.class.getResource("/qpid-initial-config.json").toExternalForm());
+        attributes.put(SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false);
+        attributes.put(ConfiguredObject.CONTEXT, context);
+
+        launcher.startup(attributes);
+        log.info("Embedded AMQP broker on port {}", port);
+    }
+
+    @Override
+    public void close() {
+        launcher.shutdown();
+    }
+}
@@ -0,0 +1,48 @@
+package rs.raf.load_test.standin;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/*
+        Jedna embedded Postgres instanca umesto tri kontejnera; svaki servis dobija svoju bazu.
+        Pravi Postgres a ne H2, jer stock-service koristi COPY i particionisanje tabela.
+     */
+@Slf4j
+public class EmbeddedDatabase implements AutoCloseable {
+
+    public static final String USERNAME = "postgres";
+
+    private final EmbeddedPostgres postgres;
+    private final int port;
+
+    public EmbeddedDatabase(int port, List<String> databases) throws IOException, SQLException {
+        this.port = port;
+        this.postgres = EmbeddedPostgres.builder()
+                .setPort(port)
+                .setServerConfig("max_connections", "300")
+                .setServerConfig("fsync", "off")
+                .start();
+
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String database : databases)
+                statement.execute("CREATE DATABASE " + database);
+        }
+        log.info("Embedded Postgres on port {} with databases {}", port, databases);
+    }
+
+    public String jdbcUrl(String database) {
+        return "jdbc:postgresql://localhost:" + port + "/" + database;
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
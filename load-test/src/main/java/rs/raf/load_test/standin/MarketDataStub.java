@@ -0,0 +1,353 @@
+package rs.raf.load_test.standin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+        Lazni AlphaVantage, TwelveData i ExchangeRate API na jednom HTTP portu. Odgovori imaju oblik pravih
+        API-ja (samo polja koja servisi citaju) i deterministicki zavise od tickera, pa su dva pokretanja uporediva.
+
+        /query?function=...     AlphaVantage
+        /twelvedata/...         TwelveData
+        /v6/{key}/latest/{base} i /v6/{key}/pair/{base}/{target}   ExchangeRate API (stock-service i bank-service)
+     */
+@Slf4j
+public class MarketDataStub implements AutoCloseable {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern LATEST = Pattern.compile(".*/latest/([A-Za-z]{3})$");
+    private static final Pattern PAIR = Pattern.compile(".*/pair/([A-Za-z]{3})/([A-Za-z]{3})$");
+    private static final int CANDLES = 100;
+
+    // koliko jedinica valute vredi 1 USD
+    private static final Map<String, Double> USD_RATES = new LinkedHashMap<>();
+
+    static {
+        USD_RATES.put("USD", 1.0);
+        USD_RATES.put("EUR", 0.92);
+        USD_RATES.put("GBP", 0.79);
+        USD_RATES.put("CHF", 0.88);
+        USD_RATES.put("JPY", 151.2);
+        USD_RATES.put("CAD", 1.36);
+        USD_RATES.put("AUD", 1.52);
+        USD_RATES.put("NZD", 1.66);
+        USD_RATES.put("RSD", 107.8);
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMs;
+
+    public MarketDataStub(int port, long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 256);
+        this.executor = Executors.newFixedThreadPool(32);
+        server.setExecutor(executor);
+        server.createContext("/query", exchange -> respond(exchange, alphavantage(query(exchange))));
+        server.createContext("/twelvedata", exchange -> respond(exchange, twelveData(exchange.getRequestURI().getPath(), query(exchange))));
+        server.createContext("/v6", exchange -> respond(exchange, exchangeRate(exchange.getRequestURI().getPath())));
+        server.start();
+        log.info("Market data stub on port {} (latency {} ms)", port, latencyMs);
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private ObjectNode alphavantage(Map<String, String> query) {
+        String function = query.getOrDefault("function", "");
+        switch (function) {
+            case "GLOBAL_QUOTE":
+                return globalQuote(query.get("symbol"));
+            case "OVERVIEW":
+                return overview(query.get("symbol"));
+            case "SYMBOL_SEARCH":
+                return symbolSearch(query.getOrDefault("keywords", ""));
+            case "CURRENCY_EXCHANGE_RATE":
+                return currencyExchangeRate(query.get("from_currency"), query.get("to_currency"));
+            case "TIME_SERIES_INTRADAY":
+                return stockIntraday(query.get("symbol"), query.getOrDefault("interval", "5min"));
+            case "FX_INTRADAY":
+                return fxIntraday(query.get("from_symbol"), query.get("to_symbol"), query.getOrDefault("interval", "5min"));
+            case "REALTIME_BULK_QUOTES":
+                return bulkQuotes(query.getOrDefault("symbol", ""));
+            default:
+                ObjectNode error = objectMapper.createObjectNode();
+                error.put("Error Message", "Invalid API call: " + function);
+                return error;
+        }
+    }
+
+    private ObjectNode twelveData(String path, Map<String, String> query) {
+        if (path.endsWith("/stocks")) return stockList();
+        if (path.endsWith("/forex_pairs")) return forexPairList();
+        if (path.endsWith("/time_series")) {
+            // ListingService.getPriceHistory mapira ovaj odgovor kroz TimeSeriesMapper, koji ocekuje FX_INTRADAY oblik
+            String[] pair = query.getOrDefault("symbol", "EUR/USD").split("/");
+            return fxIntraday(pair[0], pair.length > 1 ? pair[1] : "USD", query.getOrDefault("interval", "5min"));
+        }
+        ObjectNode error = objectMapper.createObjectNode();
+        error.put("status", "error");
+        error.put("message", "Unknown endpoint " + path);
+        return error;
+    }
+
+    private ObjectNode exchangeRate(String path) {
+        ObjectNode root = objectMapper.createObjectNode();
+        Matcher latest = LATEST.matcher(path);
+        Matcher pair = PAIR.matcher(path);
+        if (latest.matches()) {
+            String base = latest.group(1).toUpperCase();
+            root.put("result", "success");
+            root.put("base_code", base);
+            ObjectNode rates = root.putObject("conversion_rates");
+            for (String currency : USD_RATES.keySet())
+                rates.put(currency, cross(base, currency));
+        } else if (pair.matches()) {
+            root.put("result", "success");
+            root.put("base_code", pair.group(1).toUpperCase());
+            root.put("target_code", pair.group(2).toUpperCase());
+            root.put("conversion_rate", cross(pair.group(1).toUpperCase(), pair.group(2).toUpperCase()));
+        } else {
+            root.put("result", "error");
+            root.put("error-type", "unsupported-code");
+        }
+        return root;
+    }
+
+    private ObjectNode globalQuote(String symbol) {
+        double price = price(symbol);
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode quote = root.putObject("Global Quote");
+        quote.put("01. symbol", symbol);
+        quote.put("02. open", money(price * 0.99));
+        quote.put("03. high", money(price * 1.01));
+        quote.put("04. low", money(price * 0.98));
+        quote.put("05. price", money(price));
+        quote.put("06. volume", String.valueOf(volume(symbol)));
+        quote.put("07. latest trading day", LocalDateTime.now().toLocalDate().toString());
+        quote.put("08. previous close", money(price * 0.995));
+        quote.put("09. change", money(price * 0.005));
+        quote.put("10. change percent", "0.5025%");
+        return root;
+    }
+
+    private ObjectNode overview(String symbol) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("Symbol", symbol);
+        root.put("Name", symbol + " Holdings Inc.");
+        root.put("Exchange", "NASDAQ");
+        root.put("Currency", "USD");
+        root.put("SharesOutstanding", String.valueOf(volume(symbol) * 1000));
+        root.put("DividendYield", "0.0125");
+        return root;
+    }
+
+    private ObjectNode symbolSearch(String keywords) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode matches = root.putArray("bestMatches");
+        ObjectNode match = matches.addObject();
+        match.put("1. symbol", keywords.toUpperCase());
+        match.put("2. name", keywords.toUpperCase() + " Holdings Inc.");
+        match.put("3. type", "Equity");
+        match.put("4. region", "United States");
+        match.put("8. currency", "USD");
+        match.put("9. matchScore", "1.0000");
+        return root;
+    }
+
+    private ObjectNode currencyExchangeRate(String from, String to) {
+        double rate = cross(from, to);
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode node = root.putObject("Realtime Currency Exchange Rate");
+        node.put("1. From_Currency Code", from);
+        node.put("3. To_Currency Code", to);
+        node.put("5. Exchange Rate", rate(rate));
+        node.put("6. Last Refreshed", LocalDateTime.now().format(DATE_TIME));
+        node.put("7. Time Zone", "UTC");
+        node.put("8. Bid Price", rate(rate * 0.9998));
+        node.put("9. Ask Price", rate(rate * 1.0002));
+        return root;
+    }
+
+    private ObjectNode stockIntraday(String symbol, String interval) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode meta = root.putObject("Meta Data");
+        meta.put("1. Information", "Intraday (" + interval + ") open, high, low, close prices and volume");
+        meta.put("2. Symbol", symbol);
+        meta.put("4. Interval", interval);
+        candles(root.putObject("Time Series (" + interval + ")"), symbol, price(symbol), true, 2);
+        return root;
+    }
+
+    private ObjectNode fxIntraday(String from, String to, String interval) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode meta = root.putObject("Meta Data");
+        meta.put("1. Information", "FX Intraday (" + interval + ") Time Series");
+        meta.put("2. From Symbol", from);
+        meta.put("3. To Symbol", to);
+        meta.put("4. Last Refreshed", LocalDateTime.now().format(DATE_TIME));
+        meta.put("5. Interval", interval);
+        meta.put("6. Output Size", "Compact");
+        meta.put("7. Time Zone", "UTC");
+        candles(root.putObject("Time Series FX (" + interval + ")"), from + to, cross(from, to), false, 5);
+        return root;
+    }
+
+    private ObjectNode bulkQuotes(String symbols) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode data = root.putArray("data");
+        for (String symbol : symbols.split(",")) {
+            if (symbol.isBlank()) continue;
+            double price = price(symbol.trim());
+            ObjectNode quote = data.addObject();
+            quote.put("symbol", symbol.trim());
+            quote.put("close", money(price));
+            quote.put("volume", volume(symbol.trim()));
+            quote.put("change", money(price * 0.005));
+        }
+        return root;
+    }
+
+    private ObjectNode stockList() {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode data = root.putArray("data");
+        String[] mics = {"XNAS", "XNYS", "BATS", "ARCX", "XASE"};
+        for (int i = 0; i < 2000; i++) {
+            String symbol = ticker(i);
+            ObjectNode stock = data.addObject();
+            stock.put("symbol", symbol);
+            stock.put("name", symbol + " Holdings Inc.");
+            stock.put("currency", "USD");
+            stock.put("mic_code", mics[i % mics.length]);
+            stock.put("country", "United States");
+            stock.put("type", "Common Stock");
+        }
+        root.put("status", "ok");
+        return root;
+    }
+
+    private ObjectNode forexPairList() {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode data = root.putArray("data");
+        for (String base : USD_RATES.keySet()) {
+            for (String quote : USD_RATES.keySet()) {
+                if (base.equals(quote)) continue;
+                ObjectNode pair = data.addObject();
+                pair.put("symbol", base + "/" + quote);
+                pair.put("currency_group", "Major");
+                pair.put("currency_base", base);
+                pair.put("currency_quote", quote);
+            }
+        }
+        root.put("status", "ok");
+        return root;
+    }
+
+    // nasumicna setnja od poslednje svecice unazad, sa seed-om iz tickera
+    private void candles(ObjectNode series, String key, double last, boolean withVolume, int scale) {
+        Random random = new Random(key.hashCode());
+        LocalDateTime time = LocalDateTime.now().withSecond(0).withNano(0);
+        time = time.minusMinutes(time.getMinute() % 5);
+        double close = last;
+        for (int i = 0; i < CANDLES; i++) {
+            double open = close * (1 + (random.nextDouble() - 0.5) * 0.002);
+            ObjectNode candle = series.putObject(time.format(DATE_TIME));
+            candle.put("1. open", scaled(open, scale));
+            candle.put("2. high", scaled(Math.max(open, close) * 1.0005, scale));
+            candle.put("3. low", scaled(Math.min(open, close) * 0.9995, scale));
+            candle.put("4. close", scaled(close, scale));
+            if (withVolume) candle.put("5. volume", String.valueOf(1000 + random.nextInt(50_000)));
+            close = open;
+            time = time.minusMinutes(5);
+        }
+    }
+
+    private static String ticker(int i) {
+        StringBuilder ticker = new StringBuilder();
+        for (int n = i + 26; n > 0; n /= 26) ticker.append((char) ('A' + n % 26));
+        return ticker.reverse().toString();
+    }
+
+    // 5 - 50 USD, da seedovani racuni klijenata mogu da plate bar neke ordere
+    private static double price(String symbol) {
+        return 5 + Math.floorMod(Objects.hashCode(symbol), 4500) / 100.0;
+    }
+
+    private static long volume(String symbol) {
+        return 100_000 + Math.floorMod(Objects.hashCode(symbol) * 31, 5_000_000);
+    }
+
+    private static double cross(String base, String quote) {
+        double baseRate = USD_RATES.getOrDefault(base == null ? "" : base.toUpperCase(), 1.0);
+        double quoteRate = USD_RATES.getOrDefault(quote == null ? "" : quote.toUpperCase(), 1.0);
+        return quoteRate / baseRate;
+    }
+
+    private static String money(double value) {
+        return scaled(value, 4);
+    }
+
+    private static String rate(double value) {
+        return scaled(value, 6);
+    }
+
+    private static String scaled(double value, int scale) {
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) return params;
+        for (String param : raw.split("&")) {
+            int eq = param.indexOf('=');
+            if (eq <= 0) continue;
+            params.put(URLDecoder.decode(param.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(param.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private void respond(HttpExchange exchange, ObjectNode body) throws IOException {
+        try {
+            if (latencyMs > 0) Thread.sleep(latencyMs);
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+}
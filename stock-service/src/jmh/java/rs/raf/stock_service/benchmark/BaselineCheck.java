@@ -0,0 +1,89 @@
+package rs.raf.stock_service.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/*
+        Poredi target/jmh-result.json sa src/jmh/baseline/jmh-baseline.json. Za svaki benchmark (sa parametrima)
+        gleda prosecno vreme i gc.alloc.rate.norm (bajtova po operaciji); ako je nesto gore od tolerancije,
+        izlazi sa kodom 1. Ako baseline jos ne postoji, trenutni rezultat se upisuje kao baseline.
+
+        mvn -Pjmh exec:java@jmh-baseline [-Djmh.tolerance=0.15]
+     */
+public class BaselineCheck {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        File result = new File(args.length > 0 ? args[0] : "target/jmh-result.json");
+        File baseline = new File(args.length > 1 ? args[1] : "src/jmh/baseline/jmh-baseline.json");
+        double tolerance = Double.parseDouble(System.getProperty("jmh.tolerance", "0.15"));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (!result.isFile())
+            throw new IllegalStateException("No JMH result at " + result + ", run mvn -Pjmh test-compile exec:exec first.");
+
+        JsonNode current = objectMapper.readTree(result);
+        JsonNode previous = baseline.isFile() ? objectMapper.readTree(baseline) : null;
+        if (previous == null || previous.size() == 0) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(baseline, current);
+            System.out.println("Baseline was empty, recorded " + current.size() + " results to " + baseline);
+            return;
+        }
+
+        Map<String, JsonNode> baselineByKey = new HashMap<>();
+        for (JsonNode run : previous) baselineByKey.put(keyOf(run), run);
+
+        List<String> regressions = new ArrayList<>();
+        for (JsonNode run : current) {
+            String key = keyOf(run);
+            JsonNode old = baselineByKey.get(key);
+            if (old == null) {
+                System.out.println("NEW   " + key);
+                continue;
+            }
+            compare(key, "time", run.path("primaryMetric"), old.path("primaryMetric"), tolerance, regressions);
+            compare(key, "alloc", allocation(run), allocation(old), tolerance, regressions);
+        }
+
+        if (!regressions.isEmpty()) {
+            regressions.forEach(System.out::println);
+            System.exit(1);
+        }
+        System.out.println("No regressions above " + Math.round(tolerance * 100) + "% against " + baseline);
+    }
+
+    private static void compare(String key, String metric, JsonNode now, JsonNode before, double tolerance, List<String> regressions) {
+        if (now.isMissingNode() || before.isMissingNode()) return;
+        double current = now.path("score").asDouble();
+        double previous = before.path("score").asDouble();
+        double change = previous == 0 ? (current == 0 ? 0 : Double.POSITIVE_INFINITY) : (current - previous) / previous;
+
+        String line = String.format(Locale.ROOT, "%-6s %s %s: %.3f -> %.3f %s (%+.1f%%)",
+                change > tolerance ? "WORSE" : "OK", key, metric, previous, current, now.path("scoreUnit").asText(), change * 100);
+        if (change > tolerance) regressions.add(line);
+        else System.out.println(line);
+    }
+
+    // JMH pre 1.35 je imenima GC metrika dodavao prefiks "·"
+    private static JsonNode allocation(JsonNode run) {
+        for (Iterator<Map.Entry<String, JsonNode>> it = run.path("secondaryMetrics").fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> metric = it.next();
+            if (metric.getKey().replace("·", "").equals(ALLOCATION_METRIC)) return metric.getValue();
+        }
+        return MissingNode.getInstance();
+    }
+
+    private static String keyOf(JsonNode run) {
+        StringBuilder key = new StringBuilder(run.path("benchmark").asText().replace("rs.raf.stock_service.benchmark.", ""));
+        Map<String, String> params = new TreeMap<>();
+        run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+        params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        return key.toString();
+    }
+}
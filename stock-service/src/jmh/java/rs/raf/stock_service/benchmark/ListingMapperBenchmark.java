@@ -0,0 +1,106 @@
+package rs.raf.stock_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import rs.raf.stock_service.domain.dto.ListingDetailsDto;
+import rs.raf.stock_service.domain.entity.*;
+import rs.raf.stock_service.domain.mapper.ListingMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+        toDto se zove za svaki red GET /api/listings, a toDetailsDto za detalje sa istorijom cena.
+        Velicina istorije odgovara danu 5-minutnih svecica i godini dnevnih.
+     */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingMapperBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"78", "252"})
+    private int historySize;
+
+    private ListingMapper listingMapper;
+    private List<Listing> listings;
+    private List<ListingPriceHistory> dailyInfos;
+    private Listing details;
+    private List<ListingPriceHistory> history;
+
+    @Setup
+    public void setUp() {
+        listingMapper = new ListingMapper();
+        Exchange exchange = Exchange.builder().mic("XNAS").name("Nasdaq").acronym("NASDAQ").currencyCode("USD").build();
+
+        listings = new ArrayList<>(PAGE_SIZE);
+        dailyInfos = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Listing listing = i % 4 == 0 ? futures(i, exchange) : stock(i, exchange);
+            listings.add(listing);
+            dailyInfos.add(candle(listing, LocalDateTime.of(2025, 3, 14, 16, 0), i));
+        }
+
+        details = stock(PAGE_SIZE, exchange);
+        history = new ArrayList<>(historySize);
+        LocalDateTime start = LocalDateTime.of(2025, 3, 14, 9, 30);
+        for (int i = 0; i < historySize; i++)
+            history.add(candle(details, start.plusMinutes(5L * i), i));
+    }
+
+    @Benchmark
+    public void toDtoPage(Blackhole blackhole) {
+        for (int i = 0; i < PAGE_SIZE; i++)
+            blackhole.consume(listingMapper.toDto(listings.get(i), dailyInfos.get(i)));
+    }
+
+    @Benchmark
+    public ListingDetailsDto toDetailsDto() {
+        return listingMapper.toDetailsDto(details, history);
+    }
+
+    private static Stock stock(int i, Exchange exchange) {
+        Stock stock = new Stock();
+        stock.setId((long) i);
+        stock.setTicker("STK" + i);
+        stock.setName("Stock " + i);
+        stock.setExchange(exchange);
+        stock.setPrice(new BigDecimal("100.25").add(BigDecimal.valueOf(i)));
+        stock.setAsk(new BigDecimal("100.30").add(BigDecimal.valueOf(i)));
+        return stock;
+    }
+
+    private static FuturesContract futures(int i, Exchange exchange) {
+        FuturesContract futures = new FuturesContract();
+        futures.setId((long) i);
+        futures.setTicker("FUT" + i);
+        futures.setName("Futures " + i);
+        futures.setExchange(exchange);
+        futures.setPrice(new BigDecimal("72.10").add(BigDecimal.valueOf(i)));
+        futures.setAsk(new BigDecimal("72.15").add(BigDecimal.valueOf(i)));
+        futures.setContractSize(1000);
+        futures.setContractUnit("Barrel");
+        return futures;
+    }
+
+    private static ListingPriceHistory candle(Listing listing, LocalDateTime date, int i) {
+        BigDecimal open = listing.getPrice().add(BigDecimal.valueOf(i % 7, 2));
+        return ListingPriceHistory.builder()
+                .listing(listing)
+                .date(date)
+                .open(open)
+                .high(open.add(new BigDecimal("0.40")))
+                .low(open.subtract(new BigDecimal("0.35")))
+                .close(open.add(new BigDecimal("0.05")))
+                .change(new BigDecimal("0.05"))
+                .volume(10_000L + i)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package rs.raf.stock_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import rs.raf.stock_service.domain.dto.ListingFilterDto;
+import rs.raf.stock_service.domain.entity.Listing;
+import rs.raf.stock_service.specification.ListingSpecification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/*
+        Gradnja Criteria predikata iz ListingFilterDto, bez izvrsavanja upita. Hibernate metamodel
+        se podize nad praznom H2 bazom (bez DDL-a), samo da bi CriteriaBuilder bio pravi.
+     */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingSpecificationBenchmark {
+
+    // tipican broj kandidata iz indeksa pretrage za upit od 3-4 slova
+    private static final int SEARCH_CANDIDATES = 50;
+
+    @Param({"minimal", "full", "search-ids"})
+    private String filterShape;
+
+    @Param({"CLIENT", "EMPLOYEE"})
+    private String role;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private CriteriaBuilder cb;
+    private Specification<Listing> specification;
+
+    @Setup
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1", "sa", "");
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("rs.raf.stock_service.domain.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                "hibernate.hbm2ddl.auto", "none"));
+        factoryBean.afterPropertiesSet();
+
+        entityManagerFactory = factoryBean.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        cb = entityManager.getCriteriaBuilder();
+        specification = specificationFor(filterShape, role);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Predicate buildPredicate() {
+        CriteriaQuery<Listing> query = cb.createQuery(Listing.class);
+        Root<Listing> root = query.from(Listing.class);
+        return specification.toPredicate(root, query, cb);
+    }
+
+    private static Specification<Listing> specificationFor(String shape, String role) {
+        ListingFilterDto filter = new ListingFilterDto();
+        switch (shape) {
+            case "minimal":
+                return ListingSpecification.buildSpecification(filter, role);
+            case "full":
+                filter.setSearch("apple");
+                filter.setExchangePrefix("NAS");
+                filter.setMinPrice(new BigDecimal("10"));
+                filter.setMaxPrice(new BigDecimal("500"));
+                filter.setMinAsk(new BigDecimal("10"));
+                filter.setMaxAsk(new BigDecimal("510"));
+                filter.setMinBid(new BigDecimal("9"));
+                filter.setMaxBid(new BigDecimal("490"));
+                filter.setMinVolume(1_000L);
+                filter.setMaxVolume(50_000_000L);
+                filter.setMinMaintenanceMargin(new BigDecimal("1"));
+                filter.setMaxMaintenanceMargin(new BigDecimal("50"));
+                filter.setSortBy("volume");
+                filter.setSortOrder("desc");
+                return ListingSpecification.buildSpecification(filter, role);
+            case "search-ids":
+                filter.setSearch("apple");
+                List<Long> ids = LongStream.rangeClosed(1, SEARCH_CANDIDATES).boxed().collect(Collectors.toList());
+                return ListingSpecification.buildSpecification(filter, role, ids);
+            default:
+                throw new IllegalArgumentException("Unknown filter shape " + shape);
+        }
+    }
+}
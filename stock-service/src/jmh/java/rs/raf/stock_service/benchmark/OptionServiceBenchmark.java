@@ -0,0 +1,43 @@
+package rs.raf.stock_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rs.raf.stock_service.domain.dto.OptionDto;
+import rs.raf.stock_service.service.OptionService;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+        generateOptions pravi ceo lanac (12 datuma x 11 strike-ova x CALL/PUT) za svaku akciju pri
+        bootstrap-u i refreshOptions; najveci deo alokacija su String.format tickera i BigDecimal cene.
+     */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionServiceBenchmark {
+
+    @Param({"AAPL"})
+    private String ticker;
+
+    @Param({"187.44"})
+    private String price;
+
+    private OptionService optionService;
+    private BigDecimal currentPrice;
+
+    @Setup
+    public void setUp() {
+        // repozitorijum se ne koristi u generateOptions
+        optionService = new OptionService(null);
+        currentPrice = new BigDecimal(price);
+    }
+
+    @Benchmark
+    public List<OptionDto> generateOptions() {
+        return optionService.generateOptions(ticker, currentPrice);
+    }
+}
@@ -0,0 +1,42 @@
+package rs.raf.stock_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import rs.raf.stock_service.domain.enums.OrderType;
+import rs.raf.stock_service.service.OrderService;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/*
+        Provizija se racuna za svaki order (kreiranje, rezervacija i izvrsenje), pa je BigDecimal
+        aritmetika u priceWithCommission na vrucoj putanji. Servis se pravi bez zavisnosti jer metoda ne dira repozitorijume.
+     */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    @Param({"MARKET", "LIMIT"})
+    private OrderType orderType;
+
+    // ispod i iznad praga maksimalne provizije
+    @Param({"25.50", "150000.00"})
+    private String amount;
+
+    private OrderService orderService;
+    private BigDecimal value;
+
+    @Setup
+    public void setUp() {
+        orderService = new OrderService(null, null, null, null, null, null, null, null, null, null, null, null, null);
+        value = new BigDecimal(amount);
+    }
+
+    @Benchmark
+    public BigDecimal priceWithCommission() {
+        return orderService.priceWithCommission(orderType, value);
+    }
+}
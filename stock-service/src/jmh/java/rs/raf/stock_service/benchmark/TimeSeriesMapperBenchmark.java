@@ -0,0 +1,58 @@
+package rs.raf.stock_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import rs.raf.stock_service.domain.dto.TimeSeriesDto;
+import rs.raf.stock_service.domain.entity.ForexPair;
+import rs.raf.stock_service.domain.mapper.TimeSeriesMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+        Mapiranje FX_INTRADAY odgovora u TimeSeriesDto, na payload-ima iz src/jmh/resources/payloads
+        (compact = 100 svecica, full = 1000 svecica).
+     */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeSeriesMapperBenchmark {
+
+    @Param({"fx-intraday-eurusd-5min-compact.json", "fx-intraday-usdjpy-5min-full.json"})
+    private String payload;
+
+    private TimeSeriesMapper timeSeriesMapper;
+    private ForexPair listing;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        timeSeriesMapper = new TimeSeriesMapper(new ObjectMapper());
+        json = read("/payloads/" + payload);
+
+        listing = new ForexPair();
+        listing.setTicker("EUR/USD");
+        listing.setBaseCurrency("EUR");
+        listing.setQuoteCurrency("USD");
+    }
+
+    @Benchmark
+    public TimeSeriesDto mapJsonToCustomTimeSeries() {
+        return timeSeriesMapper.mapJsonToCustomTimeSeries(json, listing);
+    }
+
+    private static String read(String resource) {
+        try (InputStream in = TimeSeriesMapperBenchmark.class.getResourceAsStream(resource)) {
+            if (in == null) throw new IllegalStateException("Missing benchmark payload " + resource);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
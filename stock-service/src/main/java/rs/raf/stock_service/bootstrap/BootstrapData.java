@@ -53,6 +53,14 @@ public class BootstrapData implements CommandLineRunner {
     @Autowired private AlphavantageClient alphavantageClient;
     @Autowired private OtcOptionRepository otcOptionRepository;
     @Autowired private OtcOfferRepository otcOfferRepository;
+    @Autowired private PublicStockService publicStockService;
+    @Autowired private BulkWriteService bulkWriteService;
+    @Autowired private MarketDataSnapshot marketDataSnapshot;
+    @Autowired private PriceHistoryPartitionService priceHistoryPartitionService;
+
+    // off - uvek uvoz sa API-ja, export - uvoz pa snapshot, restore - snapshot ako postoji, inace kao export
+    @Value("${bootstrap.snapshot.mode:off}")
+    private String snapshotMode;
 
     @Value("${bootstrap.thread.pool.size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
     private int threadPoolSize;
@@ -62,15 +70,27 @@ public class BootstrapData implements CommandLineRunner {
     @Override
     public void run(String... args) {
         System.out.println("tu sam");
+        priceHistoryPartitionService.initialize();
+        if (snapshotMode.equalsIgnoreCase("restore") && marketDataSnapshot.exists()) {
+            marketDataSnapshot.restore();
+        } else {
+            importMarketData();
+            if (!snapshotMode.equalsIgnoreCase("off"))
+                marketDataSnapshot.export();
+        }
+        futuresService.reload();
+        addPortfolioTestData();
+        addOrderTestData();
+        addOtcOfferTestData();
+        addOtcOptionTestData();
+    }
+
+    private void importMarketData() {
         importCoreData();
         importStocksAndHistory();
         importForexAndHistory();
         addFutures();
         addOptions();
-        addPortfolioTestData();
-        addOrderTestData();
-        addOtcOfferTestData();
-        addOtcOptionTestData();
     }
 
     private void importCoreData() {
@@ -149,7 +169,7 @@ public class BootstrapData implements CommandLineRunner {
             }
         });
 
-        saveInBatches(all, 100, priceHistoryRepository::saveAllAndFlush);
+        bulkWriteService.writePriceHistory(all);
         System.out.println("Zavrsio stock history");
 
     }
@@ -204,7 +224,7 @@ public class BootstrapData implements CommandLineRunner {
             }
         });
 
-        saveInBatches(all, 100, priceHistoryRepository::saveAllAndFlush);
+        bulkWriteService.writePriceHistory(all);
         System.out.println("Zavrsio forex history");
 
     }
@@ -413,6 +433,7 @@ public class BootstrapData implements CommandLineRunner {
                 .publicAmount(30).lastModified(LocalDateTime.now()).build();
 
         portfolioEntryRepository.saveAllAndFlush(List.of(p1, p2));
+        publicStockService.rebuild();
     }
 
     @Transactional
@@ -560,15 +581,8 @@ public class BootstrapData implements CommandLineRunner {
                 .build();
 
 
-        orderRepository.save(user2Pending);
-        orderRepository.save(user1DoneBuy);
-        orderRepository.save(user1DoneSell);
-        orderRepository.save(user3DoneBuy);
-        orderRepository.save(user3DoneSell);
-        orderRepository.save(user1DoneBuy2);
-        orderRepository.save(user1DoneSell2);
-        orderRepository.save(user3DoneBuy);
-        orderRepository.save(user3DoneSell);
+        orderRepository.saveAll(List.of(user2Pending, user1DoneBuy, user1DoneSell, user3DoneBuy, user3DoneSell,
+                user1DoneBuy2, user1DoneSell2));
     }
 
     private List<ListingPriceHistory> createNewHistory(Listing listing, TimeSeriesDto dto, Set<LocalDateTime> existingDates) {
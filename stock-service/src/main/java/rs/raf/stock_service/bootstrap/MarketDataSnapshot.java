@@ -0,0 +1,225 @@
+package rs.raf.stock_service.bootstrap;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+        Snapshot referentnih i trzisnih tabela (drzave, praznici, berze, listinzi, istorija cena) u lokalni
+        gzip fajl. Pri startu se tabele pune direktno iz fajla batch insert-om, bez poziva ka eksternim API-jima.
+        Redosled tabela prati strane kljuceve, a redovi se citaju po primarnom kljucu.
+     */
+@Slf4j
+@Component
+public class MarketDataSnapshot {
+
+    private static final String MAGIC = "STOCK-SNAPSHOT-1";
+    private static final int BATCH_SIZE = 1000;
+
+    // tabela, kolona po kojoj se sortira i sekvenca za id (null za IDENTITY kolone)
+    private static final String[][] TABLES = {
+            {"country", "id", null},
+            {"holiday", "id", null},
+            {"exchange", "mic", null},
+            {"listing", "id", "listing_seq"},
+            {"listing_price_history", "id", "listing_price_history_seq"}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path path;
+
+    public MarketDataSnapshot(JdbcTemplate jdbcTemplate, @Value("${bootstrap.snapshot.path:snapshot/market-data.snap.gz}") String path) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.path = Paths.get(path);
+    }
+
+    public boolean exists() {
+        return Files.isRegularFile(path);
+    }
+
+    public void export() {
+        long start = System.currentTimeMillis();
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(tmp), 1 << 16)))) {
+                out.writeUTF(MAGIC);
+                out.writeInt(TABLES.length);
+                for (String[] table : TABLES)
+                    exportTable(out, table[0], table[1]);
+            }
+
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write snapshot " + path, e);
+        }
+        log.info("Exported market data snapshot to {} in {} ms.", path, System.currentTimeMillis() - start);
+    }
+
+    public void restore() {
+        long start = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(path), 1 << 16)))) {
+            if (!MAGIC.equals(in.readUTF()))
+                throw new IllegalStateException("Unknown snapshot format: " + path);
+
+            int tables = in.readInt();
+            for (int i = 0; i < tables; i++)
+                restoreTable(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read snapshot " + path, e);
+        }
+        log.info("Restored market data snapshot from {} in {} ms.", path, System.currentTimeMillis() - start);
+    }
+
+    private void exportTable(DataOutputStream out, String table, String orderBy) throws IOException {
+        out.writeUTF(table);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT * FROM " + table + " ORDER BY " + orderBy);
+            ps.setFetchSize(BATCH_SIZE);
+            return ps;
+        }, (ResultSetExtractor<Void>) rs -> {
+            try {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columns = meta.getColumnCount();
+                out.writeInt(columns);
+                for (int c = 1; c <= columns; c++) {
+                    out.writeUTF(meta.getColumnName(c));
+                    out.writeInt(meta.getColumnType(c));
+                }
+
+                long rows = 0;
+                while (rs.next()) {
+                    out.writeBoolean(true);
+                    for (int c = 1; c <= columns; c++)
+                        writeValue(out, rs, c, meta.getColumnType(c));
+                    rows++;
+                }
+                out.writeBoolean(false);
+                log.debug("Snapshot {}: {} rows", table, rows);
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void restoreTable(DataInputStream in) throws IOException {
+        String table = in.readUTF();
+        int columns = in.readInt();
+        String[] names = new String[columns];
+        int[] types = new int[columns];
+        for (int c = 0; c < columns; c++) {
+            names[c] = in.readUTF();
+            types[c] = in.readInt();
+        }
+
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", names) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long rows = 0;
+        while (in.readBoolean()) {
+            Object[] row = new Object[columns];
+            for (int c = 0; c < columns; c++)
+                row[c] = readValue(in, types[c]);
+            batch.add(row);
+            rows++;
+
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch, types);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty())
+            jdbcTemplate.batchUpdate(sql, batch, types);
+
+        // sekvence moraju da nastave posle ucitanih id-jeva
+        if (List.of(names).contains("id") && rows > 0) {
+            String sequence = sequenceOf(table);
+            String sequenceRef = sequence != null ? "'" + sequence + "'" : "pg_get_serial_sequence('" + table + "', 'id')";
+            jdbcTemplate.execute("SELECT setval(" + sequenceRef + ", (SELECT MAX(id) FROM " + table + "))");
+        }
+
+        log.debug("Restored {} rows into {}", rows, table);
+    }
+
+    private String sequenceOf(String table) {
+        for (String[] entry : TABLES)
+            if (entry[0].equals(table)) return entry[2];
+        return null;
+    }
+
+    private void writeValue(DataOutputStream out, ResultSet rs, int column, int type) throws SQLException, IOException {
+        Object value = switch (type) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> rs.getLong(column);
+            case Types.NUMERIC, Types.DECIMAL -> rs.getBigDecimal(column);
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> rs.getDouble(column);
+            case Types.BOOLEAN, Types.BIT -> rs.getBoolean(column);
+            case Types.TIMESTAMP -> rs.getObject(column, LocalDateTime.class);
+            case Types.DATE -> rs.getObject(column, LocalDate.class);
+            default -> rs.getString(column);
+        };
+
+        if (rs.wasNull() || value == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+
+        switch (type) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> out.writeLong((Long) value);
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> out.writeDouble((Double) value);
+            case Types.BOOLEAN, Types.BIT -> out.writeBoolean((Boolean) value);
+            default -> writeString(out, value.toString());
+        }
+    }
+
+    private Object readValue(DataInputStream in, int type) throws IOException {
+        if (!in.readBoolean()) return null;
+
+        return switch (type) {
+            case Types.BIGINT -> in.readLong();
+            case Types.INTEGER, Types.SMALLINT, Types.TINYINT -> (int) in.readLong();
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> in.readDouble();
+            case Types.BOOLEAN, Types.BIT -> in.readBoolean();
+            case Types.NUMERIC, Types.DECIMAL -> new BigDecimal(readString(in));
+            case Types.TIMESTAMP -> Timestamp.valueOf(LocalDateTime.parse(readString(in)));
+            case Types.DATE -> Date.valueOf(LocalDate.parse(readString(in)));
+            default -> readString(in);
+        };
+    }
+
+    // writeUTF je ogranicen na 64KB, opisi mogu biti duzi
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -3,10 +3,13 @@ package rs.raf.stock_service.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import rs.raf.stock_service.domain.dto.ActuaryDto;
 import rs.raf.stock_service.domain.dto.ActuaryLimitDto;
 import rs.raf.stock_service.domain.dto.ClientDto;
+import rs.raf.stock_service.domain.dto.LimitAmountDto;
 import rs.raf.stock_service.domain.dto.UserTaxDto;
 
 import java.util.List;
@@ -19,6 +22,13 @@ public interface UserClient {
     @GetMapping("/api/admin/actuaries/{id}")
     ActuaryLimitDto getActuaryByEmployeeId(@PathVariable("id") Long id);
 
+    @PutMapping("/api/admin/actuaries/consume-limit/{id}")
+    void consumeActuaryLimit(@PathVariable("id") Long id, @RequestBody LimitAmountDto limitAmountDto,
+                             @RequestParam("force") boolean force);
+
+    @PutMapping("/api/admin/actuaries/release-limit/{id}")
+    void releaseActuaryLimit(@PathVariable("id") Long id, @RequestBody LimitAmountDto limitAmountDto);
+
     @GetMapping("/api/admin/clients/{id}")
     ClientDto getClientById(@PathVariable("id") Long id);
 
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Component;
 import rs.raf.stock_service.domain.dto.ActuaryDto;
 import rs.raf.stock_service.domain.dto.ActuaryLimitDto;
 import rs.raf.stock_service.domain.dto.ClientDto;
+import rs.raf.stock_service.domain.dto.LimitAmountDto;
 import rs.raf.stock_service.domain.dto.UserTaxDto;
 import rs.raf.stock_service.exceptions.ActuaryLimitNotFoundException;
 
@@ -24,6 +25,17 @@ public class UserClientFallbackFactory implements FallbackFactory<UserClient> {
                 throw new RuntimeException(cause);
             }
 
+            // upis u ledger mora da pukne da bi AgentRiskService odbacio lokalno stanje
+            @Override
+            public void consumeActuaryLimit(Long id, LimitAmountDto limitAmountDto, boolean force) {
+                throw new RuntimeException(cause);
+            }
+
+            @Override
+            public void releaseActuaryLimit(Long id, LimitAmountDto limitAmountDto) {
+                throw new RuntimeException(cause);
+            }
+
             @Override
             public ClientDto getClientById(Long id) {
                 ClientDto dummy = new ClientDto();
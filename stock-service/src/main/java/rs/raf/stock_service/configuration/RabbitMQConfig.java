@@ -0,0 +1,40 @@
+package rs.raf.stock_service.configuration;
+
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Date;
+
+@Configuration
+public class RabbitMQConfig {
+    public static final String MARGIN_CALL_QUEUE = "margin-call";
+
+    @Bean
+    public Queue marginCallQueue() {
+        return new Queue(MARGIN_CALL_QUEUE, false);
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    // timestamp slanja, iz njega email-service racuna banka.rabbit.listener.lag;
+    // configurer primenjuje spring.rabbitmq.template.* i message converter kao auto-konfiguracija
+    @Bean
+    public RabbitTemplate rabbitTemplate(RabbitTemplateConfigurer configurer, ConnectionFactory connectionFactory) {
+        RabbitTemplate template = new RabbitTemplate();
+        configurer.configure(template, connectionFactory);
+        template.addBeforePublishPostProcessors(message -> {
+            message.getMessageProperties().setTimestamp(new Date());
+            return message;
+        });
+        return template;
+    }
+}
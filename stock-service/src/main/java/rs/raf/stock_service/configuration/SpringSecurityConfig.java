@@ -40,6 +40,7 @@ public class SpringSecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers("/swagger-ui.html").permitAll()
                 .antMatchers("/swagger-ui/**").permitAll()
                 .antMatchers("/api-docs/**").permitAll()
+                .antMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .antMatchers("/api/stocks/**").permitAll()
                 .antMatchers("/api/forex/**").permitAll()
                 .antMatchers("/api/exchange/**").permitAll()
@@ -0,0 +1,70 @@
+package rs.raf.stock_service.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import rs.raf.stock_service.domain.dto.ActuaryLimitDto;
+import rs.raf.stock_service.exceptions.ActuaryLimitNotFoundException;
+import rs.raf.stock_service.service.AgentRiskService;
+
+/// Notifikacije o promeni limita agenata koje salje user-service
+@RestController
+@RequestMapping("/api/risk/agents")
+@AllArgsConstructor
+public class AgentRiskController {
+
+    private final AgentRiskService agentRiskService;
+
+    @Operation(summary = "Get cached agent limit", description = "Returns the agent limit state used for pre-trade checks.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Limit retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Actuary limit not found")
+    })
+    @PreAuthorize("hasRole('SUPERVISOR') or hasRole('ADMIN')")
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getAgentLimit(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(agentRiskService.getLimit(id));
+        } catch (ActuaryLimitNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Agent limit changed", description = "Updates limit amount and approval flag of a cached agent.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Limit updated")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> updateAgentLimit(@PathVariable Long id, @RequestBody ActuaryLimitDto actuaryLimitDto) {
+        agentRiskService.applyLimitChange(id, actuaryLimitDto);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(summary = "Agent used limit reset", description = "Resets used limit of a cached agent.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Used limit reset")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{id}/reset")
+    public ResponseEntity<Void> resetAgentLimit(@PathVariable Long id) {
+        agentRiskService.resetUsedLimit(id);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(summary = "Daily used limit reset", description = "Resets used limits of all cached agents.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Used limits reset")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/reset")
+    public ResponseEntity<Void> resetAllAgentLimits() {
+        agentRiskService.resetAllUsedLimits();
+        return ResponseEntity.ok().build();
+    }
+}
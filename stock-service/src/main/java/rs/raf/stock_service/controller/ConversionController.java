@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import rs.raf.stock_service.domain.dto.ConversionResponseDto;
+import rs.raf.stock_service.service.ForexRateService;
 import rs.raf.stock_service.service.ForexService;
 
 import java.math.BigDecimal;
@@ -23,6 +24,9 @@ public class ConversionController {
     @Autowired
     private ForexService forexService;
 
+    @Autowired
+    private ForexRateService forexRateService;
+
     @Operation(summary = "Convert currency", description = "Converts an amount from base currency to target currency. If no amount is provided, returns only the conversion rate.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Conversion successful"),
@@ -34,7 +38,7 @@ public class ConversionController {
             @RequestParam("target") String target,
             @RequestParam(value = "amount", required = false) BigDecimal amount) {
 
-        BigDecimal conversionRate = forexService.getConversionRate(base, target);
+        BigDecimal conversionRate = forexRateService.getConversionRate(base, target);
         ConversionResponseDto dto = new ConversionResponseDto();
         dto.setConversionRate(conversionRate);
         if (amount != null) {
@@ -7,12 +7,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import rs.raf.stock_service.domain.dto.ForexPairDto;
+import rs.raf.stock_service.service.ForexRateService;
 import rs.raf.stock_service.service.ForexService;
 
 import java.math.BigDecimal;
@@ -25,6 +27,7 @@ import java.util.Map;
 public class ForexController {
 
     private final ForexService forexService;
+    private final ForexRateService forexRateService;
 
     @Operation(summary = "Get forex pair details", description = "Returns detailed forex pair data for given base and quote currencies.")
     @ApiResponses(value = {
@@ -47,7 +50,7 @@ public class ForexController {
             @RequestParam("base") String base,
             @RequestParam("target") String target,
             @RequestParam(value = "amount", required = false) BigDecimal amount) {
-        BigDecimal conversionRate = forexService.getConversionRate(base, target);
+        BigDecimal conversionRate = forexRateService.getConversionRate(base, target);
         Map<String, Object> response = Map.of("conversion_rate", conversionRate,
                 "converted_amount", amount != null ? amount.multiply(conversionRate) : null);
         return ResponseEntity.ok(response);
@@ -73,8 +76,12 @@ public class ForexController {
     @GetMapping("/all")
     public ResponseEntity<?> getAllForexPairs(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        Page<ForexPairDto> forexPairs = forexService.getForexPairsList(PageRequest.of(page, size));
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "ticker") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortOrder) {
+        Sort sort = Sort.by(sortOrder.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
+        Page<ForexPairDto> forexPairs = forexService.getForexPairsList(prefix, PageRequest.of(page, size, sort));
         return ResponseEntity.ok(forexPairs);
     }
 }
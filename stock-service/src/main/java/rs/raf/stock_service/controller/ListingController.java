@@ -10,6 +10,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import rs.raf.stock_service.domain.dto.*;
 import rs.raf.stock_service.exceptions.ListingNotFoundException;
+import rs.raf.stock_service.service.IndicatorService;
+import rs.raf.stock_service.service.ListingSearchService;
 import rs.raf.stock_service.service.ListingService;
 import rs.raf.stock_service.utils.JwtTokenUtil;
 
@@ -24,6 +26,12 @@ public class ListingController {
     @Autowired
     private ListingService listingService;
 
+    @Autowired
+    private IndicatorService indicatorService;
+
+    @Autowired
+    private ListingSearchService listingSearchService;
+
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
@@ -75,6 +83,20 @@ public class ListingController {
         return ResponseEntity.ok(listingService.getListings(filter, role));
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Autocomplete securities", description = "Returns ranked, typo-tolerant matches on ticker and name from the in-memory search index.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matches retrieved successfully")
+    })
+    public ResponseEntity<List<ListingSearchResultDto>> searchListings(
+            @RequestHeader("Authorization") String token,
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        String role = jwtTokenUtil.getUserRoleFromAuthHeader(token);
+        return ResponseEntity.ok(listingSearchService.autocomplete(query, Math.min(limit, 50), role));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get details of a security", description = "Returns detailed information about a specific stock, future, or forex pair.")
     @ApiResponses(value = {
@@ -119,4 +141,18 @@ public class ListingController {
         return ResponseEntity.ok(priceHistory);
     }
 
+    @GetMapping("/{id}/indicators")
+    @Operation(summary = "Get technical indicators of a security", description = "Returns SMA, EMA, RSI, MACD, Bollinger bands and VWAP computed over the latest price bars.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Indicators retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported interval"),
+            @ApiResponse(responseCode = "404", description = "Listing not found")
+    })
+    public ResponseEntity<ListingIndicatorsDto> getIndicators(
+            @PathVariable Long id,
+            @RequestParam(required = false) String interval
+    ) {
+        return ResponseEntity.ok(indicatorService.getIndicators(id, interval));
+    }
+
 }
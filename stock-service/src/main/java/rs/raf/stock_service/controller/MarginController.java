@@ -0,0 +1,44 @@
+package rs.raf.stock_service.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import rs.raf.stock_service.domain.dto.MarginStatusDto;
+import rs.raf.stock_service.service.MarginMonitorService;
+import rs.raf.stock_service.utils.JwtTokenUtil;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/margin")
+@AllArgsConstructor
+public class MarginController {
+
+    private final MarginMonitorService marginMonitorService;
+    private final JwtTokenUtil jwtTokenUtil;
+
+    @Operation(summary = "Get own margin status", description = "Returns equity and maintenance margin requirement of the authenticated user's positions.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Margin status retrieved successfully")
+    })
+    @PreAuthorize("hasAnyRole('CLIENT', 'AGENT')")
+    @GetMapping
+    public ResponseEntity<MarginStatusDto> getMarginStatus(@RequestHeader("Authorization") String authHeader) {
+        Long userId = jwtTokenUtil.getUserIdFromAuthHeader(authHeader);
+        return ResponseEntity.ok(marginMonitorService.getStatus(userId));
+    }
+
+    @Operation(summary = "Get active margin calls", description = "Returns all users whose equity is below the maintenance margin requirement.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Margin calls retrieved successfully")
+    })
+    @PreAuthorize("hasRole('SUPERVISOR') or hasRole('ADMIN')")
+    @GetMapping("/calls")
+    public ResponseEntity<List<MarginStatusDto>> getMarginCalls() {
+        return ResponseEntity.ok(marginMonitorService.getMarginCalls());
+    }
+}
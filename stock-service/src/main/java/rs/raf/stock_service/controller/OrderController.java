@@ -7,15 +7,23 @@ import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import rs.raf.stock_service.domain.dto.CreateOrderDto;
+import rs.raf.stock_service.domain.dto.CursorPageDto;
 import rs.raf.stock_service.domain.dto.OrderDto;
+import rs.raf.stock_service.domain.dto.OrderJournalEntryDto;
+import rs.raf.stock_service.domain.dto.OrderSummaryDto;
 import rs.raf.stock_service.domain.enums.OrderStatus;
 import rs.raf.stock_service.exceptions.*;
 import rs.raf.stock_service.repository.OrderRepository;
+import rs.raf.stock_service.service.OrderEventService;
+import rs.raf.stock_service.service.OrderJournalService;
 import rs.raf.stock_service.service.OrderService;
+import rs.raf.stock_service.utils.JwtTokenUtil;
 
 import javax.validation.Valid;
 import javax.websocket.server.PathParam;
@@ -30,6 +38,9 @@ public class OrderController {
 
     private final OrderService orderService;
     private final OrderRepository orderRepository;
+    private final OrderEventService orderEventService;
+    private final OrderJournalService orderJournalService;
+    private final JwtTokenUtil jwtTokenUtil;
 
 
     @Operation(
@@ -50,6 +61,78 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrdersByStatus(status, pageable));
     }
 
+    @Operation(
+            summary = "Subscribe to order lifecycle events.",
+            description = "Server-sent event stream of order events (CREATED, APPROVED, DECLINED, PARTIALLY_FILLED, DONE, CANCELLED). " +
+                    "Supervisors and admins receive events for all orders, agents and clients only for their own."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened.")
+    })
+    @PreAuthorize("hasRole('SUPERVISOR') or hasRole('ADMIN') or hasRole('AGENT') or hasRole('CLIENT')")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToOrderEvents(@RequestHeader("Authorization") String authHeader) {
+        Long userId = jwtTokenUtil.getUserIdFromAuthHeader(authHeader);
+        String role = jwtTokenUtil.getUserRoleFromAuthHeader(authHeader);
+        return orderEventService.subscribe(userId, role);
+    }
+
+    @Operation(
+            summary = "Get lightweight order list",
+            description = "Returns order summaries (without transactions unless requested), newest first, using cursor-based pagination. " +
+                    "Pass nextCursor from the previous response to get the next page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved orders"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @PreAuthorize("hasRole('SUPERVISOR') or hasRole('ADMIN') or hasRole('AGENT')")
+    @GetMapping("/summary")
+    public ResponseEntity<CursorPageDto<OrderSummaryDto>> getOrderSummaries(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTransactions) {
+        return ResponseEntity.ok(orderService.getOrderSummaries(status, cursor, size, includeTransactions));
+    }
+
+    @Operation(
+            summary = "Get lightweight order list for user",
+            description = "Returns summaries of orders made by a specific user, newest first, using cursor-based pagination."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved orders"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized attempt at getting user's orders.")
+    })
+    @PreAuthorize("hasRole('SUPERVISOR') or hasRole('ADMIN') or hasRole('AGENT') or hasRole('CLIENT')")
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<?> getOrderSummariesByUser(
+            @RequestHeader("Authorization") String authHeader,
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTransactions) {
+        try {
+            return ResponseEntity.ok(orderService.getOrderSummariesByUser(id, authHeader, cursor, size, includeTransactions));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    @Operation(
+            summary = "Get order journal",
+            description = "Returns every recorded state transition of an order, oldest first."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved order journal")
+    })
+    @PreAuthorize("hasRole('SUPERVISOR') or hasRole('ADMIN')")
+    @GetMapping("/{id}/journal")
+    public ResponseEntity<List<OrderJournalEntryDto>> getOrderJournal(@PathVariable Long id) {
+        return ResponseEntity.ok(orderJournalService.getJournal(id));
+    }
+
     @Operation(
             summary = "Get orders made by user.",
             description = "Returns a list of orders made by a specific user."
@@ -4,6 +4,9 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,8 +14,10 @@ import org.springframework.web.bind.annotation.*;
 import rs.raf.stock_service.domain.dto.*;
 import rs.raf.stock_service.exceptions.OptionNotEligibleException;
 import rs.raf.stock_service.service.PortfolioService;
+import rs.raf.stock_service.service.PortfolioSnapshotService;
 import rs.raf.stock_service.utils.JwtTokenUtil;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -21,6 +26,7 @@ import java.util.List;
 public class PortfolioController {
 
     private final PortfolioService portfolioService;
+    private final PortfolioSnapshotService portfolioSnapshotService;
     private final JwtTokenUtil jwtTokenUtil;
 
     @Operation(
@@ -93,6 +99,19 @@ public class PortfolioController {
         }
     }
 
+    @Operation(
+            summary = "Search public stocks (OTC portal)",
+            description = "Paginated and filterable view of public stocks, served from the public stock read model. Filters: ticker prefix, owner name, price range, minimum amount."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Public stocks retrieved successfully.")
+    })
+    @PreAuthorize("hasAnyRole('CLIENT', 'AGENT', 'SUPERVISOR', 'ADMIN')")
+    @GetMapping("/public-stocks/search")
+    public ResponseEntity<Page<PublicStockDto>> searchPublicStocks(PublicStockFilterDto filter, Pageable pageable) {
+        return ResponseEntity.ok(portfolioService.searchPublicStocks(filter, pageable));
+    }
+
     @PreAuthorize("hasRole('AGENT') or hasRole('CLIENT')")
     @GetMapping("/tax")
     @Operation(summary = "Get user taxes", description = "Returns paid tax for current year, and unpaid for current month.")
@@ -105,6 +124,22 @@ public class PortfolioController {
 
     }
 
+    @PreAuthorize("hasAnyRole('CLIENT', 'AGENT', 'SUPERVISOR')")
+    @GetMapping("/performance")
+    @Operation(summary = "Get portfolio performance chart", description = "Returns daily market value, time-weighted and money-weighted returns of the user's portfolio. Defaults to the last year.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Performance history retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<List<PortfolioPerformanceDto>> getPerformance(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        Long userId = jwtTokenUtil.getUserIdFromAuthHeader(authHeader);
+        return ResponseEntity.ok(portfolioSnapshotService.getPerformance(userId, from, to));
+    }
+
     @PreAuthorize("hasAnyRole('CLIENT', 'AGENT')")
     @PostMapping("/use-option")
     @Operation(summary = "Use option (CALL/PUT) if eligible")
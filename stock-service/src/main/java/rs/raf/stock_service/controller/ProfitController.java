@@ -1,9 +1,16 @@
 package rs.raf.stock_service.controller;
 
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import rs.raf.stock_service.domain.dto.ActuaryProfitDto;
 import rs.raf.stock_service.domain.dto.StockProfitResponseDto;
@@ -26,6 +33,30 @@ public class ProfitController {
             return ResponseEntity.ok(new StockProfitResponseDto(stockCommissionProfit));
 
     }
+
+    @Operation(summary = "Get aggregated actuary profits",
+            description = "Returns summed profit of SELL orders per user, computed with a single GROUP BY query. Users without orders are omitted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Profits retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/actuaries")
+    public ResponseEntity<List<ActuaryProfitDto>> getActuaryProfits(@RequestParam List<Long> userIds) {
+        return ResponseEntity.ok(orderService.getActuaryProfits(userIds));
+    }
+
+    @Operation(summary = "Get aggregated actuary profits (paginated)",
+            description = "Returns summed profit of SELL orders for every user that has them, ordered by user id.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Profits retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/actuaries/page")
+    public ResponseEntity<Page<ActuaryProfitDto>> getActuaryProfitsPage(Pageable pageable) {
+        return ResponseEntity.ok(orderService.getActuaryProfits(pageable));
+    }
 }
 
 
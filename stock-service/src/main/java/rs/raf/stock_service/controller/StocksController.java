@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import rs.raf.stock_service.domain.dto.StockDto;
@@ -53,8 +54,12 @@ public class StocksController {
     @GetMapping("/all")
     public ResponseEntity<?> getAllStocks(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        Page<StockDto> stocks = stocksService.getStocksList(PageRequest.of(page, size));
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "ticker") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortOrder) {
+        Sort sort = Sort.by(sortOrder.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
+        Page<StockDto> stocks = stocksService.getStocksList(prefix, PageRequest.of(page, size, sort));
         return ResponseEntity.ok(stocks);
     }
 }
@@ -11,4 +11,5 @@ import lombok.*;
 public class ActuaryDto {
     private String firstName;
     private String lastName;
+    private String email;
 }
@@ -38,6 +38,8 @@ public class CreateOrderDto {
     private BigDecimal limitPrice;
     private BigDecimal stopPrice;
 
+    private boolean margin; // kupovina na margin, takva pozicija se prati u MarginMonitorService
+
     public CreateOrderDto(Long listingId, OrderType orderType, Integer quantity, Integer contractSize, OrderDirection orderDirection,
                           String accountNumber, boolean allOrNone){
         this.listingId = listingId;
@@ -64,4 +66,9 @@ public class CreateOrderDto {
         if(orderType == OrderType.STOP)
             this.stopPrice = price;
     }
+
+    public CreateOrderDto(Long listingId, OrderType orderType, Integer quantity, Integer contractSize, OrderDirection orderDirection,
+                          String accountNumber, boolean allOrNone, BigDecimal limitPrice, BigDecimal stopPrice){
+        this(listingId, orderType, quantity, contractSize, orderDirection, accountNumber, allOrNone, limitPrice, stopPrice, false);
+    }
 }
@@ -0,0 +1,18 @@
+package rs.raf.stock_service.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> content;
+    private String nextCursor; // null kad nema vise stranica
+    private int size;
+}
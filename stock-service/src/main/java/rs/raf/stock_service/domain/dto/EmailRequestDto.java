@@ -0,0 +1,15 @@
+package rs.raf.stock_service.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailRequestDto {
+    private String code;
+    private String destination;
+}
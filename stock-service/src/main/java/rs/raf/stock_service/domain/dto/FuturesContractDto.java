@@ -1,16 +1,19 @@
 package rs.raf.stock_service.domain.dto;
 
-import lombok.Data;
+import lombok.Builder;
+import lombok.Value;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
-@Data
+// nepromenljiv, jer FuturesService iste instance deli svim pozivaocima
+@Value
+@Builder(toBuilder = true)
 public class FuturesContractDto {
-    private String ticker;
-    private int contractSize;
-    private BigDecimal price;
-    private String contractUnit;
-    private LocalDate settlementDate;
-    private BigDecimal maintenanceMargin;
+    String ticker;
+    int contractSize;
+    BigDecimal price;
+    String contractUnit;
+    LocalDate settlementDate;
+    BigDecimal maintenanceMargin;
 }
@@ -0,0 +1,14 @@
+package rs.raf.stock_service.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LimitAmountDto {
+    private BigDecimal amount;
+}
@@ -0,0 +1,29 @@
+package rs.raf.stock_service.domain.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ListingIndicatorsDto {
+    private Long listingId;
+    private String interval;
+    private LocalDateTime lastBar;
+    private long bars;
+
+    // null dok nema dovoljno barova za period indikatora
+    private Double sma;
+    private Double ema;
+    private Double rsi;
+    private Double macd;
+    private Double macdSignal;
+    private Double macdHistogram;
+    private Double bollingerUpper;
+    private Double bollingerMiddle;
+    private Double bollingerLower;
+    private Double vwap;
+}
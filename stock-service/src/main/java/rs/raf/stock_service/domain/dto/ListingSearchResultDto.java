@@ -0,0 +1,18 @@
+package rs.raf.stock_service.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import rs.raf.stock_service.domain.enums.ListingType;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ListingSearchResultDto {
+    private Long id;
+    private String ticker;
+    private String name;
+    private ListingType listingType;
+}
@@ -0,0 +1,19 @@
+package rs.raf.stock_service.domain.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MarginStatusDto {
+    private Long userId;
+    private BigDecimal equity;
+    private BigDecimal requirement;
+    private boolean marginCall;
+    private LocalDateTime marginCallSince;
+}
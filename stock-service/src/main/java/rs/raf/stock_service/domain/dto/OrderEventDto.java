@@ -0,0 +1,36 @@
+package rs.raf.stock_service.domain.dto;
+
+import lombok.*;
+import rs.raf.stock_service.domain.enums.OrderDirection;
+import rs.raf.stock_service.domain.enums.OrderEventType;
+import rs.raf.stock_service.domain.enums.OrderStatus;
+import rs.raf.stock_service.domain.enums.OrderType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderEventDto {
+    private OrderEventType type;
+    private Long orderId;
+    private Long userId;
+    private Long listingId;
+    private String ticker;
+    private OrderType orderType;
+    private OrderDirection direction;
+    private OrderStatus status;
+    private Integer quantity;
+    private Integer remainingPortions;
+    private Long approvedBy;
+
+    // popunjeno samo za PARTIALLY_FILLED
+    private Integer fillQuantity;
+    private BigDecimal fillPricePerUnit;
+    private BigDecimal fillTotalPrice;
+
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,26 @@
+package rs.raf.stock_service.domain.dto;
+
+import lombok.*;
+import rs.raf.stock_service.domain.enums.OrderEventType;
+import rs.raf.stock_service.domain.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderJournalEntryDto {
+    private Long id;
+    private Long orderId;
+    private OrderEventType type;
+    private OrderStatus status;
+    private Integer remainingPortions;
+    private Long actorId;
+    private Integer fillQuantity;
+    private BigDecimal fillPricePerUnit;
+    private BigDecimal fillTotalPrice;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,71 @@
+package rs.raf.stock_service.domain.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import rs.raf.stock_service.domain.enums.ListingType;
+import rs.raf.stock_service.domain.enums.OrderDirection;
+import rs.raf.stock_service.domain.enums.OrderStatus;
+import rs.raf.stock_service.domain.enums.OrderType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*
+        Read-only projekcija ordera za liste. Puni se direktno iz JPQL constructor expression-a,
+        tako da se ne ucitavaju entiteti ni njihove transakcije. Transakcije se dodaju naknadno,
+        samo ako su trazene.
+     */
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderSummaryDto {
+
+    private Long id;
+    private Long userId;
+    private Long listingId;
+    private String ticker;
+    private ListingType listingType;
+    private OrderType orderType;
+    private Integer quantity;
+    private Integer contractSize;
+    private BigDecimal pricePerUnit;
+    private OrderDirection direction;
+    private OrderStatus status;
+    private Long approvedBy;
+    private Boolean isDone;
+    private LocalDateTime lastModification;
+    private Integer remainingPortions;
+    private BigDecimal stopPrice;
+    private Boolean afterHours;
+    private String accountNumber;
+    private BigDecimal profit;
+    private List<TransactionDto> transactions;
+
+    public OrderSummaryDto(Long id, Long userId, Long listingId, String ticker, ListingType listingType,
+                           OrderType orderType, Integer quantity, Integer contractSize, BigDecimal pricePerUnit,
+                           OrderDirection direction, OrderStatus status, Long approvedBy, Boolean isDone,
+                           LocalDateTime lastModification, Integer remainingPortions, BigDecimal stopPrice,
+                           Boolean afterHours, String accountNumber, BigDecimal profit) {
+        this.id = id;
+        this.userId = userId;
+        this.listingId = listingId;
+        this.ticker = ticker;
+        this.listingType = listingType;
+        this.orderType = orderType;
+        this.quantity = quantity;
+        this.contractSize = contractSize;
+        this.pricePerUnit = pricePerUnit;
+        this.direction = direction;
+        this.status = status;
+        this.approvedBy = approvedBy;
+        this.isDone = isDone;
+        this.lastModification = lastModification;
+        this.remainingPortions = remainingPortions;
+        this.stopPrice = stopPrice;
+        this.afterHours = afterHours;
+        this.accountNumber = accountNumber;
+        this.profit = profit;
+    }
+}
@@ -0,0 +1,25 @@
+package rs.raf.stock_service.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Projekcija transakcije zajedno sa ID-jem ordera, da bi se transakcije vise ordera ucitale jednim upitom
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderTransactionDto {
+    private Long orderId;
+    private Long id;
+    private Integer quantity;
+    private BigDecimal pricePerUnit;
+    private BigDecimal totalPrice;
+    private LocalDateTime timestamp;
+
+    public TransactionDto toTransactionDto() {
+        return new TransactionDto(id, quantity, pricePerUnit, totalPrice, timestamp);
+    }
+}
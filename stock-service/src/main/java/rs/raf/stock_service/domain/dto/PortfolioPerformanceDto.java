@@ -0,0 +1,20 @@
+package rs.raf.stock_service.domain.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PortfolioPerformanceDto {
+    private LocalDate date;
+    private BigDecimal marketValue;
+    private BigDecimal netFlow;
+    private BigDecimal dailyReturn;
+    private BigDecimal timeWeightedReturn;
+    private BigDecimal moneyWeightedReturn;
+}
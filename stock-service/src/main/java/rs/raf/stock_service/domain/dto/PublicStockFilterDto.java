@@ -0,0 +1,17 @@
+package rs.raf.stock_service.domain.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class PublicStockFilterDto {
+    private String ticker;
+    private String owner;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minAmount;
+    private Long excludeUserId;
+}
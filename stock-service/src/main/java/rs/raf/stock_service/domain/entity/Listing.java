@@ -20,7 +20,8 @@ import java.util.List;
 @DiscriminatorColumn(name = "type")
 public abstract class Listing {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "listing_seq")
+    @SequenceGenerator(name = "listing_seq", sequenceName = "listing_seq", allocationSize = 50)
     private Long id;
     private String ticker;
     private String name;
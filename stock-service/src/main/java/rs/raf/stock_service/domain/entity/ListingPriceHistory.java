@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @Builder
 public class ListingPriceHistory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "listing_price_history_seq")
+    @SequenceGenerator(name = "listing_price_history_seq", sequenceName = "listing_price_history_seq", allocationSize = 50)
     private Long id;
     private LocalDateTime date;
     @ManyToOne(optional = false)
@@ -14,7 +14,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_last_modification", columnList = "userId, lastModification"),
+        @Index(name = "idx_orders_status_last_modification", columnList = "status, lastModification")
+})
 @Getter
 @Setter
 @Builder
@@ -23,7 +26,8 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, updatable = false)
@@ -79,6 +83,9 @@ public class Order {
     @Column(nullable = false, updatable = false)
     private boolean allOrNone;
 
+    @Column(updatable = false)
+    private Boolean margin;
+
     @Column
     private BigDecimal commission;
 
@@ -117,5 +124,10 @@ public class Order {
         this.transactions = new ArrayList<>();
         this.role = role;
     }
-}
 
+    // kolona je NOT NULL i na njoj stoji keyset paginacija; builder (npr. BootstrapData) je ne postavlja sam
+    @PrePersist
+    void prePersist() {
+        if (lastModification == null) lastModification = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,59 @@
+package rs.raf.stock_service.domain.entity;
+
+import lombok.*;
+import rs.raf.stock_service.domain.enums.OrderEventType;
+import rs.raf.stock_service.domain.enums.OrderStatus;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+        Append-only zapis jedne promene stanja ordera. Redovi se nikad ne menjaju,
+        pa je journal ujedno i audit trail za svaki order.
+     */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "order_journal", indexes = {
+        @Index(name = "idx_order_journal_order", columnList = "orderId")
+})
+public class OrderJournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private OrderEventType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private OrderStatus status;
+
+    @Column(updatable = false)
+    private Integer remainingPortions;
+
+    @Column(updatable = false)
+    private Long actorId;
+
+    // popunjeno samo za PARTIALLY_FILLED
+    @Column(updatable = false)
+    private Integer fillQuantity;
+
+    @Column(updatable = false)
+    private BigDecimal fillPricePerUnit;
+
+    @Column(updatable = false)
+    private BigDecimal fillTotalPrice;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime timestamp;
+}
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class PortfolioEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "portfolio_entry_seq")
+    @SequenceGenerator(name = "portfolio_entry_seq", sequenceName = "portfolio_entry_seq", allocationSize = 50)
     private Long id;
 
     private Long userId;
@@ -37,6 +38,8 @@ public class PortfolioEntry {
 
     private Boolean used = false;          // Za opcije
 
+    private Boolean margin = false;        // bar deo pozicije je kupljen na margin
+
     private LocalDateTime lastModified;
 
     // moze se npr i dodati i currentProfit, ali bolje ga izračunavati na getPortfolio pozivu
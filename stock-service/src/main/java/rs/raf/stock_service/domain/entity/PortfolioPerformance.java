@@ -0,0 +1,53 @@
+package rs.raf.stock_service.domain.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/*
+        Dnevni red performansi portfolija. Kumulativna polja (twrIndex, cumulativeFlow, investedCapitalDays, days)
+        se racunaju iz prethodnog reda, pa se TWR i MWR dobijaju bez ponovnog prolaska kroz istoriju.
+     */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "portfolio_performance", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_portfolio_performance_user_date", columnNames = {"userId", "snapshotDate"})
+})
+public class PortfolioPerformance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDate snapshotDate;
+
+    private BigDecimal marketValue;
+
+    // kupovine minus prodaje u toku dana
+    private BigDecimal netFlow;
+
+    @Column(precision = 19, scale = 10)
+    private BigDecimal dailyReturn;
+
+    // proizvod (1 + dnevni prinos) od prvog dana
+    @Column(precision = 19, scale = 10)
+    private BigDecimal twrIndex;
+
+    private BigDecimal cumulativeFlow;
+
+    // suma ulozenog kapitala po danima, za prosecan kapital u Modified Dietz MWR
+    @Column(precision = 38, scale = 2)
+    private BigDecimal investedCapitalDays;
+
+    private Integer days;
+}
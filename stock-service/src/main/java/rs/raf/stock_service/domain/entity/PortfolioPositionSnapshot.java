@@ -0,0 +1,41 @@
+package rs.raf.stock_service.domain.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/*
+        Pozicija korisnika na kraju dana. Redove pise samo PortfolioSnapshotService jednim INSERT ... SELECT-om.
+     */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "portfolio_position_snapshot", indexes = {
+        @Index(name = "idx_position_snapshot_date_user", columnList = "snapshotDate, userId")
+})
+public class PortfolioPositionSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long listingId;
+
+    private Integer amount;
+
+    private BigDecimal closePrice;
+
+    private BigDecimal marketValue;
+}
@@ -0,0 +1,52 @@
+package rs.raf.stock_service.domain.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+        Read model za OTC marketplace. Jedan red po javnom STOCK portfolio entry-ju, sa vec
+        razresenim imenom vlasnika i cenom, tako da se stranica cita jednim indeksiranim upitom.
+        Odrzava ga PublicStockService kad god se promeni portfolio entry ili cena listinga.
+     */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "public_stock", indexes = {
+        @Index(name = "idx_public_stock_ticker", columnList = "ticker"),
+        @Index(name = "idx_public_stock_price", columnList = "price"),
+        @Index(name = "idx_public_stock_user", columnList = "userId"),
+        @Index(name = "idx_public_stock_listing", columnList = "listingId")
+})
+public class PublicStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long portfolioEntryId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long listingId;
+
+    @Column(nullable = false)
+    private String ticker;
+
+    @Column(nullable = false)
+    private Integer amount;
+
+    private BigDecimal price;
+
+    private String owner;
+
+    private LocalDateTime lastModified;
+}
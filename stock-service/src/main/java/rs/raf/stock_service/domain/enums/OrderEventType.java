@@ -0,0 +1,5 @@
+package rs.raf.stock_service.domain.enums;
+
+public enum OrderEventType {
+    CREATED, APPROVED, DECLINED, PARTIALLY_FILLED, DONE, CANCELLED
+}
@@ -0,0 +1,41 @@
+package rs.raf.stock_service.domain.mapper;
+
+import rs.raf.stock_service.domain.dto.OrderJournalEntryDto;
+import rs.raf.stock_service.domain.entity.Order;
+import rs.raf.stock_service.domain.entity.OrderJournalEntry;
+import rs.raf.stock_service.domain.entity.Transaction;
+import rs.raf.stock_service.domain.enums.OrderEventType;
+
+import java.time.LocalDateTime;
+
+public class OrderJournalMapper {
+
+    public static OrderJournalEntry toEntry(Order order, OrderEventType type, Transaction fill) {
+        return OrderJournalEntry.builder()
+                .orderId(order.getId())
+                .type(type)
+                .status(order.getStatus())
+                .remainingPortions(order.getRemainingPortions())
+                .actorId(order.getApprovedBy())
+                .fillQuantity(fill == null ? null : fill.getQuantity())
+                .fillPricePerUnit(fill == null ? null : fill.getPricePerUnit())
+                .fillTotalPrice(fill == null ? null : fill.getTotalPrice())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    public static OrderJournalEntryDto toDto(OrderJournalEntry entry) {
+        return OrderJournalEntryDto.builder()
+                .id(entry.getId())
+                .orderId(entry.getOrderId())
+                .type(entry.getType())
+                .status(entry.getStatus())
+                .remainingPortions(entry.getRemainingPortions())
+                .actorId(entry.getActorId())
+                .fillQuantity(entry.getFillQuantity())
+                .fillPricePerUnit(entry.getFillPricePerUnit())
+                .fillTotalPrice(entry.getFillTotalPrice())
+                .timestamp(entry.getTimestamp())
+                .build();
+    }
+}
@@ -4,12 +4,16 @@ import org.springframework.stereotype.Component;
 import rs.raf.stock_service.domain.dto.CreateOrderDto;
 import rs.raf.stock_service.domain.dto.ListingDto;
 import rs.raf.stock_service.domain.dto.OrderDto;
+import rs.raf.stock_service.domain.dto.OrderEventDto;
 import rs.raf.stock_service.domain.entity.Exchange;
 import rs.raf.stock_service.domain.entity.Listing;
 import rs.raf.stock_service.domain.entity.Order;
+import rs.raf.stock_service.domain.entity.Transaction;
 import rs.raf.stock_service.domain.enums.OrderDirection;
+import rs.raf.stock_service.domain.enums.OrderEventType;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.util.stream.Collectors;
@@ -43,6 +47,26 @@ public class OrderMapper {
         );
     }
 
+    public static OrderEventDto toEventDto(Order order, OrderEventType type, Transaction fill) {
+        return OrderEventDto.builder()
+                .type(type)
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .listingId(order.getListing() == null ? null : order.getListing().getId())
+                .ticker(order.getListing() == null ? null : order.getListing().getTicker())
+                .orderType(order.getOrderType())
+                .direction(order.getDirection())
+                .status(order.getStatus())
+                .quantity(order.getQuantity())
+                .remainingPortions(order.getRemainingPortions())
+                .approvedBy(order.getApprovedBy())
+                .fillQuantity(fill == null ? null : fill.getQuantity())
+                .fillPricePerUnit(fill == null ? null : fill.getPricePerUnit())
+                .fillTotalPrice(fill == null ? null : fill.getTotalPrice())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     public static Order toOrder(CreateOrderDto createOrderDto, Long userId, Listing listing, String role) {
         BigDecimal pricePerUnit = null;
         BigDecimal stopPrice = null;
@@ -67,7 +91,7 @@ public class OrderMapper {
                 stopPrice = createOrderDto.getStopPrice();
         }
 
-        return new Order(
+        Order order = new Order(
                 userId,
                 listing,
                 createOrderDto.getOrderType(),
@@ -81,6 +105,8 @@ public class OrderMapper {
                 createOrderDto.isAllOrNone(),
                 role
         );
+        order.setMargin(createOrderDto.isMargin());
+        return order;
     }
 
     private static boolean afterHours(Exchange exchange){
@@ -0,0 +1,34 @@
+package rs.raf.stock_service.domain.mapper;
+
+import rs.raf.stock_service.domain.dto.PortfolioPerformanceDto;
+import rs.raf.stock_service.domain.entity.PortfolioPerformance;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+public class PortfolioPerformanceMapper {
+
+    public static PortfolioPerformanceDto toDto(PortfolioPerformance performance) {
+        return PortfolioPerformanceDto.builder()
+                .date(performance.getSnapshotDate())
+                .marketValue(performance.getMarketValue())
+                .netFlow(performance.getNetFlow())
+                .dailyReturn(performance.getDailyReturn())
+                .timeWeightedReturn(performance.getTwrIndex() == null ? null : performance.getTwrIndex().subtract(BigDecimal.ONE))
+                .moneyWeightedReturn(moneyWeightedReturn(performance))
+                .build();
+    }
+
+    // Modified Dietz od prvog snapshot-a: dobit / prosecan ulozeni kapital
+    private static BigDecimal moneyWeightedReturn(PortfolioPerformance performance) {
+        if (performance.getDays() == null || performance.getDays() == 0 || performance.getInvestedCapitalDays() == null)
+            return null;
+
+        BigDecimal averageCapital = performance.getInvestedCapitalDays()
+                .divide(BigDecimal.valueOf(performance.getDays()), MathContext.DECIMAL64);
+        if (averageCapital.signum() <= 0) return null;
+
+        return performance.getMarketValue().subtract(performance.getCumulativeFlow())
+                .divide(averageCapital, MathContext.DECIMAL64);
+    }
+}
@@ -0,0 +1,22 @@
+package rs.raf.stock_service.domain.mapper;
+
+import rs.raf.stock_service.domain.dto.PublicStockDto;
+import rs.raf.stock_service.domain.entity.PublicStock;
+import rs.raf.stock_service.domain.enums.ListingType;
+
+import java.math.BigDecimal;
+
+public class PublicStockMapper {
+
+    public static PublicStockDto toDto(PublicStock publicStock) {
+        return PublicStockDto.builder()
+                .portfolioEntryId(publicStock.getPortfolioEntryId())
+                .security(ListingType.STOCK.name())
+                .ticker(publicStock.getTicker())
+                .amount(publicStock.getAmount())
+                .price(publicStock.getPrice() != null ? publicStock.getPrice() : BigDecimal.ZERO)
+                .lastModified(publicStock.getLastModified())
+                .owner(publicStock.getOwner())
+                .build();
+    }
+}
@@ -1,5 +1,9 @@
 package rs.raf.stock_service.exceptions;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
 public class FuturesContractNotFoundException extends RuntimeException {
     public FuturesContractNotFoundException(String message) {
         super(message);
@@ -0,0 +1,11 @@
+package rs.raf.stock_service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedIntervalException extends RuntimeException {
+    public UnsupportedIntervalException(String interval) {
+        super("Unsupported indicator interval: " + interval);
+    }
+}
@@ -18,6 +18,8 @@ public interface ListingPriceHistoryRepository extends JpaRepository<ListingPric
     List<ListingPriceHistory> findAllByListingOrderByDateDesc(Listing listing);
     boolean existsByListingAndDate(Listing listing, LocalDateTime date);
 
+    List<ListingPriceHistory> findTop200ByListingIdOrderByDateDesc(Long listingId);
+
     @Query("SELECT l.date FROM ListingPriceHistory l WHERE l.listing.id = :listingId")
     Set<LocalDateTime> findDatesByListingId(@Param("listingId") Long listingId);
 
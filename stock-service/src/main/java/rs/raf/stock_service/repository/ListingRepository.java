@@ -2,13 +2,21 @@ package rs.raf.stock_service.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import rs.raf.stock_service.domain.entity.Listing;
+import rs.raf.stock_service.domain.enums.ListingType;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ListingRepository extends JpaRepository<Listing, Long>, JpaSpecificationExecutor<Listing> {
     Optional<Listing> findByTicker(String ticker);
 
+    // redovi {id, ticker, name, type} za indeks pretrage
+    @Query("SELECT l.id, l.ticker, l.name, l.type FROM Listing l WHERE l.type <> :excluded")
+    List<Object[]> findSearchRowsExcludingType(@Param("excluded") ListingType excluded);
+
 }
@@ -33,6 +33,9 @@ public interface OptionRepository extends JpaRepository<Option, Long> {
     @Query("DELETE FROM Option o WHERE o.id IN :ids")
     void deleteByIdInBatch(@Param("ids") List<Long> ids);
 
+    @Query("SELECT o FROM Option o JOIN FETCH o.underlyingStock WHERE o.onSale = true")
+    List<Option> findAllOnSaleWithUnderlying();
+
     @Query("SELECT o.ticker FROM Option o")
     Set<String> findAllTickers();
 
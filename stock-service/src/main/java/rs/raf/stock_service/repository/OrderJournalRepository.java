@@ -0,0 +1,16 @@
+package rs.raf.stock_service.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import rs.raf.stock_service.domain.entity.OrderJournalEntry;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderJournalRepository extends JpaRepository<OrderJournalEntry, Long> {
+
+    List<OrderJournalEntry> findAllByOrderIdOrderByIdAsc(Long orderId);
+
+    List<OrderJournalEntry> findAllByOrderIdInOrderByIdAsc(Collection<Long> orderIds);
+}
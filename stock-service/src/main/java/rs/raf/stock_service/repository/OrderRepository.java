@@ -3,19 +3,26 @@ package rs.raf.stock_service.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import rs.raf.stock_service.domain.dto.ActuaryProfitDto;
+import rs.raf.stock_service.domain.dto.OrderSummaryDto;
 import rs.raf.stock_service.domain.entity.Order;
 import rs.raf.stock_service.domain.enums.OrderDirection;
 import rs.raf.stock_service.domain.enums.OrderStatus;
 import rs.raf.stock_service.domain.enums.OrderType;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
     List<Order> findByIsDoneAndStatusAndOrderType(boolean isDone, OrderStatus orderStatus, OrderType orderType);
+    List<Order> findByIsDoneAndStatus(boolean isDone, OrderStatus orderStatus);
     List<Order> findAllByUserId(Long userId);
     List<Order> findAllByDirection(OrderDirection orderDirection);
 
@@ -26,6 +33,53 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
             "FROM Order o WHERE o.role = 'ACTUAR' GROUP BY o.userId")
     List<ActuaryProfitDto> getActuaryProfits();
 
+    @Query("SELECT new rs.raf.stock_service.domain.dto.ActuaryProfitDto(o.userId, COALESCE(SUM(o.profit), 0)) " +
+            "FROM Order o WHERE o.direction = :direction AND o.userId IN :userIds GROUP BY o.userId")
+    List<ActuaryProfitDto> sumProfitByUserIds(@Param("userIds") Collection<Long> userIds,
+                                              @Param("direction") OrderDirection direction);
 
-}
+    @Query(value = "SELECT new rs.raf.stock_service.domain.dto.ActuaryProfitDto(o.userId, COALESCE(SUM(o.profit), 0)) " +
+            "FROM Order o WHERE o.direction = :direction GROUP BY o.userId ORDER BY o.userId",
+            countQuery = "SELECT COUNT(DISTINCT o.userId) FROM Order o WHERE o.direction = :direction")
+    Page<ActuaryProfitDto> sumProfitPerUser(@Param("direction") OrderDirection direction, Pageable pageable);
+
+    String ORDER_SUMMARY = "SELECT new rs.raf.stock_service.domain.dto.OrderSummaryDto(o.id, o.userId, l.id, l.ticker, l.type, " +
+            "o.orderType, o.quantity, o.contractSize, o.pricePerUnit, o.direction, o.status, o.approvedBy, o.isDone, " +
+            "o.lastModification, o.remainingPortions, o.stopPrice, o.afterHours, o.accountNumber, o.profit) " +
+            "FROM Order o JOIN o.listing l ";
+    String AFTER_CURSOR = "(o.lastModification < :lastModification OR (o.lastModification = :lastModification AND o.id < :id)) ";
+    String NEWEST_FIRST = "ORDER BY o.lastModification DESC, o.id DESC";
+
+    // Keyset paginacija: limit se prosledjuje kroz Pageable (uvek stranica 0), nastavak preko (lastModification, id)
+    @Query(ORDER_SUMMARY + NEWEST_FIRST)
+    List<OrderSummaryDto> findSummaries(Pageable limit);
+
+    @Query(ORDER_SUMMARY + "WHERE " + AFTER_CURSOR + NEWEST_FIRST)
+    List<OrderSummaryDto> findSummariesAfter(@Param("lastModification") LocalDateTime lastModification,
+                                             @Param("id") Long id, Pageable limit);
+
+    @Query(ORDER_SUMMARY + "WHERE o.status = :status " + NEWEST_FIRST)
+    List<OrderSummaryDto> findSummariesByStatus(@Param("status") OrderStatus status, Pageable limit);
 
+    @Query(ORDER_SUMMARY + "WHERE o.status = :status AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<OrderSummaryDto> findSummariesByStatusAfter(@Param("status") OrderStatus status,
+                                                     @Param("lastModification") LocalDateTime lastModification,
+                                                     @Param("id") Long id, Pageable limit);
+
+    @Query(ORDER_SUMMARY + "WHERE o.userId = :userId " + NEWEST_FIRST)
+    List<OrderSummaryDto> findSummariesByUserId(@Param("userId") Long userId, Pageable limit);
+
+    @Query(ORDER_SUMMARY + "WHERE o.userId = :userId AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<OrderSummaryDto> findSummariesByUserIdAfter(@Param("userId") Long userId,
+                                                     @Param("lastModification") LocalDateTime lastModification,
+                                                     @Param("id") Long id, Pageable limit);
+
+    // snapshot iz order journala, ne dira ordere koji su u medjuvremenu zavrseni
+    @Modifying
+    @Transactional
+    @Query("UPDATE Order o SET o.status = :status, o.remainingPortions = :remainingPortions, " +
+            "o.lastModification = :lastModification WHERE o.id = :id AND o.isDone = false")
+    int updateProgress(@Param("id") Long id, @Param("status") OrderStatus status,
+                       @Param("remainingPortions") Integer remainingPortions,
+                       @Param("lastModification") LocalDateTime lastModification);
+}
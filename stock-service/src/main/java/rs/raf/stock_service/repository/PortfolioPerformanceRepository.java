@@ -0,0 +1,14 @@
+package rs.raf.stock_service.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import rs.raf.stock_service.domain.entity.PortfolioPerformance;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PortfolioPerformanceRepository extends JpaRepository<PortfolioPerformance, Long> {
+
+    List<PortfolioPerformance> findAllByUserIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(Long userId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,34 @@
+package rs.raf.stock_service.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import rs.raf.stock_service.domain.entity.PublicStock;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+@Repository
+public interface PublicStockRepository extends JpaRepository<PublicStock, Long>, JpaSpecificationExecutor<PublicStock> {
+
+    Optional<PublicStock> findByPortfolioEntryId(Long portfolioEntryId);
+
+    Optional<PublicStock> findFirstByUserIdAndOwnerIsNotNull(Long userId);
+
+    @Transactional
+    void deleteByPortfolioEntryId(Long portfolioEntryId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PublicStock p SET p.price = :price WHERE p.listingId = :listingId")
+    int updatePriceByListingId(@Param("listingId") Long listingId, @Param("price") BigDecimal price);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PublicStock p SET p.owner = :owner WHERE p.userId = :userId AND p.owner IS NULL")
+    int updateOwnerByUserId(@Param("userId") Long userId, @Param("owner") String owner);
+}
@@ -1,9 +1,19 @@
 package rs.raf.stock_service.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import rs.raf.stock_service.domain.dto.OrderTransactionDto;
 import rs.raf.stock_service.domain.entity.Transaction;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT new rs.raf.stock_service.domain.dto.OrderTransactionDto(t.order.id, t.id, t.quantity, " +
+            "t.pricePerUnit, t.totalPrice, t.timestamp) FROM Transaction t WHERE t.order.id IN :orderIds ORDER BY t.timestamp")
+    List<OrderTransactionDto> findAllByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
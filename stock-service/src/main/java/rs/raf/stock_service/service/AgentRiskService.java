@@ -0,0 +1,140 @@
+package rs.raf.stock_service.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import rs.raf.stock_service.client.UserClient;
+import rs.raf.stock_service.domain.dto.ActuaryLimitDto;
+import rs.raf.stock_service.domain.dto.LimitAmountDto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+        Pre-trade provera limita za agente. Stanje limita se drzi lokalno i menja atomski po agentu
+        (ConcurrentHashMap.compute), pa dva istovremena ordera ne mogu zajedno da probiju limit.
+        User-service javlja promene limita/approval-a i reset, a sa njega se cita samo prvi put.
+        Sacuvani orderi se upisuju u ledger user-service-a, koji ostaje izvor istine za used limit.
+     */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class AgentRiskService {
+
+    private final UserClient userClient;
+
+    private final Map<Long, AgentLimitState> limits = new ConcurrentHashMap<>();
+
+    // jedna nit, da consume i release za isti order stignu u ledger redom kojim su nastali
+    private final ExecutorService ledgerWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "agent-limit-ledger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public boolean tryReserve(Long agentId, BigDecimal amount) {
+        ensureLoaded(agentId);
+
+        AtomicBoolean reserved = new AtomicBoolean(false);
+        limits.computeIfPresent(agentId, (id, state) -> {
+            if (state.isNeedsApproval() || state.getAvailable().compareTo(amount) < 0) return state;
+            reserved.set(true);
+            return state.withUsedLimit(state.getUsedLimit().add(amount));
+        });
+        return reserved.get();
+    }
+
+    // supervizor je odobrio order, trosak se racuna u limit i ako ga prelazi
+    public void forceReserve(Long agentId, BigDecimal amount) {
+        ensureLoaded(agentId);
+        limits.computeIfPresent(agentId, (id, state) -> state.withUsedLimit(state.getUsedLimit().add(amount)));
+    }
+
+    public void release(Long agentId, BigDecimal amount) {
+        limits.computeIfPresent(agentId, (id, state) ->
+                state.withUsedLimit(state.getUsedLimit().subtract(amount).max(BigDecimal.ZERO)));
+    }
+
+    /**
+     * Upisuje rezervaciju sacuvanog ordera u ledger, van request niti. Ako je ledger odbije (npr. limit je u
+     * medjuvremenu promenjen), lokalno stanje agenta se odbacuje i sledeci order ga ponovo ucitava.
+     */
+    public void persistReserve(Long agentId, BigDecimal amount, boolean forced) {
+        ledgerWriter.execute(() -> {
+            try {
+                userClient.consumeActuaryLimit(agentId, new LimitAmountDto(amount), forced);
+            } catch (RuntimeException e) {
+                log.warn("Ledger rejected limit consumption of {} for agent {}", amount, agentId, e);
+                limits.remove(agentId);
+            }
+        });
+    }
+
+    public void persistRelease(Long agentId, BigDecimal amount) {
+        ledgerWriter.execute(() -> {
+            try {
+                userClient.releaseActuaryLimit(agentId, new LimitAmountDto(amount));
+            } catch (RuntimeException e) {
+                log.warn("Ledger rejected limit release of {} for agent {}", amount, agentId, e);
+                limits.remove(agentId);
+            }
+        });
+    }
+
+    /**
+     * Notifikacija iz user-service-a. Lokalne rezervacije se ne gube, zato se used limit ne spusta ispod lokalnog.
+     */
+    public void applyLimitChange(Long agentId, ActuaryLimitDto actuaryLimitDto) {
+        limits.compute(agentId, (id, state) -> {
+            BigDecimal remoteUsed = actuaryLimitDto.getUsedLimit() == null ? BigDecimal.ZERO : actuaryLimitDto.getUsedLimit();
+            BigDecimal used = state == null ? remoteUsed : state.getUsedLimit().max(remoteUsed);
+            return new AgentLimitState(actuaryLimitDto.getLimitAmount(), used, actuaryLimitDto.isNeedsApproval());
+        });
+    }
+
+    public void resetUsedLimit(Long agentId) {
+        limits.computeIfPresent(agentId, (id, state) -> state.withUsedLimit(BigDecimal.ZERO));
+    }
+
+    public void resetAllUsedLimits() {
+        limits.replaceAll((id, state) -> state.withUsedLimit(BigDecimal.ZERO));
+        log.info("Reset used limits for {} cached agents.", limits.size());
+    }
+
+    public ActuaryLimitDto getLimit(Long agentId) {
+        ensureLoaded(agentId);
+        AgentLimitState state = limits.get(agentId);
+        return new ActuaryLimitDto(state.getLimitAmount(), state.getUsedLimit(), state.isNeedsApproval());
+    }
+
+    // mrezni poziv ide van compute-a da ne bi drzao lock dok ceka user-service
+    private void ensureLoaded(Long agentId) {
+        if (limits.containsKey(agentId)) return;
+
+        ActuaryLimitDto actuaryLimitDto = userClient.getActuaryByEmployeeId(agentId);
+        limits.putIfAbsent(agentId, new AgentLimitState(actuaryLimitDto.getLimitAmount(),
+                actuaryLimitDto.getUsedLimit() == null ? BigDecimal.ZERO : actuaryLimitDto.getUsedLimit(),
+                actuaryLimitDto.isNeedsApproval()));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class AgentLimitState {
+        private final BigDecimal limitAmount;
+        private final BigDecimal usedLimit;
+        private final boolean needsApproval;
+
+        private BigDecimal getAvailable() {
+            return limitAmount.subtract(usedLimit);
+        }
+
+        private AgentLimitState withUsedLimit(BigDecimal usedLimit) {
+            return new AgentLimitState(limitAmount, usedLimit, needsApproval);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package rs.raf.stock_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import rs.raf.stock_service.domain.entity.ListingPriceHistory;
+import rs.raf.stock_service.repository.ListingPriceHistoryRepository;
+import rs.raf.stock_service.utils.PgBinaryCopyWriter;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/*
+        Masovni upis istorije cena. Na PostgreSQL-u ide preko COPY binary protokola (jedan stream
+        umesto INSERT-a po baru), a na drugim bazama i kad je bulk.copy.enabled=false preko JPA
+        saveAll u paketima.
+     */
+@Slf4j
+@Service
+public class BulkWriteService {
+
+    private static final String PRICE_HISTORY_COPY = "COPY listing_price_history " +
+            "(\"id\", \"listing_id\", \"date\", \"open\", \"close\", \"high\", \"low\", \"change\", \"volume\") " +
+            "FROM STDIN WITH (FORMAT binary)";
+    private static final String PRICE_HISTORY_IDS = "SELECT nextval('listing_price_history_seq') FROM generate_series(1, ?)";
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+    private static final int JPA_BATCH_SIZE = 100;
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private final DataSource dataSource;
+    private final ListingPriceHistoryRepository priceHistoryRepository;
+    private final boolean copyEnabled;
+
+    public BulkWriteService(DataSource dataSource, ListingPriceHistoryRepository priceHistoryRepository,
+                            @Value("${bulk.copy.enabled:true}") boolean copyEnabled) {
+        this.dataSource = dataSource;
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.copyEnabled = copyEnabled;
+    }
+
+    public void writePriceHistory(List<ListingPriceHistory> history) {
+        if (history.isEmpty()) return;
+
+        if (copyEnabled) {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                if (connection.isWrapperFor(PGConnection.class)) {
+                    copyPriceHistory(connection, history);
+                    return;
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("COPY into listing_price_history failed", e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+
+        for (int i = 0; i < history.size(); i += JPA_BATCH_SIZE)
+            priceHistoryRepository.saveAllAndFlush(history.subList(i, Math.min(i + JPA_BATCH_SIZE, history.size())));
+    }
+
+    private void copyPriceHistory(Connection connection, List<ListingPriceHistory> history) throws SQLException {
+        Iterator<Long> ids = allocateIds(connection, history.size()).iterator();
+
+        try (PgBinaryCopyWriter writer = new PgBinaryCopyWriter(new BufferedOutputStream(new PGCopyOutputStream(
+                connection.unwrap(PGConnection.class), PRICE_HISTORY_COPY, COPY_BUFFER_SIZE), COPY_BUFFER_SIZE))) {
+            for (ListingPriceHistory bar : history) {
+                writer.startRow(9);
+                writer.writeLong(ids.next());
+                writer.writeLong(bar.getListing().getId());
+                writer.writeTimestamp(bar.getDate());
+                writer.writeNumeric(bar.getOpen());
+                writer.writeNumeric(bar.getClose());
+                writer.writeNumeric(bar.getHigh());
+                writer.writeNumeric(bar.getLow());
+                writer.writeNumeric(bar.getChange());
+                writer.writeLong(bar.getVolume());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("COPY into listing_price_history failed", e);
+        }
+        log.debug("Copied {} price history rows.", history.size());
+    }
+
+    /**
+     * Rezervise id-jeve iz iste sekvence koju koristi Hibernate. Kao kod pooled optimizera,
+     * svaka vrednost sekvence je gornja granica bloka od SEQUENCE_ALLOCATION_SIZE id-jeva.
+     */
+    private List<Long> allocateIds(Connection connection, int count) throws SQLException {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + SEQUENCE_ALLOCATION_SIZE - 1) / SEQUENCE_ALLOCATION_SIZE;
+            try (PreparedStatement ps = connection.prepareStatement(PRICE_HISTORY_IDS)) {
+                ps.setInt(1, blocks);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        long hi = rs.getLong(1);
+                        for (long id = Math.max(1, hi - SEQUENCE_ALLOCATION_SIZE + 1); id <= hi; id++)
+                            ids.add(id);
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+}
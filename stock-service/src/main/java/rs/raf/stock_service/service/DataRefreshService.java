@@ -1,5 +1,7 @@
 package rs.raf.stock_service.service;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -26,6 +28,10 @@ import java.util.stream.Collectors;
 @Component
 public class DataRefreshService {
 
+    private static final Timer REFRESH_TIMER = Timer.builder("banka.listings.refresh")
+            .description("Ceo ciklus osvezavanja hartija, ukljucujuci proveru ordera")
+            .register(Metrics.globalRegistry);
+
     @Autowired private ListingRepository listingRepository;
     @Autowired private ListingPriceHistoryRepository priceHistoryRepository;
     @Autowired private PortfolioEntryRepository portfolioEntryRepository;
@@ -36,15 +42,28 @@ public class DataRefreshService {
     @Autowired private ListingService listingService;
     @Autowired private EntityManager entityManager;
     @Autowired private OrderService orderService;
+    @Autowired private PublicStockService publicStockService;
+    @Autowired private BulkWriteService bulkWriteService;
+    @Autowired private IndicatorService indicatorService;
+    @Autowired private MarginMonitorService marginMonitorService;
+    @Autowired private ForexRateService forexRateService;
+    @Autowired private OptionChainService optionChainService;
+    @Autowired private ListingCacheService listingCacheService;
+    @Autowired private ListingSearchService listingSearchService;
 
     @Value("${refresh.thread.pool.size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
     private int threadPoolSize;
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    @Scheduled(initialDelay = 150000, fixedRate = 300000) // 2.5min delay zbog bootstrap data, 5min interval
+    // 2.5min delay zbog bootstrap data (sa snapshot-om moze kraci), 5min interval
+    @Scheduled(initialDelayString = "${refresh.initial.delay.ms:150000}", fixedRate = 300000)
     @Transactional
     public void refreshListings() {
+        REFRESH_TIMER.record(this::refresh);
+    }
+
+    private void refresh() {
         log.info("---- Starting scheduled listing refresh ----");
 
         List<Listing> listings = listingRepository.findAll();
@@ -52,7 +71,10 @@ public class DataRefreshService {
         List<ForexPair> forexPairs = listings.stream().filter(f -> f instanceof ForexPair).map(f -> (ForexPair) f).toList();
 
         refreshInParallel(stocks, this::refreshStock);
-        refreshInParallel(forexPairs, this::refreshForex);
+        refreshForexRates(forexPairs);
+        refreshInParallel(forexPairs, this::refreshForexHistory);
+        listingCacheService.invalidate();
+        listingSearchService.rebuild();
         refreshOptions(stocks);
 
         log.info("---- Finished scheduled listing refresh ----");
@@ -72,45 +94,40 @@ public class DataRefreshService {
                 stock.setVolume(dto.getVolume());
                 stock.setChange(dto.getChange());
                 listingRepository.save(stock);
+                publicStockService.updatePrice(stock);
+                marginMonitorService.onPriceTick(stock.getId(), stock.getPrice());
             }
 
             TimeSeriesDto series = listingService.getPriceHistoryFromAlphaVantage(stock.getTicker(), "5min", "compact");
             Set<LocalDateTime> existing = priceHistoryRepository.findDatesByListingId(stock.getId());
             List<ListingPriceHistory> history = createNewHistory(stock, series, existing);
-            saveInBatches(history, 100, priceHistoryRepository::saveAllAndFlush);
+            bulkWriteService.writePriceHistory(history);
+            indicatorService.onBars(stock.getId(), IndicatorService.DEFAULT_INTERVAL, history);
 
         } catch (Exception e) {
             log.error("Failed to refresh stock {}", stock.getTicker(), e);
         }
     }
 
-    private void refreshForex(ForexPair forex) {
+    // jedan poziv za vektor kurseva umesto poziva po paru, promenjeni parovi se upisuju zajedno
+    private void refreshForexRates(List<ForexPair> forexPairs) {
+        forexRateService.refresh();
+        int updated = forexRateService.updateForexPairs(forexPairs);
+        log.info("Updated {} forex pairs from rate matrix.", updated);
+    }
+
+    private void refreshForexHistory(ForexPair forex) {
         try {
             if (forex.getTicker() == null || !forex.getTicker().contains("/")) {
                 log.warn("Skipping invalid forex ticker: {}", forex.getTicker());
                 return;
             }
 
-            String[] parts = forex.getTicker().split("/");
-            System.out.println(Arrays.toString(parts));
-            if (parts.length != 2) {
-                log.warn("Skipping malformed forex ticker: {}", forex.getTicker());
-                return;
-            }
-
-            ForexPairDto dto = forexService.getForexPair(parts[0], parts[1]);
-            if (dto != null && !dto.getPrice().equals(forex.getPrice())) {
-                forex.setPrice(dto.getPrice());
-                forex.setLiquidity(dto.getLiquidity());
-                forex.setExchangeRate(dto.getExchangeRate());
-                forex.setLastRefresh(dto.getLastRefresh());
-                listingRepository.save(forex);
-            }
-
             TimeSeriesDto series = listingService.getForexPriceHistory(forex.getId(), "5min");
             Set<LocalDateTime> existing = priceHistoryRepository.findDatesByListingId(forex.getId());
             List<ListingPriceHistory> history = createNewHistory(forex, series, existing);
-            saveInBatches(history, 100, priceHistoryRepository::saveAllAndFlush);
+            bulkWriteService.writePriceHistory(history);
+            indicatorService.onBars(forex.getId(), IndicatorService.DEFAULT_INTERVAL, history);
 
         } catch (Exception e) {
             log.error("Failed to refresh forex {}", forex.getTicker(), e);
@@ -189,6 +206,9 @@ public class DataRefreshService {
         } catch (Exception e) {
             log.error("Failed refreshing options", e);
         }
+
+        // i posle delimicnog neuspeha, jer su brisanja mozda vec prosla
+        optionChainService.rebuild();
     }
 
 
@@ -0,0 +1,168 @@
+package rs.raf.stock_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import rs.raf.stock_service.domain.entity.ForexPair;
+import rs.raf.stock_service.repository.ListingRepository;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/*
+        Matrica kurseva za sve valute iz jednog poziva getLatestRates(base). Za vektor r (1 base = r[c] jedinica c)
+        srednji kurs a -> b je r[b] / r[a], a bid/ask se dobijaju simetricnim spread-om oko njega. Matrice su
+        guste (double[n][n]) i menjaju se atomski, pa je konverzija jedan pogled u niz.
+     */
+@Slf4j
+@Service
+public class ForexRateService {
+
+    private static final MathContext PRECISION = new MathContext(8);
+
+    private final ForexService forexService;
+    private final ListingRepository listingRepository;
+    private final MarginMonitorService marginMonitorService;
+    private final String baseCurrency;
+    private final double halfSpread;
+
+    private volatile RateMatrix matrix;
+
+    public ForexRateService(ForexService forexService,
+                            ListingRepository listingRepository,
+                            MarginMonitorService marginMonitorService,
+                            @Value("${forex.matrix.base:USD}") String baseCurrency,
+                            @Value("${forex.matrix.spread.bps:2}") double spreadBps) {
+        this.forexService = forexService;
+        this.listingRepository = listingRepository;
+        this.marginMonitorService = marginMonitorService;
+        this.baseCurrency = baseCurrency;
+        this.halfSpread = spreadBps / 2 / 10_000;
+    }
+
+    /**
+     * Preuzima vektor kurseva za baznu valutu i pravi novu matricu. Ako poziv ne uspe, ostaje prethodna.
+     */
+    public void refresh() {
+        try {
+            Map<String, BigDecimal> rates = forexService.getLatestRates(baseCurrency);
+            if (rates.isEmpty()) {
+                log.warn("No rates returned for base {}, keeping previous matrix.", baseCurrency);
+                return;
+            }
+            matrix = new RateMatrix(rates, halfSpread);
+            log.info("Forex matrix rebuilt for {} currencies.", matrix.currencies.length);
+        } catch (Exception e) {
+            log.error("Forex matrix refresh failed, keeping previous matrix", e);
+        }
+    }
+
+    /**
+     * Azurira cene forex parova iz matrice i upisuje promenjene jednim saveAll-om. Vraca broj promenjenih parova.
+     */
+    public int updateForexPairs(List<ForexPair> forexPairs) {
+        RateMatrix current = matrix;
+        if (current == null) return 0;
+
+        List<ForexPair> changed = new ArrayList<>();
+        for (ForexPair forex : forexPairs) {
+            String[] currencies = currenciesOf(forex);
+            if (currencies == null) continue;
+
+            int from = current.indexOf(currencies[0]);
+            int to = current.indexOf(currencies[1]);
+            if (from < 0 || to < 0) continue;
+
+            BigDecimal bid = toDecimal(current.bid[from][to]);
+            if (forex.getPrice() != null && bid.compareTo(forex.getPrice()) == 0) continue;
+
+            BigDecimal mid = toDecimal(current.mid[from][to]);
+            BigDecimal contractSize = BigDecimal.valueOf(forex.getContractSize());
+            forex.setPrice(bid);
+            forex.setAsk(toDecimal(current.ask[from][to]));
+            forex.setExchangeRate(mid);
+            forex.setNominalValue(contractSize.multiply(mid));
+            forex.setMaintenanceMargin(contractSize.multiply(mid).multiply(BigDecimal.valueOf(0.10)));
+            forex.setLiquidity("Medium");
+            forex.setLastRefresh(current.createdAt);
+            changed.add(forex);
+        }
+
+        if (!changed.isEmpty()) {
+            listingRepository.saveAll(changed);
+            changed.forEach(forex -> marginMonitorService.onPriceTick(forex.getId(), forex.getPrice()));
+        }
+        return changed.size();
+    }
+
+    /**
+     * Srednji kurs iz matrice. Za valute kojih nema u matrici (ili pre prvog osvezavanja) pita se API.
+     */
+    public BigDecimal getConversionRate(String base, String target) {
+        RateMatrix current = matrix;
+        if (current != null) {
+            int from = current.indexOf(base.toUpperCase());
+            int to = current.indexOf(target.toUpperCase());
+            if (from >= 0 && to >= 0) return toDecimal(current.mid[from][to]);
+        }
+        return forexService.getConversionRate(base, target);
+    }
+
+    private String[] currenciesOf(ForexPair forex) {
+        if (forex.getBaseCurrency() != null && forex.getQuoteCurrency() != null)
+            return new String[]{forex.getBaseCurrency(), forex.getQuoteCurrency()};
+
+        if (forex.getTicker() == null) return null;
+        String[] parts = forex.getTicker().split("/");
+        return parts.length == 2 ? parts : null;
+    }
+
+    private BigDecimal toDecimal(double value) {
+        return new BigDecimal(value).round(PRECISION);
+    }
+
+    private static class RateMatrix {
+        private final String[] currencies;
+        private final Map<String, Integer> index;
+        private final double[][] mid;
+        private final double[][] bid;
+        private final double[][] ask;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        RateMatrix(Map<String, BigDecimal> rates, double halfSpread) {
+            List<String> valid = new ArrayList<>();
+            for (Map.Entry<String, BigDecimal> entry : rates.entrySet())
+                if (entry.getValue() != null && entry.getValue().signum() > 0) valid.add(entry.getKey());
+            Collections.sort(valid);
+
+            int n = valid.size();
+            this.currencies = valid.toArray(new String[0]);
+            this.index = new HashMap<>(n * 2);
+            double[] vector = new double[n];
+            for (int i = 0; i < n; i++) {
+                index.put(currencies[i], i);
+                vector[i] = rates.get(currencies[i]).doubleValue();
+            }
+
+            this.mid = new double[n][n];
+            this.bid = new double[n][n];
+            this.ask = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                double inverse = 1.0 / vector[i];
+                for (int j = 0; j < n; j++) {
+                    double rate = vector[j] * inverse;
+                    mid[i][j] = rate;
+                    bid[i][j] = i == j ? rate : rate * (1 - halfSpread);
+                    ask[i][j] = i == j ? rate : rate * (1 + halfSpread);
+                }
+            }
+        }
+
+        int indexOf(String currency) {
+            Integer i = index.get(currency);
+            return i != null ? i : -1;
+        }
+    }
+}
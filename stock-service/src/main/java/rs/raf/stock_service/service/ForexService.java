@@ -4,18 +4,15 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rs.raf.stock_service.client.AlphavantageClient;
 import rs.raf.stock_service.client.ExchangeRateApiClient;
-import rs.raf.stock_service.client.TwelveDataClient;
 import rs.raf.stock_service.domain.dto.ForexPairDto;
 import rs.raf.stock_service.domain.entity.ForexPair;
 import rs.raf.stock_service.exceptions.ExchangeRateConversionException;
 import rs.raf.stock_service.exceptions.ForexPairNotFoundException;
-import rs.raf.stock_service.exceptions.ForexPairsNotFoundException;
 import rs.raf.stock_service.exceptions.LatestRatesNotFoundException;
 
 import java.math.BigDecimal;
@@ -29,7 +26,7 @@ public class ForexService {
 
     private final AlphavantageClient alphavantageClient;
     private final ExchangeRateApiClient exchangeRateApiClient;
-    private final TwelveDataClient twelveDataClient;
+    private final SymbolUniverseService symbolUniverseService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Transactional
@@ -111,44 +108,15 @@ public class ForexService {
         }
     }
 
-    private List<ForexPairDto> getForexPairsList() {
-        try {
-            String response = twelveDataClient.getAllForexPairs("");
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode data = root.path("data");
-            List<ForexPair> forexPairs = new ArrayList<>();
-            if (data.isArray()) {
-                for (JsonNode node : data) {
-                    ForexPair forex = new ForexPair();
-                    String symbol = node.path("symbol").asText();
-                    if (symbol.contains("/")) {
-                        String[] parts = symbol.split("/");
-                        forex.setBaseCurrency(parts[0]);
-                        forex.setQuoteCurrency(parts[1]);
-                    } else {
-                        forex.setBaseCurrency("");
-                        forex.setQuoteCurrency("");
-                        forex.setName(symbol);
-                    }
-                    forexPairs.add(forex);
-                }
-            }
-            List<ForexPairDto> dtos = new ArrayList<>();
-            for (ForexPair fp : forexPairs) {
-                dtos.add(mapToDto(fp));
-            }
-            return dtos;
-        } catch (Exception e) {
-            throw new ForexPairsNotFoundException("Error retrieving forex pairs list: " + e.getMessage());
-        }
+    public Page<ForexPairDto> getForexPairsList(Pageable pageable) {
+        return getForexPairsList(null, pageable);
     }
 
-    public Page<ForexPairDto> getForexPairsList(Pageable pageable) {
-        List<ForexPairDto> dtos = getForexPairsList();
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), dtos.size());
-        List<ForexPairDto> pagedList = dtos.subList(start, end);
-        return new PageImpl<>(pagedList, pageable, dtos.size());
+    /**
+     * Stranica iz kesiranog spiska forex parova; prefix filtrira po simbolu (npr. "EUR/").
+     */
+    public Page<ForexPairDto> getForexPairsList(String prefix, Pageable pageable) {
+        return symbolUniverseService.getForexPairs(prefix, pageable);
     }
 
     private ForexPairDto mapToDto(ForexPair forex) {
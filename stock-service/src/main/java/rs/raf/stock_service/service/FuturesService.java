@@ -1,43 +1,85 @@
 package rs.raf.stock_service.service;
 
-import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import rs.raf.stock_service.domain.dto.FuturesContractDto;
 import rs.raf.stock_service.domain.entity.FuturesContract;
+import rs.raf.stock_service.exceptions.FuturesContractNotFoundException;
 import rs.raf.stock_service.repository.FuturesRepository;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
+/*
+        Katalog futures ugovora se ucitava iz future_data.csv jednom pri startu u nepromenljivu mapu po tickeru,
+        sa vec izracunatim cenama. Posle bootstrap-a se poravnava sa ugovorima iz baze (reload), tako da oba
+        endpoint-a vracaju iste podatke koje koriste orderi. Promena cene ugovora (updateListing) menja samo
+        njegov unos u katalogu; DTO-ovi su nepromenljivi, pa se iste instance bezbedno dele.
+     */
+@Slf4j
 @Service
-@AllArgsConstructor
 public class FuturesService {
 
     private final FuturesRepository futuresRepository;
+    private volatile Catalogue catalogue;
 
-    public FuturesContractDto getFuturesContractByTicker(String ticker) {
-        FuturesContract fc = futuresRepository.findByTicker(ticker.toUpperCase())
-                .orElseThrow(() -> new RuntimeException("Futures contract not found for ticker: " + ticker));
-
-        FuturesContractDto dto = new FuturesContractDto();
-        dto.setTicker(fc.getTicker());
-        dto.setContractSize(fc.getContractSize());
-        dto.setContractUnit(fc.getContractUnit());
-        dto.setMaintenanceMargin(fc.getMaintenanceMargin());
-        dto.setSettlementDate(fc.getSettlementDate());
-        dto.setPrice(fc.getPrice());
+    public FuturesService(FuturesRepository futuresRepository) {
+        this.futuresRepository = futuresRepository;
+        this.catalogue = new Catalogue(readCsv());
+    }
 
+    public FuturesContractDto getFuturesContractByTicker(String ticker) {
+        FuturesContractDto dto = catalogue.byTicker.get(ticker.toUpperCase());
+        if (dto == null)
+            throw new FuturesContractNotFoundException("Futures contract not found for ticker: " + ticker);
         return dto;
     }
 
-    @Transactional
     public List<FuturesContractDto> getFuturesContracts() {
+        return catalogue.contracts;
+    }
+
+    /**
+     * Zamenjuje katalog ugovorima iz baze. Poziva se iz bootstrap-a kad su futures upisani ili vraceni iz snapshot-a.
+     */
+    public synchronized void reload() {
+        List<FuturesContractDto> dtos = new ArrayList<>();
+        for (FuturesContract fc : futuresRepository.findAll())
+            dtos.add(toDto(fc));
+
+        if (dtos.isEmpty()) return;
+        catalogue = new Catalogue(dtos);
+        log.info("Futures catalogue reloaded with {} contracts.", dtos.size());
+    }
+
+    /**
+     * Zamenjuje unos jednog ugovora u katalogu, npr. kad supervizor promeni cenu kroz updateListing.
+     */
+    public synchronized void update(FuturesContract contract) {
+        List<FuturesContractDto> dtos = new ArrayList<>(catalogue.contracts);
+        FuturesContractDto updated = toDto(contract);
+        dtos.replaceAll(dto -> dto.getTicker().equals(updated.getTicker()) ? updated : dto);
+        if (!catalogue.byTicker.containsKey(updated.getTicker())) dtos.add(updated);
+        catalogue = new Catalogue(dtos);
+    }
+
+    private FuturesContractDto toDto(FuturesContract fc) {
+        return FuturesContractDto.builder()
+                .ticker(fc.getTicker())
+                .contractSize(fc.getContractSize())
+                .contractUnit(fc.getContractUnit())
+                .maintenanceMargin(fc.getMaintenanceMargin())
+                .settlementDate(fc.getSettlementDate())
+                .price(fc.getPrice())
+                .build();
+    }
+
+    private List<FuturesContractDto> readCsv() {
         List<FuturesContractDto> dtos = new ArrayList<>();
         try (InputStream is = getClass().getResourceAsStream("/future_data.csv");
              BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
@@ -55,25 +97,38 @@ public class FuturesService {
 
                 // margin / (contractSize * 0.10)
                 BigDecimal price = maintenanceMargin
-                        .divide(new BigDecimal(contractSize), 10, BigDecimal.ROUND_HALF_UP)
-                        .divide(new BigDecimal("0.10"), 2, BigDecimal.ROUND_HALF_UP);
+                        .divide(new BigDecimal(contractSize), 10, RoundingMode.HALF_UP)
+                        .divide(new BigDecimal("0.10"), 2, RoundingMode.HALF_UP);
 
                 // Generate random future settlement date (30 to 210 days from now)
                 LocalDate settlementDate = LocalDate.now().plusDays((int) (Math.random() * 180) + 30);
 
-                FuturesContractDto dto = new FuturesContractDto();
-                dto.setTicker(contractName.toUpperCase().replaceAll("\\s+", "_"));
-                dto.setContractSize(contractSize);
-                dto.setContractUnit(contractUnit);
-                dto.setMaintenanceMargin(maintenanceMargin);
-                dto.setPrice(price);
-                dto.setSettlementDate(settlementDate);
-
-                dtos.add(dto);
+                dtos.add(FuturesContractDto.builder()
+                        .ticker(contractName.toUpperCase().replaceAll("\\s+", "_"))
+                        .contractSize(contractSize)
+                        .contractUnit(contractUnit)
+                        .maintenanceMargin(maintenanceMargin)
+                        .price(price)
+                        .settlementDate(settlementDate)
+                        .build());
             }
         } catch (Exception e) {
             throw new RuntimeException("Error reading futures CSV file: " + e.getMessage(), e);
         }
         return dtos;
     }
+
+    private static class Catalogue {
+        private final List<FuturesContractDto> contracts;
+        private final Map<String, FuturesContractDto> byTicker;
+
+        Catalogue(List<FuturesContractDto> dtos) {
+            Map<String, FuturesContractDto> map = new LinkedHashMap<>();
+            for (FuturesContractDto dto : dtos)
+                map.putIfAbsent(dto.getTicker(), dto);
+
+            this.contracts = List.copyOf(map.values());
+            this.byTicker = Collections.unmodifiableMap(map);
+        }
+    }
 }
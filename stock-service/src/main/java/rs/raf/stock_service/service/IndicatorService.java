@@ -0,0 +1,230 @@
+package rs.raf.stock_service.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import rs.raf.stock_service.domain.dto.ListingIndicatorsDto;
+import rs.raf.stock_service.domain.entity.ListingPriceHistory;
+import rs.raf.stock_service.exceptions.ListingNotFoundException;
+import rs.raf.stock_service.exceptions.UnsupportedIntervalException;
+import rs.raf.stock_service.repository.ListingPriceHistoryRepository;
+import rs.raf.stock_service.repository.ListingRepository;
+import rs.raf.stock_service.utils.DoubleRingBuffer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+        Tehnicki indikatori (SMA, EMA, RSI, MACD, Bollinger, VWAP) po listingu i intervalu. Stanje se drzi
+        u memoriji i azurira inkrementalno kad DataRefreshService upise nove barove: svaki bar je O(1)
+        po indikatoru, bez ponovnog citanja istorije. Pri prvom pristupu stanje se zagreva poslednjim
+        barovima iz baze. Prihvataju se samo intervali koje cuvamo u listing_price_history, pa javni
+        endpoint ne moze da puni mapu stanja proizvoljnim kljucevima.
+     */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class IndicatorService {
+
+    public static final String DEFAULT_INTERVAL = "5min";
+    // DataRefreshService upisuje samo 5-minutne barove
+    public static final Set<String> SUPPORTED_INTERVALS = Set.of(DEFAULT_INTERVAL);
+
+    private static final int SMA_PERIOD = 20;
+    private static final int EMA_PERIOD = 20;
+    private static final int RSI_PERIOD = 14;
+    private static final int MACD_FAST = 12;
+    private static final int MACD_SLOW = 26;
+    private static final int MACD_SIGNAL = 9;
+    private static final double BOLLINGER_WIDTH = 2.0;
+
+    private final ListingRepository listingRepository;
+    private final ListingPriceHistoryRepository priceHistoryRepository;
+
+    private final Map<String, IndicatorState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Primenjuje nove barove na stanje listinga. Barovi koji nisu noviji od poslednjeg vidjenog se preskacu.
+     */
+    public void onBars(Long listingId, String interval, List<ListingPriceHistory> bars) {
+        if (bars.isEmpty()) return;
+        if (!SUPPORTED_INTERVALS.contains(interval))
+            throw new UnsupportedIntervalException(interval);
+
+        List<ListingPriceHistory> sorted = new ArrayList<>(bars);
+        sorted.sort(Comparator.comparing(ListingPriceHistory::getDate));
+
+        IndicatorState state = getState(listingId, interval);
+        for (ListingPriceHistory bar : sorted)
+            state.add(bar.getDate(), toDouble(bar.getHigh()), toDouble(bar.getLow()), toDouble(bar.getClose()),
+                    bar.getVolume() != null ? bar.getVolume() : 0);
+    }
+
+    public ListingIndicatorsDto getIndicators(Long listingId, String interval) {
+        String resolved = interval == null || interval.isBlank() ? DEFAULT_INTERVAL : interval;
+        if (!SUPPORTED_INTERVALS.contains(resolved))
+            throw new UnsupportedIntervalException(resolved);
+
+        if (!listingRepository.existsById(listingId))
+            throw new ListingNotFoundException(listingId);
+
+        return getState(listingId, resolved).toDto(listingId, resolved);
+    }
+
+    private IndicatorState getState(Long listingId, String interval) {
+        String key = listingId + ":" + interval;
+        IndicatorState state = states.get(key);
+        if (state != null) return state;
+
+        // zagrevanje ide van mape da citanje iz baze ne bi blokiralo ostale kljuceve;
+        // svi podrzani intervali su barovi iz listing_price_history
+        IndicatorState loaded = new IndicatorState();
+        List<ListingPriceHistory> history = new ArrayList<>(priceHistoryRepository.findTop200ByListingIdOrderByDateDesc(listingId));
+        history.sort(Comparator.comparing(ListingPriceHistory::getDate));
+        for (ListingPriceHistory bar : history)
+            loaded.add(bar.getDate(), toDouble(bar.getHigh()), toDouble(bar.getLow()), toDouble(bar.getClose()),
+                    bar.getVolume() != null ? bar.getVolume() : 0);
+
+        state = states.putIfAbsent(key, loaded);
+        return state != null ? state : loaded;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    private static class IndicatorState {
+        private final DoubleRingBuffer window = new DoubleRingBuffer(SMA_PERIOD);
+        private double windowSum;
+        private double windowSumSquares;
+
+        private final Ema ema = new Ema(EMA_PERIOD);
+        private final Ema fast = new Ema(MACD_FAST);
+        private final Ema slow = new Ema(MACD_SLOW);
+        private final Ema signal = new Ema(MACD_SIGNAL);
+
+        private double previousClose = Double.NaN;
+        private double averageGain;
+        private double averageLoss;
+        private int rsiSamples;
+
+        private LocalDate vwapSession;
+        private double vwapPriceVolume;
+        private double vwapVolume;
+
+        private LocalDateTime lastBar;
+        private long bars;
+
+        synchronized void add(LocalDateTime time, double high, double low, double close, long volume) {
+            if (Double.isNaN(close) || (lastBar != null && !time.isAfter(lastBar))) return;
+
+            double evicted = window.add(close);
+            windowSum += close;
+            windowSumSquares += close * close;
+            if (!Double.isNaN(evicted)) {
+                windowSum -= evicted;
+                windowSumSquares -= evicted * evicted;
+            }
+
+            ema.add(close);
+            fast.add(close);
+            slow.add(close);
+            if (slow.isReady())
+                signal.add(fast.value - slow.value);
+
+            // Wilder-ovo izravnavanje: prvih RSI_PERIOD promena je prosta sredina
+            if (!Double.isNaN(previousClose)) {
+                double delta = close - previousClose;
+                double gain = Math.max(delta, 0);
+                double loss = Math.max(-delta, 0);
+                rsiSamples++;
+                if (rsiSamples <= RSI_PERIOD) {
+                    averageGain += (gain - averageGain) / rsiSamples;
+                    averageLoss += (loss - averageLoss) / rsiSamples;
+                } else {
+                    averageGain = (averageGain * (RSI_PERIOD - 1) + gain) / RSI_PERIOD;
+                    averageLoss = (averageLoss * (RSI_PERIOD - 1) + loss) / RSI_PERIOD;
+                }
+            }
+            previousClose = close;
+
+            // VWAP se racuna od pocetka dana
+            LocalDate session = time.toLocalDate();
+            if (!session.equals(vwapSession)) {
+                vwapSession = session;
+                vwapPriceVolume = 0;
+                vwapVolume = 0;
+            }
+            double typical = Double.isNaN(high) || Double.isNaN(low) ? close : (high + low + close) / 3;
+            vwapPriceVolume += typical * volume;
+            vwapVolume += volume;
+
+            lastBar = time;
+            bars++;
+        }
+
+        synchronized ListingIndicatorsDto toDto(Long listingId, String interval) {
+            ListingIndicatorsDto dto = ListingIndicatorsDto.builder()
+                    .listingId(listingId)
+                    .interval(interval)
+                    .lastBar(lastBar)
+                    .bars(bars)
+                    .build();
+
+            if (window.isFull()) {
+                double mean = windowSum / SMA_PERIOD;
+                double deviation = Math.sqrt(Math.max(0, windowSumSquares / SMA_PERIOD - mean * mean));
+                dto.setSma(mean);
+                dto.setBollingerMiddle(mean);
+                dto.setBollingerUpper(mean + BOLLINGER_WIDTH * deviation);
+                dto.setBollingerLower(mean - BOLLINGER_WIDTH * deviation);
+            }
+            if (ema.isReady())
+                dto.setEma(ema.value);
+            if (rsiSamples >= RSI_PERIOD)
+                dto.setRsi(averageLoss == 0 ? 100.0 : 100 - 100 / (1 + averageGain / averageLoss));
+            if (signal.isReady()) {
+                double macd = fast.value - slow.value;
+                dto.setMacd(macd);
+                dto.setMacdSignal(signal.value);
+                dto.setMacdHistogram(macd - signal.value);
+            }
+            if (vwapVolume > 0)
+                dto.setVwap(vwapPriceVolume / vwapVolume);
+
+            return dto;
+        }
+    }
+
+    // EMA koja se inicijalizuje prostom sredinom prvih period vrednosti
+    private static class Ema {
+        private final int period;
+        private final double alpha;
+        private double value;
+        private int samples;
+
+        Ema(int period) {
+            this.period = period;
+            this.alpha = 2.0 / (period + 1);
+        }
+
+        void add(double x) {
+            samples++;
+            if (samples <= period)
+                value += (x - value) / samples;
+            else
+                value += alpha * (x - value);
+        }
+
+        boolean isReady() {
+            return samples >= period;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package rs.raf.stock_service.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rs.raf.stock_service.domain.dto.ListingDto;
+import rs.raf.stock_service.domain.dto.ListingFilterDto;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+        LRU kes rezultata GET /api/listings po normalizovanom filteru i roli. Svaki unos pamti verziju
+        podataka u trenutku ucitavanja; promena cena (refresh ili updateListing) samo povecava verziju,
+        pa se stari unosi ne brisu nego se ponovo ucitavaju pri sledecem zahtevu.
+     */
+@Service
+public class ListingCacheService {
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, Entry> entries;
+
+    public ListingCacheService(@Value("${listing.cache.max.entries:256}") int maxEntries) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public List<ListingDto> get(ListingFilterDto filter, String role, Supplier<List<ListingDto>> loader) {
+        String key = keyOf(filter, role);
+        // verzija se cita pre upita, da rezultat ucitan tokom refresh-a ne ostane kao svez
+        long current = version.get();
+
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version == current) return entry.listings;
+
+        List<ListingDto> listings = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+        entries.put(key, new Entry(current, listings));
+        return listings;
+    }
+
+    /**
+     * Unutar transakcije se verzija povecava tek posle commit-a. Inace bi zahtev izmedju invalidacije
+     * i commit-a procitao stare cene i sacuvao ih pod novom verzijom.
+     */
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private String keyOf(ListingFilterDto filter, String role) {
+        StringJoiner key = new StringJoiner("|");
+        key.add(role == null ? "" : role.toUpperCase());
+        key.add(text(filter.getType(), true));
+        key.add(text(filter.getSearch(), true));
+        key.add(text(filter.getExchangePrefix(), true));
+        key.add(number(filter.getMinPrice()));
+        key.add(number(filter.getMaxPrice()));
+        key.add(number(filter.getMinAsk()));
+        key.add(number(filter.getMaxAsk()));
+        key.add(number(filter.getMinBid()));
+        key.add(number(filter.getMaxBid()));
+        key.add(Objects.toString(filter.getMinVolume(), ""));
+        key.add(Objects.toString(filter.getMaxVolume(), ""));
+        key.add(number(filter.getMinMaintenanceMargin()));
+        key.add(number(filter.getMaxMaintenanceMargin()));
+        key.add(Objects.toString(filter.getSettlementDate(), ""));
+        // sortBy ide u root.get(...), pa se ne spusta u mala slova
+        key.add(text(filter.getSortBy(), false));
+        key.add(filter.getSortBy() == null || filter.getSortBy().isEmpty() ? ""
+                : "desc".equalsIgnoreCase(filter.getSortOrder()) ? "desc" : "asc");
+        return key.toString();
+    }
+
+    private String text(String value, boolean caseInsensitive) {
+        if (value == null) return "";
+        return caseInsensitive ? value.toLowerCase() : value;
+    }
+
+    private String number(BigDecimal value) {
+        return value == null ? "" : value.stripTrailingZeros().toPlainString();
+    }
+
+    private static class Entry {
+        private final long version;
+        private final List<ListingDto> listings;
+
+        Entry(long version, List<ListingDto> listings) {
+            this.version = version;
+            this.listings = listings;
+        }
+    }
+}
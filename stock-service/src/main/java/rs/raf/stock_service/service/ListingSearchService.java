@@ -0,0 +1,72 @@
+package rs.raf.stock_service.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import rs.raf.stock_service.domain.dto.ListingSearchResultDto;
+import rs.raf.stock_service.domain.enums.ListingType;
+import rs.raf.stock_service.repository.ListingRepository;
+import rs.raf.stock_service.utils.ListingSearchIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/*
+        Pretraga listinga po tickeru i imenu iz memorije (ListingSearchIndex), bez LIKE %term% upita.
+        Indeks se pravi posle bootstrap-a i posle svakog refresh-a; opcije se ne indeksiraju jer ih
+        listing pretraga ionako iskljucuje.
+     */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class ListingSearchService {
+
+    private static final int MIN_CANDIDATE_QUERY_LENGTH = 3;
+
+    private final ListingRepository listingRepository;
+
+    private final AtomicReference<ListingSearchIndex> index = new AtomicReference<>(ListingSearchIndex.of(List.of()));
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ListingSearchIndex built = ListingSearchIndex.of(listingRepository.findSearchRowsExcludingType(ListingType.OPTION));
+        index.set(built);
+        log.info("Listing search index rebuilt with {} listings in {} ms.", built.size(), System.currentTimeMillis() - start);
+    }
+
+    public List<ListingSearchResultDto> autocomplete(String query, int limit, String role) {
+        ListingSearchIndex current = index.get();
+        List<ListingSearchResultDto> results = new ArrayList<>();
+        for (int i : current.search(query, limit, allowedFor(role)))
+            results.add(new ListingSearchResultDto(current.id(i), current.ticker(i), current.name(i), current.type(i)));
+        return results;
+    }
+
+    /**
+     * Rangirani id-jevi svih listinga koje bi vratio LIKE %query% po tickeru i imenu. Lista nema limit,
+     * jer ostali filteri (berza, cena...) tek slede u specifikaciji. Null znaci da indeks ne moze da
+     * odgovori (prekratak upit ili indeks jos nije napravljen), pa specifikacija koristi LIKE.
+     */
+    public List<Long> candidates(String query, String role) {
+        ListingSearchIndex current = index.get();
+        if (query == null || query.trim().length() < MIN_CANDIDATE_QUERY_LENGTH || current.size() == 0)
+            return null;
+
+        List<Long> ids = new ArrayList<>();
+        for (int i : current.containing(query, allowedFor(role)))
+            ids.add(current.id(i));
+        return ids;
+    }
+
+    // isto ogranicenje kao u ListingSpecification
+    private Predicate<ListingType> allowedFor(String role) {
+        if ("CLIENT".equalsIgnoreCase(role))
+            return type -> type == ListingType.STOCK || type == ListingType.FUTURES;
+        return type -> true;
+    }
+}
@@ -15,17 +15,13 @@ import rs.raf.stock_service.exceptions.ListingNotFoundException;
 import rs.raf.stock_service.exceptions.UnauthorizedException;
 import rs.raf.stock_service.repository.ListingPriceHistoryRepository;
 import rs.raf.stock_service.repository.ListingRepository;
-import rs.raf.stock_service.repository.OptionRepository;
 import rs.raf.stock_service.specification.ListingSpecification;
 import rs.raf.stock_service.utils.JwtTokenUtil;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -48,13 +44,41 @@ public class ListingService {
     private JwtTokenUtil jwtTokenUtil;
 
     @Autowired
-    private OptionRepository optionRepository;
+    private OptionChainService optionChainService;
+
+    @Autowired
+    private PublicStockService publicStockService;
+
+    @Autowired
+    private MarginMonitorService marginMonitorService;
+
+    @Autowired
+    private ListingCacheService listingCacheService;
+
+    @Autowired
+    private ListingSearchService listingSearchService;
+
+    @Autowired
+    private FuturesService futuresService;
 
     public List<ListingDto> getListings(ListingFilterDto filter, String role) {
-        var spec = ListingSpecification.buildSpecification(filter, role);
-        return listingRepository.findAll(spec).stream()
-                .map(listing -> listingMapper.toDto(listing, dailyPriceInfoRepository.findTopByListingOrderByDateDesc(listing)))
-                .collect(Collectors.toList());
+        return listingCacheService.get(filter, role, () -> {
+            List<Long> searchIds = filter.getSearch() != null && !filter.getSearch().isEmpty()
+                    ? listingSearchService.candidates(filter.getSearch(), role)
+                    : null;
+            var spec = ListingSpecification.buildSpecification(filter, role, searchIds);
+            List<ListingDto> listings = listingRepository.findAll(spec).stream()
+                    .map(listing -> listingMapper.toDto(listing, dailyPriceInfoRepository.findTopByListingOrderByDateDesc(listing)))
+                    .collect(Collectors.toList());
+
+            // bez eksplicitnog sortiranja zadrzava se rang iz pretrage
+            if (searchIds != null && (filter.getSortBy() == null || filter.getSortBy().isEmpty())) {
+                Map<Long, Integer> rank = new HashMap<>();
+                for (int i = 0; i < searchIds.size(); i++) rank.put(searchIds.get(i), i);
+                listings.sort(Comparator.comparing(dto -> rank.getOrDefault(dto.getId(), Integer.MAX_VALUE)));
+            }
+            return listings;
+        });
     }
 
     public ListingDetailsDto getListingDetails(Long id) {
@@ -66,13 +90,7 @@ public class ListingService {
         ListingDetailsDto dto = listingMapper.toDetailsDto(listing, priceHistory);
 
         if (listing instanceof Stock) {
-            List<LocalDate> optionDates = optionRepository.findAllByUnderlyingStock((Stock) listing).stream()
-                    .filter(Option::isOnSale)
-                    .map(Option::getSettlementDate)
-                    .distinct()
-                    .sorted()
-                    .collect(Collectors.toList());
-            dto.setOptionSettlementDates(optionDates);
+            dto.setOptionSettlementDates(optionChainService.getSettlementDates(listing.getId()));
         }
 
         return dto;
@@ -92,6 +110,12 @@ public class ListingService {
         if (updateDto.getAsk() != null) listing.setAsk(updateDto.getAsk());
 
         listingRepository.save(listing);
+        listingCacheService.invalidate();
+        if (updateDto.getPrice() != null) {
+            publicStockService.updatePrice(listing);
+            marginMonitorService.onPriceTick(listing.getId(), listing.getPrice());
+            if (listing instanceof FuturesContract futuresContract) futuresService.update(futuresContract);
+        }
 
         return listingMapper.toDto(listing, dailyPriceInfoRepository.findTopByListingOrderByDateDesc(listing));
     }
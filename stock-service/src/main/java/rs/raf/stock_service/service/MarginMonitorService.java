@@ -0,0 +1,282 @@
+package rs.raf.stock_service.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rs.raf.stock_service.client.UserClient;
+import rs.raf.stock_service.configuration.RabbitMQConfig;
+import rs.raf.stock_service.domain.dto.ActuaryDto;
+import rs.raf.stock_service.domain.dto.ClientDto;
+import rs.raf.stock_service.domain.dto.EmailRequestDto;
+import rs.raf.stock_service.domain.dto.MarginStatusDto;
+import rs.raf.stock_service.domain.entity.*;
+import rs.raf.stock_service.repository.PortfolioEntryRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/*
+        Pracenje maintenance margine u memoriji. Prate se samo pozicije oznacene kao kupljene na margin
+        (PortfolioEntry.margin, postavlja se iz naloga), sa pocetnom marginom 1.1 * maintenance margin (isto kao
+        initialMarginCost). maintenanceMargin listinga je po ugovoru, a amount je u jedinicama, pa se MM deli sa
+        contractSize: kapital pozicije je amount * (price - averagePrice + 1.1 * MM / contractSize), a zahtev
+        amount * MM / contractSize.
+        Na promenu cene se preracunavaju samo korisnici koji drze taj listing (indeks listing -> korisnici).
+        Margin call se javlja (log + email preko email-service-a) samo pri prelasku ispod zahteva; email se
+        salje sa async executor-a, pa osvezavanje cena ne ceka user-service ni RabbitMQ.
+        Promene pozicija i cena iz transakcije se primenjuju tek posle commit-a.
+     */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class MarginMonitorService {
+
+    private static final BigDecimal INITIAL_MARGIN_FACTOR = new BigDecimal("1.1");
+
+    private final PortfolioEntryRepository portfolioEntryRepository;
+    private final UserClient userClient;
+    private final RabbitTemplate rabbitTemplate;
+    private final ThreadPoolTaskExecutor taskExecutor;
+
+    private final Map<Long, MarginAccount> accounts = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> holdersByListing = new ConcurrentHashMap<>();
+
+    /**
+     * Puni stanje iz portfolija pri startu. Postojeci deficiti se oznacavaju bez slanja email-a.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        accounts.clear();
+        holdersByListing.clear();
+
+        for (PortfolioEntry entry : portfolioEntryRepository.findAll())
+            applyPosition(entry, false);
+
+        log.info("Margin monitor loaded {} accounts.", accounts.size());
+    }
+
+    public void updatePosition(PortfolioEntry entry) {
+        afterCommit(() -> applyPosition(entry, true));
+    }
+
+    public void removePosition(PortfolioEntry entry) {
+        afterCommit(() -> dropPosition(entry));
+    }
+
+    public void onPriceTick(Long listingId, BigDecimal price) {
+        if (price == null) return;
+        afterCommit(() -> reprice(listingId, price));
+    }
+
+    private void dropPosition(PortfolioEntry entry) {
+        MarginAccount account = accounts.get(entry.getUserId());
+        Long listingId = entry.getListing().getId();
+
+        Set<Long> holders = holdersByListing.get(listingId);
+        if (holders != null) holders.remove(entry.getUserId());
+
+        if (account != null) {
+            account.remove(listingId);
+            evaluate(account, true);
+        }
+    }
+
+    private void reprice(Long listingId, BigDecimal price) {
+        Set<Long> holders = holdersByListing.get(listingId);
+        if (holders == null || holders.isEmpty()) return;
+
+        for (Long userId : holders) {
+            MarginAccount account = accounts.get(userId);
+            if (account != null && account.reprice(listingId, price))
+                evaluate(account, true);
+        }
+    }
+
+    public MarginStatusDto getStatus(Long userId) {
+        MarginAccount account = accounts.get(userId);
+        if (account == null)
+            return new MarginStatusDto(userId, BigDecimal.ZERO, BigDecimal.ZERO, false, null);
+        return account.toDto();
+    }
+
+    public List<MarginStatusDto> getMarginCalls() {
+        return accounts.values().stream()
+                .map(MarginAccount::toDto)
+                .filter(MarginStatusDto::isMarginCall)
+                .collect(Collectors.toList());
+    }
+
+    private void applyPosition(PortfolioEntry entry, boolean notify) {
+        if (entry.getUserId() == null || entry.getListing() == null) return;
+
+        BigDecimal maintenanceMargin = maintenanceMarginPerUnit(entry.getListing());
+        if (!Boolean.TRUE.equals(entry.getMargin()) || maintenanceMargin == null
+                || entry.getAmount() == null || entry.getAmount() <= 0) {
+            dropPosition(entry);
+            return;
+        }
+
+        Long listingId = entry.getListing().getId();
+        MarginAccount account = accounts.computeIfAbsent(entry.getUserId(), MarginAccount::new);
+        holdersByListing.computeIfAbsent(listingId, id -> ConcurrentHashMap.newKeySet()).add(entry.getUserId());
+
+        account.put(listingId, BigDecimal.valueOf(entry.getAmount()),
+                entry.getAveragePrice() != null ? entry.getAveragePrice() : BigDecimal.ZERO,
+                entry.getListing().getPrice() != null ? entry.getListing().getPrice() : BigDecimal.ZERO,
+                maintenanceMargin);
+        evaluate(account, notify);
+    }
+
+    private void evaluate(MarginAccount account, boolean notify) {
+        if (account.refreshMarginCall() && notify)
+            sendMarginCall(account.toDto());
+    }
+
+    private void sendMarginCall(MarginStatusDto status) {
+        BigDecimal deficit = status.getRequirement().subtract(status.getEquity()).setScale(2, RoundingMode.HALF_UP);
+        log.warn("Margin call for user {}: equity {} below requirement {}.", status.getUserId(), status.getEquity(), status.getRequirement());
+
+        taskExecutor.execute(() -> {
+            try {
+                String email = resolveEmail(status.getUserId());
+                if (email == null) {
+                    log.error("No email found for margin call of user {}", status.getUserId());
+                    return;
+                }
+                rabbitTemplate.convertAndSend(RabbitMQConfig.MARGIN_CALL_QUEUE, new EmailRequestDto(deficit.toPlainString(), email));
+            } catch (Exception e) {
+                log.error("Failed to send margin call email to user {}", status.getUserId(), e);
+            }
+        });
+    }
+
+    // portfolio drze i klijenti i agenti; agenti su zaposleni pa ih nema medju klijentima
+    private String resolveEmail(Long userId) {
+        try {
+            ClientDto client = userClient.getClientById(userId);
+            if (client != null && client.getEmail() != null) return client.getEmail();
+        } catch (Exception e) {
+            log.debug("User {} is not a client, looking up employees", userId);
+        }
+        ActuaryDto employee = userClient.getEmployeeById(userId);
+        return employee != null ? employee.getEmail() : null;
+    }
+
+    // van transakcije (startup, testovi) odmah, inace tek kad je promena upisana u bazu
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private BigDecimal maintenanceMarginPerUnit(Listing listing) {
+        if (listing instanceof Stock stock)
+            return perUnit(stock.getMaintenanceMargin(), BigDecimal.valueOf(stock.getContractSize()));
+        if (listing instanceof ForexPair forexPair)
+            return perUnit(forexPair.getMaintenanceMargin(), BigDecimal.valueOf(forexPair.getContractSize()));
+        if (listing instanceof FuturesContract futuresContract)
+            return perUnit(futuresContract.getMaintenanceMargin(),
+                    futuresContract.getContractSize() != null ? BigDecimal.valueOf(futuresContract.getContractSize()) : null);
+        if (listing instanceof Option option)
+            return perUnit(option.getMaintenanceMargin(), option.getContractSize());
+        return null;
+    }
+
+    private BigDecimal perUnit(BigDecimal maintenanceMargin, BigDecimal contractSize) {
+        if (maintenanceMargin == null) return null;
+        if (contractSize == null || contractSize.signum() <= 0) return maintenanceMargin;
+        return maintenanceMargin.divide(contractSize, 10, RoundingMode.HALF_UP);
+    }
+
+    private static class MarginAccount {
+        private final Long userId;
+        private final Map<Long, Position> positions = new HashMap<>();
+        private BigDecimal equity = BigDecimal.ZERO;
+        private BigDecimal requirement = BigDecimal.ZERO;
+        private LocalDateTime marginCallSince;
+
+        MarginAccount(Long userId) {
+            this.userId = userId;
+        }
+
+        synchronized void put(Long listingId, BigDecimal amount, BigDecimal averagePrice, BigDecimal price, BigDecimal maintenanceMargin) {
+            remove(listingId);
+            Position position = new Position(amount, averagePrice, price, maintenanceMargin);
+            positions.put(listingId, position);
+            equity = equity.add(position.equity());
+            requirement = requirement.add(position.requirement());
+        }
+
+        synchronized void remove(Long listingId) {
+            Position position = positions.remove(listingId);
+            if (position == null) return;
+            equity = equity.subtract(position.equity());
+            requirement = requirement.subtract(position.requirement());
+        }
+
+        synchronized boolean reprice(Long listingId, BigDecimal price) {
+            Position position = positions.get(listingId);
+            if (position == null || position.price.compareTo(price) == 0) return false;
+
+            equity = equity.add(position.amount.multiply(price.subtract(position.price)));
+            position.price = price;
+            return true;
+        }
+
+        // vraca true samo kad nalog tek pada ispod zahteva
+        synchronized boolean refreshMarginCall() {
+            boolean deficit = requirement.signum() > 0 && equity.compareTo(requirement) < 0;
+            if (!deficit) {
+                marginCallSince = null;
+                return false;
+            }
+            if (marginCallSince != null) return false;
+
+            marginCallSince = LocalDateTime.now();
+            return true;
+        }
+
+        synchronized MarginStatusDto toDto() {
+            return new MarginStatusDto(userId, equity, requirement, marginCallSince != null, marginCallSince);
+        }
+    }
+
+    private static class Position {
+        private final BigDecimal amount;
+        private final BigDecimal averagePrice;
+        private final BigDecimal maintenanceMargin;
+        private BigDecimal price;
+
+        Position(BigDecimal amount, BigDecimal averagePrice, BigDecimal price, BigDecimal maintenanceMargin) {
+            this.amount = amount;
+            this.averagePrice = averagePrice;
+            this.price = price;
+            this.maintenanceMargin = maintenanceMargin;
+        }
+
+        BigDecimal equity() {
+            return amount.multiply(price.subtract(averagePrice).add(maintenanceMargin.multiply(INITIAL_MARGIN_FACTOR)));
+        }
+
+        BigDecimal requirement() {
+            return amount.multiply(maintenanceMargin);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package rs.raf.stock_service.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rs.raf.stock_service.domain.dto.StockOptionDto;
+import rs.raf.stock_service.domain.entity.Option;
+import rs.raf.stock_service.domain.mapper.StockOptionMapper;
+import rs.raf.stock_service.repository.OptionRepository;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+        Kes lanaca opcija po underlying akciji. Pravi se jednim upitom posle bootstrap-a i posle svakog
+        refreshOptions, a citanja (datumi isteka i strike lestvice za dati datum) ne idu u bazu.
+        Za svaku akciju se drzi sortiran niz datuma isteka i, po datumu, niz opcija sortiran po strike-u pa tipu.
+        DTO-ovi iz kesa su zajednicki za sve zahteve i ne smeju se menjati.
+     */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class OptionChainService {
+
+    private static final Comparator<Option> LADDER_ORDER = Comparator
+            .comparing(Option::getStrikePrice, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Option::getOptionType, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final OptionRepository optionRepository;
+    private final StockOptionMapper stockOptionMapper;
+
+    private final AtomicReference<Map<Long, Chain>> chains = new AtomicReference<>(Map.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        Map<Long, Map<LocalDate, List<Option>>> grouped = new HashMap<>();
+        for (Option option : optionRepository.findAllOnSaleWithUnderlying()) {
+            if (option.getUnderlyingStock() == null || option.getSettlementDate() == null) continue;
+            grouped.computeIfAbsent(option.getUnderlyingStock().getId(), id -> new TreeMap<>())
+                    .computeIfAbsent(option.getSettlementDate(), date -> new ArrayList<>())
+                    .add(option);
+        }
+
+        Map<Long, Chain> built = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((stockId, byDate) -> built.put(stockId, new Chain(byDate)));
+        chains.set(Collections.unmodifiableMap(built));
+
+        log.info("Option chain cache rebuilt for {} underlyings in {} ms.", built.size(), System.currentTimeMillis() - start);
+    }
+
+    public List<LocalDate> getSettlementDates(Long stockId) {
+        Chain chain = chains.get().get(stockId);
+        return chain != null ? chain.expiries : List.of();
+    }
+
+    public List<StockOptionDto> getOptions(Long stockId, LocalDate settlementDate) {
+        Chain chain = chains.get().get(stockId);
+        if (chain == null) return List.of();
+        return chain.ladders.getOrDefault(settlementDate, List.of());
+    }
+
+    private class Chain {
+        private final List<LocalDate> expiries;
+        private final Map<LocalDate, List<StockOptionDto>> ladders;
+
+        Chain(Map<LocalDate, List<Option>> byDate) {
+            Map<LocalDate, List<StockOptionDto>> map = new HashMap<>(byDate.size() * 2);
+            for (Map.Entry<LocalDate, List<Option>> entry : byDate.entrySet()) {
+                List<Option> options = entry.getValue();
+                options.sort(LADDER_ORDER);
+
+                StockOptionDto[] ladder = new StockOptionDto[options.size()];
+                for (int i = 0; i < ladder.length; i++) ladder[i] = stockOptionMapper.toDto(options.get(i));
+                map.put(entry.getKey(), List.of(ladder));
+            }
+
+            // byDate je TreeMap, pa su datumi vec sortirani
+            this.expiries = List.copyOf(byDate.keySet());
+            this.ladders = Collections.unmodifiableMap(map);
+        }
+    }
+}
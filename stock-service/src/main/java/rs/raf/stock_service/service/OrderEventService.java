@@ -0,0 +1,116 @@
+package rs.raf.stock_service.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import rs.raf.stock_service.domain.dto.OrderEventDto;
+import rs.raf.stock_service.domain.entity.Order;
+import rs.raf.stock_service.domain.entity.Transaction;
+import rs.raf.stock_service.domain.enums.OrderEventType;
+import rs.raf.stock_service.domain.mapper.OrderMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/*
+        Event bus za zivotni ciklus ordera. OrderService javlja svaku promenu stanja,
+        a pretplatnici (SSE) dobijaju samo dogadjaje koje njihova rola sme da vidi:
+        supervizori i admini vide sve ordere, agenti i klijenti samo svoje. Slanje radi posebna nit
+        tek posle commit-a, pa spor SSE klijent ne koci izvrsavanje ordera; id dogadjaja je redni broj
+        iz order journala.
+     */
+@Slf4j
+@Service
+public class OrderEventService {
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // jedna nit cuva redosled dogadjaja za svakog pretplatnika
+    private final Executor dispatcher;
+
+    public OrderEventService() {
+        this(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-events");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    public OrderEventService(Executor dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    public SseEmitter subscribe(Long userId, String role) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(userId, role, emitter);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public void publish(Order order, OrderEventType type, Transaction fill, Long sequence) {
+        // stanje ordera se uzima sada, order se menja dalje dok se dogadjaj salje
+        OrderEventDto event = OrderMapper.toEventDto(order, type, fill);
+        afterCommit(() -> dispatcher.execute(() -> send(event, sequence)));
+    }
+
+    private void send(OrderEventDto event, Long sequence) {
+        for (Subscriber subscriber : subscribers) {
+            if (!isVisibleTo(event, subscriber.getUserId(), subscriber.getRole())) continue;
+
+            SseEmitter.SseEventBuilder message = SseEmitter.event().name(event.getType().name()).data(event);
+            if (sequence != null) message.id(sequence.toString());
+            try {
+                subscriber.getEmitter().send(message);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping order event subscriber {}: {}", subscriber.getUserId(), e.getMessage());
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    // van transakcije odmah, inace tek kad je promena upisana u bazu; rollback ne salje nista
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public boolean isVisibleTo(OrderEventDto event, Long userId, String role) {
+        if (role != null && (role.equalsIgnoreCase("SUPERVISOR") || role.equalsIgnoreCase("ADMIN")))
+            return true;
+
+        return userId != null && userId.equals(event.getUserId());
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Subscriber {
+        private final Long userId;
+        private final String role;
+        private final SseEmitter emitter;
+    }
+}
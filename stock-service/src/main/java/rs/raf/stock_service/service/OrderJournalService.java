@@ -0,0 +1,132 @@
+package rs.raf.stock_service.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import rs.raf.stock_service.domain.dto.OrderJournalEntryDto;
+import rs.raf.stock_service.domain.entity.Order;
+import rs.raf.stock_service.domain.entity.OrderJournalEntry;
+import rs.raf.stock_service.domain.entity.Transaction;
+import rs.raf.stock_service.domain.enums.OrderEventType;
+import rs.raf.stock_service.domain.enums.OrderStatus;
+import rs.raf.stock_service.domain.mapper.OrderJournalMapper;
+import rs.raf.stock_service.repository.OrderJournalRepository;
+import rs.raf.stock_service.repository.OrderRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/*
+        Append-only journal promena stanja ordera. Svaki prelaz je jedan mali insert u order_journal,
+        a stanje ordera koji se izvrsavaju drzi se u memoriji i periodicno se upisuje u orders (snapshot)
+        umesto punog save-a posle svakog fill-a. Na startu se stanje otvorenih ordera vraca iz journala.
+     */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class OrderJournalService {
+
+    private final OrderJournalRepository orderJournalRepository;
+    private final OrderRepository orderRepository;
+
+    private final Map<Long, LiveOrderState> liveOrders = new ConcurrentHashMap<>();
+
+    public OrderJournalEntry record(Order order, OrderEventType type) {
+        return record(order, type, null);
+    }
+
+    // vraca upisani zapis; njegov id je redni broj dogadjaja (null ako order jos nije sacuvan)
+    public OrderJournalEntry record(Order order, OrderEventType type, Transaction fill) {
+        if (order.getId() == null) return null;
+
+        OrderJournalEntry entry = orderJournalRepository.save(OrderJournalMapper.toEntry(order, type, fill));
+
+        if (isTerminal(type)) {
+            liveOrders.remove(order.getId());
+            return entry;
+        }
+
+        // samo fill menja stanje koje nije vec sacuvano kroz orderRepository.save
+        boolean dirty = type == OrderEventType.PARTIALLY_FILLED;
+        liveOrders.compute(order.getId(), (id, previous) -> new LiveOrderState(order.getStatus(),
+                order.getRemainingPortions(), order.getLastModification(),
+                dirty || (previous != null && previous.isDirty())));
+        return entry;
+    }
+
+    public List<OrderJournalEntryDto> getJournal(Long orderId) {
+        return orderJournalRepository.findAllByOrderIdOrderByIdAsc(orderId).stream()
+                .map(OrderJournalMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    public LiveOrderState getLiveState(Long orderId) {
+        return liveOrders.get(orderId);
+    }
+
+    @Scheduled(fixedDelayString = "${order.journal.snapshot.interval.ms:10000}")
+    public void snapshot() {
+        int written = 0;
+        for (Map.Entry<Long, LiveOrderState> entry : liveOrders.entrySet()) {
+            LiveOrderState state = entry.getValue();
+            if (!state.isDirty()) continue;
+
+            orderRepository.updateProgress(entry.getKey(), state.getStatus(), state.getRemainingPortions(),
+                    state.getLastModification());
+            // ako je u medjuvremenu stigao novi fill, ostaje dirty za sledeci snapshot
+            liveOrders.replace(entry.getKey(), state, state.clean());
+            written++;
+        }
+
+        if (written > 0)
+            log.debug("Order journal snapshot wrote {} orders.", written);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Order> openOrders = orderRepository.findByIsDoneAndStatus(false, OrderStatus.PROCESSING);
+        if (openOrders.isEmpty()) return;
+
+        Map<Long, List<OrderJournalEntry>> journal = orderJournalRepository.findAllByOrderIdInOrderByIdAsc(
+                        openOrders.stream().map(Order::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(OrderJournalEntry::getOrderId));
+
+        for (Order order : openOrders) {
+            List<OrderJournalEntry> entries = journal.get(order.getId());
+            if (entries == null || entries.isEmpty()) continue;
+
+            OrderJournalEntry last = entries.get(entries.size() - 1);
+            if (isTerminal(last.getType())) continue;
+
+            boolean dirty = !last.getRemainingPortions().equals(order.getRemainingPortions());
+            liveOrders.put(order.getId(), new LiveOrderState(last.getStatus(), last.getRemainingPortions(),
+                    last.getTimestamp(), dirty));
+        }
+
+        log.info("Rebuilt live state for {} orders from the order journal.", liveOrders.size());
+    }
+
+    private boolean isTerminal(OrderEventType type) {
+        return type == OrderEventType.DONE || type == OrderEventType.DECLINED || type == OrderEventType.CANCELLED;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LiveOrderState {
+        private final OrderStatus status;
+        private final Integer remainingPortions;
+        private final LocalDateTime lastModification;
+        private final boolean dirty;
+
+        private LiveOrderState clean() {
+            return new LiveOrderState(status, remainingPortions, lastModification, false);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package rs.raf.stock_service.service;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -11,6 +14,7 @@ import rs.raf.stock_service.client.UserClient;
 import rs.raf.stock_service.domain.dto.*;
 import rs.raf.stock_service.domain.entity.*;
 import rs.raf.stock_service.domain.enums.OrderDirection;
+import rs.raf.stock_service.domain.enums.OrderEventType;
 import rs.raf.stock_service.domain.enums.OrderStatus;
 import rs.raf.stock_service.domain.enums.OrderType;
 import rs.raf.stock_service.domain.enums.TaxStatus;
@@ -23,10 +27,12 @@ import rs.raf.stock_service.repository.OrderRepository;
 import rs.raf.stock_service.repository.TransactionRepository;
 import rs.raf.stock_service.repository.*;
 import rs.raf.stock_service.utils.JwtTokenUtil;
+import rs.raf.stock_service.utils.KeysetCursor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.stream.Collectors;
 
@@ -34,6 +40,16 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class OrderService {
 
+    private static final int MAX_SUMMARY_PAGE_SIZE = 200;
+
+    // globalni registry: Spring Boot u njega dodaje Prometheus registry, u unit testovima ostaje prazan
+    private static final Timer EXECUTE_TIMER = Timer.builder("banka.orders.execute")
+            .description("Izvrsavanje odobrenog ordera, ukljucujuci simulirano cekanje na fill")
+            .register(Metrics.globalRegistry);
+    private static final Timer CHECK_TIMER = Timer.builder("banka.orders.check")
+            .description("Provera stop, stop-limit i limit ordera posle osvezavanja cena")
+            .register(Metrics.globalRegistry);
+
     private final OrderRepository orderRepository;
     private final JwtTokenUtil jwtTokenUtil;
     private final UserClient userClient;
@@ -44,6 +60,9 @@ public class OrderService {
     private TransactionRepository transactionRepository;
     private final PortfolioService portfolioService;
     private PortfolioEntryRepository portfolioEntryRepository;
+    private final OrderEventService orderEventService;
+    private final OrderJournalService orderJournalService;
+    private final AgentRiskService agentRiskService;
 
     public Page<OrderDto> getOrdersByStatus(OrderStatus status, Pageable pageable) {
         Page<Order> ordersPage = (status == null)
@@ -88,6 +107,71 @@ public class OrderService {
         }).collect(Collectors.toList());
     }
 
+    public CursorPageDto<OrderSummaryDto> getOrderSummaries(OrderStatus status, String cursor, int size,
+                                                            boolean includeTransactions) {
+        size = Math.max(1, Math.min(size, MAX_SUMMARY_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<OrderSummaryDto> orders;
+
+        if (cursor == null || cursor.isEmpty()) {
+            orders = status == null ? orderRepository.findSummaries(limit)
+                    : orderRepository.findSummariesByStatus(status, limit);
+        } else {
+            KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+            orders = status == null
+                    ? orderRepository.findSummariesAfter(keysetCursor.getLastModification(), keysetCursor.getId(), limit)
+                    : orderRepository.findSummariesByStatusAfter(status, keysetCursor.getLastModification(),
+                    keysetCursor.getId(), limit);
+        }
+
+        return toCursorPage(orders, size, includeTransactions);
+    }
+
+    public CursorPageDto<OrderSummaryDto> getOrderSummariesByUser(Long userId, String authHeader, String cursor, int size,
+                                                                  boolean includeTransactions) {
+        Long userIdFromAuth = jwtTokenUtil.getUserIdFromAuthHeader(authHeader);
+        String role = jwtTokenUtil.getUserRoleFromAuthHeader(authHeader);
+
+        if (!userId.equals(userIdFromAuth) && !role.equalsIgnoreCase("SUPERVISOR") && !role.equalsIgnoreCase("ADMIN"))
+            throw new UnauthorizedException("Unauthorized attempt at getting user's orders.");
+
+        size = Math.max(1, Math.min(size, MAX_SUMMARY_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<OrderSummaryDto> orders;
+
+        if (cursor == null || cursor.isEmpty()) {
+            orders = orderRepository.findSummariesByUserId(userId, limit);
+        } else {
+            KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+            orders = orderRepository.findSummariesByUserIdAfter(userId, keysetCursor.getLastModification(),
+                    keysetCursor.getId(), limit);
+        }
+
+        return toCursorPage(orders, size, includeTransactions);
+    }
+
+    private CursorPageDto<OrderSummaryDto> toCursorPage(List<OrderSummaryDto> orders, int size, boolean includeTransactions) {
+        boolean hasMore = orders.size() > size;
+        List<OrderSummaryDto> page = hasMore ? orders.subList(0, size) : orders;
+
+        if (includeTransactions && !page.isEmpty()) {
+            Map<Long, List<TransactionDto>> transactionsByOrder = transactionRepository
+                    .findAllByOrderIds(page.stream().map(OrderSummaryDto::getId).toList()).stream()
+                    .collect(Collectors.groupingBy(OrderTransactionDto::getOrderId,
+                            Collectors.mapping(OrderTransactionDto::toTransactionDto, Collectors.toList())));
+
+            page.forEach(order -> order.setTransactions(transactionsByOrder.getOrDefault(order.getId(), List.of())));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            OrderSummaryDto last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getLastModification(), last.getId()).encode();
+        }
+
+        return new CursorPageDto<>(page, nextCursor, page.size());
+    }
+
     private String getClientName(Order order) {
         try {
             ClientDto client = userClient.getClientById(order.getUserId());
@@ -115,10 +199,17 @@ public class OrderService {
 
         if (order.getUserId().equals(userId) || role.equalsIgnoreCase("SUPERVISOR") || role.equalsIgnoreCase("ADMIN")) {
             if (!order.getIsDone() && (order.getStatus().equals(OrderStatus.PENDING) || order.getStatus().equals(OrderStatus.APPROVED))) {
+                boolean agentLimit = order.getStatus() == OrderStatus.APPROVED && "AGENT".equals(order.getRole());
+
                 order.setStatus(OrderStatus.CANCELLED);
                 order.setLastModification(LocalDateTime.now());
 
                 orderRepository.save(order);
+                if (agentLimit) {
+                    agentRiskService.release(order.getUserId(), getOrderPrice(order));
+                    agentRiskService.persistRelease(order.getUserId(), getOrderPrice(order));
+                }
+                recordTransition(order, OrderEventType.CANCELLED);
             } else {
                 throw new CantCancelOrderInCurrentOrderState(id);
             }
@@ -135,16 +226,27 @@ public class OrderService {
 
         Long userId = jwtTokenUtil.getUserIdFromAuthHeader(authHeader);
 
-        BigDecimal price = BigDecimal.valueOf(order.getContractSize()).multiply(BigDecimal.valueOf(order.getQuantity()))
-                .multiply(order.getPricePerUnit());
+        BigDecimal price = getOrderPrice(order);
         if(order.getDirection() == OrderDirection.BUY)
             order.setStatus(updateAvailableBalance(order, price) ? OrderStatus.APPROVED : OrderStatus.DECLINED);
         else
             order.setStatus(OrderStatus.APPROVED);
+        boolean agentLimit = order.getStatus() == OrderStatus.APPROVED && "AGENT".equals(order.getRole());
+        if (agentLimit)
+            agentRiskService.forceReserve(order.getUserId(), price);
         order.setApprovedBy(userId);
         order.setLastModification(LocalDateTime.now());
 
-        orderRepository.save(order);
+        try {
+            orderRepository.save(order);
+        } catch (RuntimeException e) {
+            if (agentLimit) agentRiskService.release(order.getUserId(), price);
+            throw e;
+        }
+        if (agentLimit)
+            agentRiskService.persistReserve(order.getUserId(), price, true);
+        recordTransition(order, order.getStatus() == OrderStatus.APPROVED ?
+                OrderEventType.APPROVED : OrderEventType.DECLINED);
 
         if(order.getOrderType() == OrderType.MARKET)
             executeOrder(order);
@@ -160,6 +262,7 @@ public class OrderService {
         order.setApprovedBy(jwtTokenUtil.getUserIdFromAuthHeader(authHeader));
         order.setLastModification(LocalDateTime.now());
         orderRepository.save(order);
+        recordTransition(order, OrderEventType.DECLINED);
     }
 
     public OrderDto createOrder(CreateOrderDto createOrderDto, String authHeader) {
@@ -197,50 +300,64 @@ public class OrderService {
 
 
         boolean checksPassed = false;
+        boolean limitReserved = false;
+        BigDecimal limitPrice = price;
         if(role.equals("AGENT")) {
-            ActuaryLimitDto actuaryLimitDto = userClient.getActuaryByEmployeeId(userId);
-
-            if (!actuaryLimitDto.isNeedsApproval() && actuaryLimitDto.getLimitAmount().subtract(actuaryLimitDto.
-                    getUsedLimit()).compareTo(price) >= 0)
-                checksPassed = true;
+            limitReserved = agentRiskService.tryReserve(userId, limitPrice);
+            checksPassed = limitReserved;
         }  else {
             checksPassed = true;
         }
 
-        if(checksPassed){
-            if(order.getDirection() == OrderDirection.BUY){
-                if(role.equals("CLIENT")){
-                    price = priceWithCommission(order.getOrderType(), price);
+        // rezervacija limita se vraca ako order nije odobren ili bilo koji korak do snimanja pukne
+        boolean saved = false;
+        try {
+            if(checksPassed){
+                if(order.getDirection() == OrderDirection.BUY){
+                    if(role.equals("CLIENT")){
+                        price = priceWithCommission(order.getOrderType(), price);
+                    }
+
+                    order.setStatus(updateAvailableBalance(order, price) ? OrderStatus.APPROVED : OrderStatus.DECLINED);
+                } else {
+                    order.setStatus(OrderStatus.APPROVED);
                 }
-
-                order.setStatus(updateAvailableBalance(order, price) ? OrderStatus.APPROVED : OrderStatus.DECLINED);
-            } else {
-                order.setStatus(OrderStatus.APPROVED);
             }
-        }
 
-        if (order.getDirection().equals(OrderDirection.SELL)) {
-            PortfolioEntry portfolioEntry = portfolioEntryRepository.findByUserIdAndListing(userId, listing).
-                    orElseThrow(PortfolioEntryNotFoundException::new);
-            BigDecimal buyingPrice = portfolioEntry.getAveragePrice().multiply(BigDecimal.valueOf(order.getQuantity()));
-            BigDecimal sellPrice = order.getPricePerUnit().multiply(BigDecimal.valueOf(order.getQuantity()));
-            BigDecimal potentialProfit = sellPrice.subtract(buyingPrice);
-            //profit je uvek iz usd u rsd jer su stocks uvek u dolarima, a drzavni racun u rsd
-            order.setProfit(bankClient.convert(new ConvertDto("USD", "RSD", potentialProfit)));
-            if (potentialProfit.compareTo(BigDecimal.ZERO) > 0) {
-                order.setTaxStatus(TaxStatus.PENDING);
-                order.setTaxAmount(potentialProfit.multiply(new BigDecimal("0.15")));
+            if (order.getDirection().equals(OrderDirection.SELL)) {
+                PortfolioEntry portfolioEntry = portfolioEntryRepository.findByUserIdAndListing(userId, listing).
+                        orElseThrow(PortfolioEntryNotFoundException::new);
+                BigDecimal buyingPrice = portfolioEntry.getAveragePrice().multiply(BigDecimal.valueOf(order.getQuantity()));
+                BigDecimal sellPrice = order.getPricePerUnit().multiply(BigDecimal.valueOf(order.getQuantity()));
+                BigDecimal potentialProfit = sellPrice.subtract(buyingPrice);
+                //profit je uvek iz usd u rsd jer su stocks uvek u dolarima, a drzavni racun u rsd
+                order.setProfit(bankClient.convert(new ConvertDto("USD", "RSD", potentialProfit)));
+                if (potentialProfit.compareTo(BigDecimal.ZERO) > 0) {
+                    order.setTaxStatus(TaxStatus.PENDING);
+                    order.setTaxAmount(potentialProfit.multiply(new BigDecimal("0.15")));
+                } else {
+                    order.setTaxStatus(TaxStatus.TAXFREE);
+                    order.setTaxAmount(BigDecimal.ZERO);
+                }
             } else {
                 order.setTaxStatus(TaxStatus.TAXFREE);
                 order.setTaxAmount(BigDecimal.ZERO);
             }
-        } else {
-            order.setTaxStatus(TaxStatus.TAXFREE);
-            order.setTaxAmount(BigDecimal.ZERO);
+
+            orderRepository.save(order);
+            saved = true;
+        } finally {
+            if (limitReserved && (!saved || order.getStatus() != OrderStatus.APPROVED))
+                agentRiskService.release(userId, limitPrice);
         }
+        if (limitReserved && order.getStatus() == OrderStatus.APPROVED)
+            agentRiskService.persistReserve(userId, limitPrice, false);
 
-
-        orderRepository.save(order);
+        recordTransition(order, OrderEventType.CREATED);
+        if (order.getStatus() == OrderStatus.APPROVED)
+            recordTransition(order, OrderEventType.APPROVED);
+        else if (order.getStatus() == OrderStatus.DECLINED)
+            recordTransition(order, OrderEventType.DECLINED);
 
         if (order.getOrderType() == OrderType.MARKET && order.getStatus() == OrderStatus.APPROVED)
             executeOrder(order);
@@ -267,6 +384,11 @@ public class OrderService {
         return true;
     }
 
+    private BigDecimal getOrderPrice(Order order) {
+        return BigDecimal.valueOf(order.getContractSize()).multiply(BigDecimal.valueOf(order.getQuantity()))
+                .multiply(order.getPricePerUnit());
+    }
+
     public BigDecimal priceWithCommission(OrderType orderType, BigDecimal amount){
         BigDecimal commissionPercentage;
         BigDecimal commissionMax;
@@ -284,6 +406,10 @@ public class OrderService {
 
     @Async
     public void executeOrder(Order order) {
+        EXECUTE_TIMER.record(() -> execute(order));
+    }
+
+    private void execute(Order order) {
         if (order.getIsDone() || order.getStatus() != OrderStatus.APPROVED) return; //better safe than sorry
         order.setStatus(OrderStatus.PROCESSING);
         orderRepository.save(order);
@@ -302,7 +428,6 @@ public class OrderService {
             while (order.getRemainingPortions() > 0) {
                 spentAmount = spentAmount.add(executeTransaction(order,
                         random.nextInt(1, order.getRemainingPortions() + 1), volume));
-                orderRepository.save(order);
             }
         }
 
@@ -311,6 +436,16 @@ public class OrderService {
         order.setStatus(order.getRemainingPortions() == 0? OrderStatus.DONE : OrderStatus.PARTIAL);
         order.setIsDone(true);
         orderRepository.save(order);
+        recordTransition(order, OrderEventType.DONE);
+
+        // agentu je limit rezervisan za ceo order, neizvrseni deo mu se vraca
+        if (order.getStatus() == OrderStatus.PARTIAL && "AGENT".equals(order.getRole())) {
+            BigDecimal unfilled = BigDecimal.valueOf(order.getContractSize())
+                    .multiply(BigDecimal.valueOf(order.getRemainingPortions()))
+                    .multiply(order.getPricePerUnit());
+            agentRiskService.release(order.getUserId(), unfilled);
+            agentRiskService.persistRelease(order.getUserId(), unfilled);
+        }
 
         //finalna azuriranja sredstava
         if(order.getDirection() == OrderDirection.BUY){
@@ -345,10 +480,21 @@ public class OrderService {
         order.getTransactions().add(transaction);
         order.setLastModification(LocalDateTime.now());
         order.setRemainingPortions(order.getRemainingPortions() - batchSize);
+        recordTransition(order, OrderEventType.PARTIALLY_FILLED, transaction);
 
         return totalPrice;
     }
 
+    // svaki prelaz ide u journal i pretplatnicima, a orders se osvezava kroz snapshot
+    private void recordTransition(Order order, OrderEventType type) {
+        recordTransition(order, type, null);
+    }
+
+    private void recordTransition(Order order, OrderEventType type, Transaction fill) {
+        OrderJournalEntry entry = orderJournalService.record(order, type, fill);
+        orderEventService.publish(order, type, fill, entry == null ? null : entry.getId());
+    }
+
     private boolean updateBalance(Order order, BigDecimal amount){
         if (order.getDirection() == OrderDirection.SELL)
             return true;
@@ -363,9 +509,11 @@ public class OrderService {
     }
 
     public void checkOrders() {
-        checkStopOrders();
-        checkStopLimitOrders();
-        checkLimitOrders();
+        CHECK_TIMER.record(() -> {
+            checkStopOrders();
+            checkStopLimitOrders();
+            checkLimitOrders();
+        });
     }
 
     private void checkStopOrders(){
@@ -434,5 +582,14 @@ public class OrderService {
         return orderRepository.getBankProfitFromOrders();
     }
 
+    public List<ActuaryProfitDto> getActuaryProfits(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) return List.of();
+        return orderRepository.sumProfitByUserIds(userIds, OrderDirection.SELL);
+    }
+
+    public Page<ActuaryProfitDto> getActuaryProfits(Pageable pageable) {
+        return orderRepository.sumProfitPerUser(OrderDirection.SELL, pageable);
+    }
+
 
 }
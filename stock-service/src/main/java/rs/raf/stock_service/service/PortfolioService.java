@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.BadRequestException;
 import org.springframework.data.crossstore.ChangeSetPersister;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import rs.raf.stock_service.client.BankClient;
 import org.springframework.transaction.annotation.Transactional;
@@ -48,6 +50,8 @@ public class PortfolioService {
     private final OrderRepository orderRepository;
     private final BankClient bankClient;
     private final JwtTokenUtil jwtTokenUtil;
+    private final PublicStockService publicStockService;
+    private final MarginMonitorService marginMonitorService;
 
     public void updateHoldingsOnOrderExecution(Order order) {
         if (!order.getIsDone()) return;
@@ -70,6 +74,7 @@ public class PortfolioService {
                         .publicAmount(0) // privremeno 0 moze neka logika kasnije kad bude bilo potrebno
                         .inTheMoney(false)
                         .used(false)
+                        .margin(Boolean.TRUE.equals(order.getMargin()))
                         .lastModified(LocalDateTime.now())
                         .build();
             } else {
@@ -80,18 +85,26 @@ public class PortfolioService {
 
                 entry.setAmount(newAmount);
                 entry.setAveragePrice(avgPrice);
+                if (Boolean.TRUE.equals(order.getMargin())) entry.setMargin(true);
                 entry.setLastModified(LocalDateTime.now());
             }
             portfolioEntryRepository.save(entry);
+            publicStockService.sync(entry);
+            marginMonitorService.updatePosition(entry);
 
         } else if (order.getDirection() == OrderDirection.SELL && entry != null) {
             int remaining = entry.getAmount() - totalQuantity;
             if (remaining <= 0) {
                 portfolioEntryRepository.delete(entry);
+                publicStockService.remove(entry);
+                marginMonitorService.removePosition(entry);
             } else {
                 entry.setAmount(remaining);
+                clampPublicAmount(entry);
                 entry.setLastModified(LocalDateTime.now());
                 portfolioEntryRepository.save(entry);
+                publicStockService.sync(entry);
+                marginMonitorService.updatePosition(entry);
             }
         }
     }
@@ -137,39 +150,16 @@ public class PortfolioService {
         entry.setLastModified(LocalDateTime.now());
 
         portfolioEntryRepository.save(entry);
+        publicStockService.sync(entry);
     }
 
 
     public List<PublicStockDto> getAllPublicStocks() {
-        List<PortfolioEntry> publicEntries = portfolioEntryRepository
-                .findAllByTypeAndPublicAmountGreaterThan(ListingType.STOCK, 0);
-
-
-        return publicEntries.stream().map(entry -> {
-            Listing listing = entry.getListing();
-
-            String ownerName;
-            try {
-                ClientDto client = userClient.getClientById(entry.getUserId());
-                ownerName = client.getFirstName() + " " + client.getLastName();
-            } catch (Exception e) {
-                ActuaryDto actuary = userClient.getEmployeeById(entry.getUserId());
-                ownerName = actuary.getFirstName() + " " + actuary.getLastName();
-            }
-
-            BigDecimal currentPrice = listing.getPrice() != null ? listing.getPrice() : BigDecimal.ZERO;
-
-            return PublicStockDto.builder()
-                    .portfolioEntryId(entry.getId())
-                    .security(ListingType.STOCK.name())
-                    .ticker(listing.getTicker())
-                    .amount(entry.getPublicAmount())
-                    .price(currentPrice)
-                    .lastModified(entry.getLastModified())
-                    .owner(ownerName)
-                    .build();
+        return publicStockService.getAll();
+    }
 
-        }).collect(Collectors.toList());
+    public Page<PublicStockDto> searchPublicStocks(PublicStockFilterDto filter, Pageable pageable) {
+        return publicStockService.search(filter, pageable);
     }
 
     public TaxGetResponseDto getUserTaxes(Long userId) {
@@ -204,12 +194,17 @@ public class PortfolioService {
         }
 
         sellerEntry.setAmount(sellerEntry.getAmount() - quantity);
+        clampPublicAmount(sellerEntry);
         sellerEntry.setLastModified(LocalDateTime.now());
 
         if (sellerEntry.getAmount() == 0) {
             portfolioEntryRepository.delete(sellerEntry);
+            publicStockService.remove(sellerEntry);
+            marginMonitorService.removePosition(sellerEntry);
         } else {
             portfolioEntryRepository.save(sellerEntry);
+            publicStockService.sync(sellerEntry);
+            marginMonitorService.updatePosition(sellerEntry);
         }
 
         PortfolioEntry buyerEntry = portfolioEntryRepository
@@ -244,6 +239,13 @@ public class PortfolioService {
         }
 
         portfolioEntryRepository.save(buyerEntry);
+        publicStockService.sync(buyerEntry);
+        marginMonitorService.updatePosition(buyerEntry);
+    }
+
+    private void clampPublicAmount(PortfolioEntry entry) {
+        if (entry.getPublicAmount() != null && entry.getPublicAmount() > entry.getAmount())
+            entry.setPublicAmount(entry.getAmount());
     }
 
 
@@ -310,5 +312,8 @@ public class PortfolioService {
 
         portfolioEntryRepository.save(entry);
         portfolioEntryRepository.save(underlyingEntry);
+        publicStockService.sync(underlyingEntry);
+        marginMonitorService.removePosition(entry);
+        marginMonitorService.updatePosition(underlyingEntry);
     }
 }
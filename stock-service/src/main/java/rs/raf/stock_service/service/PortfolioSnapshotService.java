@@ -0,0 +1,104 @@
+package rs.raf.stock_service.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rs.raf.stock_service.domain.dto.PortfolioPerformanceDto;
+import rs.raf.stock_service.domain.mapper.PortfolioPerformanceMapper;
+import rs.raf.stock_service.repository.PortfolioPerformanceRepository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+        Dnevni snapshot portfolija. Pozicije i performanse se racunaju set-based SQL-om za sve korisnike
+        odjednom (dva INSERT ... SELECT-a), bez petlje po korisniku. Svaki red performansi se oslanja
+        samo na prethodni red istog korisnika, pa su TWR i MWR inkrementalni.
+     */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class PortfolioSnapshotService {
+
+    // cena zatvaranja je poslednji bar do kraja dana, a ako ga nema trenutna cena listinga
+    private static final String INSERT_POSITIONS = "INSERT INTO portfolio_position_snapshot " +
+            "(snapshot_date, user_id, listing_id, amount, close_price, market_value) " +
+            "SELECT ?, p.user_id, p.listing_id, p.amount, c.close, p.amount * c.close " +
+            "FROM portfolio_entry p JOIN (" +
+            "  SELECT l.id, COALESCE(h.close, l.price) AS close FROM listing l LEFT JOIN LATERAL (" +
+            "    SELECT close FROM listing_price_history WHERE listing_id = l.id AND date < ? ORDER BY date DESC LIMIT 1" +
+            "  ) h ON true" +
+            ") c ON c.id = p.listing_id " +
+            "WHERE p.amount > 0";
+
+    // prvi dan korisnika: pocetna vrednost se racuna kao uplata, prinos je 0
+    private static final String INSERT_PERFORMANCE = "INSERT INTO portfolio_performance " +
+            "(user_id, snapshot_date, market_value, net_flow, daily_return, twr_index, cumulative_flow, invested_capital_days, days) " +
+            "WITH mv AS (" +
+            "  SELECT user_id, SUM(market_value) AS value FROM portfolio_position_snapshot WHERE snapshot_date = ? GROUP BY user_id" +
+            "), flows AS (" +
+            "  SELECT o.user_id, SUM(CASE WHEN o.direction = 'BUY' THEN t.total_price ELSE -t.total_price END) AS flow" +
+            "  FROM transaction t JOIN orders o ON o.id = t.order_id WHERE t.timestamp >= ? AND t.timestamp < ? GROUP BY o.user_id" +
+            "), prev AS (" +
+            "  SELECT DISTINCT ON (user_id) * FROM portfolio_performance WHERE snapshot_date < ? ORDER BY user_id, snapshot_date DESC" +
+            "), users AS (" +
+            "  SELECT user_id FROM mv UNION SELECT user_id FROM flows UNION SELECT user_id FROM prev WHERE market_value > 0" +
+            "), day AS (" +
+            "  SELECT u.user_id, COALESCE(mv.value, 0) AS value, COALESCE(f.flow, 0) AS flow, p.market_value AS prev_value," +
+            "    p.twr_index, p.cumulative_flow, p.invested_capital_days, p.days," +
+            "    COALESCE((COALESCE(mv.value, 0) - p.market_value - COALESCE(f.flow, 0)) / NULLIF(p.market_value + COALESCE(f.flow, 0), 0), 0) AS r" +
+            "  FROM users u LEFT JOIN mv ON mv.user_id = u.user_id LEFT JOIN flows f ON f.user_id = u.user_id" +
+            "  LEFT JOIN prev p ON p.user_id = u.user_id" +
+            ") " +
+            "SELECT user_id, ?, value, flow," +
+            "  CASE WHEN prev_value IS NULL THEN 0 ELSE r END," +
+            "  CASE WHEN prev_value IS NULL THEN 1 ELSE twr_index * (1 + r) END," +
+            "  CASE WHEN prev_value IS NULL THEN value ELSE cumulative_flow + flow END," +
+            "  CASE WHEN prev_value IS NULL THEN value ELSE invested_capital_days + cumulative_flow + flow END," +
+            "  COALESCE(days, 0) + 1 " +
+            "FROM day";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PortfolioPerformanceRepository portfolioPerformanceRepository;
+
+    @Scheduled(cron = "${portfolio.snapshot.cron:0 55 23 * * *}")
+    public void snapshotToday() {
+        snapshot(LocalDate.now());
+    }
+
+    /**
+     * Pravi snapshot za dati dan. Ponovno pokretanje za isti dan prepisuje postojece redove.
+     */
+    @Transactional
+    public void snapshot(LocalDate date) {
+        long start = System.currentTimeMillis();
+        Date day = Date.valueOf(date);
+        Timestamp dayStart = Timestamp.valueOf(date.atStartOfDay());
+        Timestamp dayEnd = Timestamp.valueOf(date.plusDays(1).atStartOfDay());
+
+        jdbcTemplate.update("DELETE FROM portfolio_performance WHERE snapshot_date = ?", day);
+        jdbcTemplate.update("DELETE FROM portfolio_position_snapshot WHERE snapshot_date = ?", day);
+
+        int positions = jdbcTemplate.update(INSERT_POSITIONS, day, dayEnd);
+        int users = jdbcTemplate.update(INSERT_PERFORMANCE, day, dayStart, dayEnd, day, day);
+
+        log.info("Portfolio snapshot for {}: {} positions, {} users in {} ms.", date, positions, users,
+                System.currentTimeMillis() - start);
+    }
+
+    public List<PortfolioPerformanceDto> getPerformance(Long userId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate begin = from != null ? from : end.minusYears(1);
+
+        return portfolioPerformanceRepository.findAllByUserIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(userId, begin, end)
+                .stream()
+                .map(PortfolioPerformanceMapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
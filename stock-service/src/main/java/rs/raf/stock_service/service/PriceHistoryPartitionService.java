@@ -0,0 +1,254 @@
+package rs.raf.stock_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/*
+        Mesecno particionisanje listing_price_history tabele. Hibernate pravi obicnu tabelu, pa je pri
+        startu pretvaramo u RANGE particionisanu po datumu (default particija hvata sve van opsega).
+        Retention job svake noci sazima 5-minutne barove starije od price.history.intraday.retention.days
+        u jedan dnevni bar, a particije starije od price.history.archive.after.months izvozi u gzip CSV
+        i odvaja od tabele, tako da aktivni deo tabele i indeksa ostaje ogranicen. Redovi iz default particije
+        stariji od istog meseca se izvoze i brisu posebno, jer ta particija nikad ne biva odvojena.
+     */
+@Slf4j
+@Service
+public class PriceHistoryPartitionService {
+
+    private static final String TABLE = "listing_price_history";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final DateTimeFormatter ARCHIVE_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private static final String FIND_PARTITIONS = "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = '" + TABLE + "' AND c.relname <> '" + DEFAULT_PARTITION + "'";
+
+    // dani sa vise barova (ili barom koji nije u ponoc) se sazimaju u jedan bar u ponoc, pa je upit idempotentan;
+    // change dnevnog bara je close poslednjeg minus open prvog bara, isto kao open/close koje bar dobija
+    private static final String ROLLUP = "WITH days AS (" +
+            "  SELECT listing_id, date_trunc('day', date) AS day FROM " + TABLE +
+            "  WHERE date >= ? AND date < ? GROUP BY listing_id, date_trunc('day', date)" +
+            "  HAVING count(*) > 1 OR bool_or(date <> date_trunc('day', date))" +
+            "), bars AS (" +
+            "  SELECT h.* FROM " + TABLE + " h JOIN days d ON h.listing_id = d.listing_id" +
+            "  AND h.date >= d.day AND h.date < d.day + interval '1 day'" +
+            "), removed AS (" +
+            "  DELETE FROM " + TABLE + " h USING bars b WHERE h.id = b.id AND h.date = b.date" +
+            ") INSERT INTO " + TABLE + " (id, listing_id, date, open, close, high, low, change, volume) " +
+            "SELECT nextval('listing_price_history_seq'), listing_id, date_trunc('day', date)," +
+            "  (array_agg(open ORDER BY date))[1], (array_agg(close ORDER BY date DESC))[1]," +
+            "  max(high), min(low)," +
+            "  (array_agg(close ORDER BY date DESC))[1] - (array_agg(open ORDER BY date))[1], sum(volume) " +
+            "FROM bars GROUP BY listing_id, date_trunc('day', date)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int intradayRetentionDays;
+    private final int archiveAfterMonths;
+    private final Path archivePath;
+
+    public PriceHistoryPartitionService(JdbcTemplate jdbcTemplate,
+                                        @Value("${price.history.partitioning.enabled:true}") boolean enabled,
+                                        @Value("${price.history.partitions.ahead:1}") int monthsAhead,
+                                        @Value("${price.history.intraday.retention.days:30}") int intradayRetentionDays,
+                                        @Value("${price.history.archive.after.months:12}") int archiveAfterMonths,
+                                        @Value("${price.history.archive.path:archive/price-history}") String archivePath) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.intradayRetentionDays = intradayRetentionDays;
+        this.archiveAfterMonths = archiveAfterMonths;
+        this.archivePath = Paths.get(archivePath);
+    }
+
+    /**
+     * Pretvara tabelu u particionisanu ako to vec nije i pravi particije za aktivni period.
+     * Poziva se iz bootstrap-a pre prvog upisa istorije.
+     */
+    @Transactional
+    public void initialize() {
+        if (!enabled) return;
+
+        String kind = jdbcTemplate.query("SELECT relkind FROM pg_class WHERE relname = '" + TABLE + "' AND relkind IN ('r', 'p')",
+                rs -> rs.next() ? rs.getString(1) : null);
+        if (kind == null) {
+            log.warn("Table {} not found, skipping partitioning.", TABLE);
+            return;
+        }
+
+        if (kind.equals("r")) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + TABLE + "_plain");
+            jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + TABLE + "_plain INCLUDING DEFAULTS) PARTITION BY RANGE (date)");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ALTER COLUMN date SET NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, date)");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD FOREIGN KEY (listing_id) REFERENCES listing (id)");
+            jdbcTemplate.execute("CREATE INDEX ON " + TABLE + " (listing_id, date)");
+            jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+            jdbcTemplate.execute("INSERT INTO " + TABLE + " SELECT * FROM " + TABLE + "_plain WHERE date IS NOT NULL");
+            jdbcTemplate.execute("DROP TABLE " + TABLE + "_plain");
+            log.info("Converted {} to a monthly partitioned table.", TABLE);
+        }
+
+        YearMonth current = YearMonth.now();
+        for (YearMonth month = current.minusMonths(archiveAfterMonths); !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1))
+            createPartition(month);
+    }
+
+    @Scheduled(cron = "${price.history.partitions.cron:0 0 1 * * *}")
+    @Transactional
+    public void ensurePartitions() {
+        if (!enabled) return;
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++)
+            createPartition(current.plusMonths(i));
+    }
+
+    @Scheduled(cron = "${price.history.retention.cron:0 30 3 * * *}")
+    public void applyRetention() {
+        if (!enabled) return;
+
+        LocalDate today = LocalDate.now();
+        rollupIntraday(today.minusDays(intradayRetentionDays).atStartOfDay());
+        archivePartitionsBefore(YearMonth.from(today).minusMonths(archiveAfterMonths));
+        archiveDefaultBefore(YearMonth.from(today).minusMonths(archiveAfterMonths));
+    }
+
+    /**
+     * Sazima 5-minutne barove starije od cutoff-a u dnevne, mesec po mesec da bi svaki upit
+     * radio nad jednom particijom.
+     */
+    public int rollupIntraday(LocalDateTime cutoff) {
+        LocalDateTime from = YearMonth.from(cutoff).minusMonths(archiveAfterMonths).atDay(1).atStartOfDay();
+        int total = 0;
+
+        while (from.isBefore(cutoff)) {
+            LocalDateTime to = from.plusMonths(1).isBefore(cutoff) ? from.plusMonths(1) : cutoff;
+            total += jdbcTemplate.update(ROLLUP, Timestamp.valueOf(from), Timestamp.valueOf(to));
+            from = to;
+        }
+
+        if (total > 0)
+            log.info("Rolled up intraday price history older than {} into {} daily bars.", cutoff, total);
+        return total;
+    }
+
+    /**
+     * Izvozi sve particije pre datog meseca u archive direktorijum kao gzip CSV, pa ih odvaja i brise.
+     */
+    public void archivePartitionsBefore(YearMonth month) {
+        String limit = partitionName(month);
+
+        for (String partition : jdbcTemplate.queryForList(FIND_PARTITIONS, String.class)) {
+            if (partition.compareTo(limit) >= 0) continue;
+
+            try {
+                Path file = archive(partition, partition);
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Archived price history partition {} to {}.", partition, file);
+            } catch (Exception e) {
+                log.error("Failed to archive price history partition {}", partition, e);
+            }
+        }
+    }
+
+    /**
+     * Izvozi i brise redove default particije pre datog meseca. DELETE ... RETURNING ide direktno u COPY,
+     * pa se brisu tacno oni redovi koji su upisani u arhivu; ako izvoz pukne, brisanje se ponistava.
+     */
+    public void archiveDefaultBefore(YearMonth month) {
+        Timestamp cutoff = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Integer stale = jdbcTemplate.queryForObject("SELECT count(*) FROM " + DEFAULT_PARTITION + " WHERE date < ?",
+                Integer.class, cutoff);
+        if (stale == null || stale == 0) return;
+
+        String name = DEFAULT_PARTITION + "_" + LocalDateTime.now().format(ARCHIVE_SUFFIX);
+        try {
+            Path file = archive(name, "(DELETE FROM " + DEFAULT_PARTITION + " WHERE date < '" + cutoff + "' RETURNING *)");
+            log.info("Archived {} rows older than {} from {} to {}.", stale, month, DEFAULT_PARTITION, file);
+        } catch (Exception e) {
+            log.error("Failed to archive old rows from {}", DEFAULT_PARTITION, e);
+        }
+    }
+
+    public List<String> getPartitions() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS + " ORDER BY c.relname", String.class);
+    }
+
+    private Path archive(String name, String source) throws IOException {
+        Files.createDirectories(archivePath);
+        Path file = archivePath.resolve(name + ".csv.gz");
+        Path tmp = archivePath.resolve(name + ".csv.gz.tmp");
+
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI()
+                            .copyOut("COPY " + source + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    /**
+     * Pravi particiju za mesec. Ako je default particija vec primila redove iz tog opsega,
+     * privremeno se odvaja i redovi se prebacuju u novu particiju.
+     */
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        Integer exists = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_class WHERE relname = ?", Integer.class, partition);
+        if (exists != null && exists > 0) return;
+
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        String create = "CREATE TABLE " + partition + " PARTITION OF " + TABLE +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+
+        Integer stray = jdbcTemplate.queryForObject("SELECT count(*) FROM " + DEFAULT_PARTITION + " WHERE date >= ? AND date < ?",
+                Integer.class, from, to);
+        if (stray == null || stray == 0) {
+            jdbcTemplate.execute(create);
+            return;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + DEFAULT_PARTITION);
+        jdbcTemplate.execute(create);
+        jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT * FROM " + DEFAULT_PARTITION + " WHERE date >= ? AND date < ?", from, to);
+        jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE date >= ? AND date < ?", from, to);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+        log.info("Moved {} rows from {} into new partition {}.", stray, DEFAULT_PARTITION, partition);
+    }
+
+    private String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+}
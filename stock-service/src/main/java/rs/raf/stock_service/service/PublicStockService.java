@@ -0,0 +1,161 @@
+package rs.raf.stock_service.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rs.raf.stock_service.client.UserClient;
+import rs.raf.stock_service.domain.dto.ActuaryDto;
+import rs.raf.stock_service.domain.dto.ClientDto;
+import rs.raf.stock_service.domain.dto.PublicStockDto;
+import rs.raf.stock_service.domain.dto.PublicStockFilterDto;
+import rs.raf.stock_service.domain.entity.Listing;
+import rs.raf.stock_service.domain.entity.PortfolioEntry;
+import rs.raf.stock_service.domain.entity.PublicStock;
+import rs.raf.stock_service.domain.enums.ListingType;
+import rs.raf.stock_service.domain.mapper.PublicStockMapper;
+import rs.raf.stock_service.repository.PortfolioEntryRepository;
+import rs.raf.stock_service.repository.PublicStockRepository;
+import rs.raf.stock_service.specification.PublicStockSpecification;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/*
+        Odrzava public_stock read model. Ime vlasnika se razresava preko user-service-a samo
+        kad korisnik prvi put objavi akcije, posle se uzima iz postojecih redova. Ako user-service
+        nije dostupan, vlasnik ostaje null i razresava se ponovo pri sledecoj izmeni ili citanju.
+     */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class PublicStockService {
+
+    private final PublicStockRepository publicStockRepository;
+    private final PortfolioEntryRepository portfolioEntryRepository;
+    private final UserClient userClient;
+
+    public Page<PublicStockDto> search(PublicStockFilterDto filter, Pageable pageable) {
+        Page<PublicStock> page = publicStockRepository.findAll(PublicStockSpecification.buildSpecification(filter), pageable);
+        fillMissingOwners(page.getContent());
+        return page.map(PublicStockMapper::toDto);
+    }
+
+    public List<PublicStockDto> getAll() {
+        List<PublicStock> rows = publicStockRepository.findAll();
+        fillMissingOwners(rows);
+        return rows.stream()
+                .map(PublicStockMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public void sync(PortfolioEntry entry) {
+        if (entry.getId() == null) return;
+
+        if (!isPublicStock(entry)) {
+            publicStockRepository.deleteByPortfolioEntryId(entry.getId());
+            return;
+        }
+
+        PublicStock publicStock = publicStockRepository.findByPortfolioEntryId(entry.getId())
+                .orElseGet(() -> PublicStock.builder()
+                        .portfolioEntryId(entry.getId())
+                        .userId(entry.getUserId())
+                        .build());
+
+        if (publicStock.getOwner() == null) publicStock.setOwner(resolveOwnerName(entry.getUserId()));
+        apply(publicStock, entry);
+        publicStockRepository.save(publicStock);
+    }
+
+    @Transactional
+    public void remove(PortfolioEntry entry) {
+        if (entry.getId() == null) return;
+        publicStockRepository.deleteByPortfolioEntryId(entry.getId());
+    }
+
+    public void updatePrice(Listing listing) {
+        if (listing.getType() != null && listing.getType() != ListingType.STOCK) return;
+        publicStockRepository.updatePriceByListingId(listing.getId(), listing.getPrice());
+    }
+
+    /**
+     * Ponovo gradi ceo read model iz portfolio entry-ja. Poziva se posle bootstrap-a,
+     * posto test podaci idu direktno kroz repository.
+     */
+    @Transactional
+    public void rebuild() {
+        List<PortfolioEntry> entries = portfolioEntryRepository.findAllByTypeAndPublicAmountGreaterThan(ListingType.STOCK, 0);
+        Map<Long, String> owners = new HashMap<>();
+
+        List<PublicStock> rows = entries.stream().map(entry -> {
+            if (!owners.containsKey(entry.getUserId())) owners.put(entry.getUserId(), fetchOwnerName(entry.getUserId()));
+            PublicStock publicStock = PublicStock.builder()
+                    .portfolioEntryId(entry.getId())
+                    .userId(entry.getUserId())
+                    .owner(owners.get(entry.getUserId()))
+                    .build();
+            apply(publicStock, entry);
+            return publicStock;
+        }).collect(Collectors.toList());
+
+        publicStockRepository.deleteAllInBatch();
+        publicStockRepository.saveAll(rows);
+        log.info("Rebuilt public stock view with {} entries.", rows.size());
+    }
+
+    private void apply(PublicStock publicStock, PortfolioEntry entry) {
+        Listing listing = entry.getListing();
+        publicStock.setListingId(listing.getId());
+        publicStock.setTicker(listing.getTicker());
+        publicStock.setPrice(listing.getPrice());
+        publicStock.setAmount(entry.getPublicAmount());
+        publicStock.setLastModified(entry.getLastModified() != null ? entry.getLastModified() : LocalDateTime.now());
+    }
+
+    private boolean isPublicStock(PortfolioEntry entry) {
+        return entry.getType() == ListingType.STOCK && entry.getPublicAmount() != null && entry.getPublicAmount() > 0
+                && entry.getAmount() != null && entry.getAmount() > 0;
+    }
+
+    // jedan poziv user-service-a po korisniku; razreseno ime se upisuje u sve njegove redove bez vlasnika
+    private void fillMissingOwners(List<PublicStock> rows) {
+        Map<Long, String> owners = new HashMap<>();
+        for (PublicStock row : rows) {
+            if (row.getOwner() != null) continue;
+            if (!owners.containsKey(row.getUserId())) {
+                String owner = fetchOwnerName(row.getUserId());
+                if (owner != null) publicStockRepository.updateOwnerByUserId(row.getUserId(), owner);
+                owners.put(row.getUserId(), owner);
+            }
+            row.setOwner(owners.get(row.getUserId()));
+        }
+    }
+
+    private String resolveOwnerName(Long userId) {
+        return publicStockRepository.findFirstByUserIdAndOwnerIsNotNull(userId)
+                .map(PublicStock::getOwner)
+                .orElseGet(() -> fetchOwnerName(userId));
+    }
+
+    private String fetchOwnerName(Long userId) {
+        try {
+            ClientDto client = userClient.getClientById(userId);
+            return client.getFirstName() + " " + client.getLastName();
+        } catch (Exception e) {
+            try {
+                ActuaryDto actuary = userClient.getEmployeeById(userId);
+                return actuary.getFirstName() + " " + actuary.getLastName();
+            } catch (Exception e2) {
+                log.warn("Could not resolve owner name for user {}: {}", userId, e2.getMessage());
+                return null;
+            }
+        }
+    }
+}
@@ -4,18 +4,15 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import rs.raf.stock_service.client.AlphavantageClient;
-import rs.raf.stock_service.client.TwelveDataClient;
 import rs.raf.stock_service.domain.dto.StockDto;
 import rs.raf.stock_service.domain.dto.StockSearchDto;
 import rs.raf.stock_service.domain.entity.Exchange;
 import rs.raf.stock_service.domain.entity.Stock;
 import rs.raf.stock_service.exceptions.StockNotFoundException;
-import rs.raf.stock_service.exceptions.StocksNotFoundException;
 import rs.raf.stock_service.exceptions.SymbolSearchException;
 
 import java.math.BigDecimal;
@@ -27,7 +24,7 @@ import java.util.List;
 public class StocksService {
 
     private final AlphavantageClient alphavantageClient;
-    private final TwelveDataClient twelveDataClient;
+    private final SymbolUniverseService symbolUniverseService;
     private final ExchangeService exchangeService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -177,36 +174,15 @@ public class StocksService {
         }
     }
 
-    private List<StockDto> getStocksList() {
-        try {
-            String response = twelveDataClient.getAllStocks("");
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode data = root.path("data");
-            List<Stock> stocks = new ArrayList<>();
-            if (data.isArray()) {
-                for (JsonNode node : data) {
-                    Stock stock = new Stock();
-                    stock.setName(node.path("name").asText());
-                    stock.setTicker(node.path("mic_code").asText());
-                    stocks.add(stock);
-                }
-            }
-            List<StockDto> dtos = new ArrayList<>();
-            for (Stock s : stocks) {
-                dtos.add(mapToDto(s));
-            }
-            return dtos;
-        } catch (Exception e) {
-            throw new StocksNotFoundException("Error retrieving stocks list: " + e.getMessage());
-        }
+    public Page<StockDto> getStocksList(Pageable pageable) {
+        return getStocksList(null, pageable);
     }
 
-    public Page<StockDto> getStocksList(Pageable pageable) {
-        List<StockDto> dtos = getStocksList();
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), dtos.size());
-        List<StockDto> pagedList = dtos.subList(start, end);
-        return new PageImpl<>(pagedList, pageable, dtos.size());
+    /**
+     * Stranica iz kesiranog spiska akcija; prefix filtrira po tickeru, a sortira se po tickeru ili imenu.
+     */
+    public Page<StockDto> getStocksList(String prefix, Pageable pageable) {
+        return symbolUniverseService.getStocks(prefix, pageable);
     }
 
     private StockDto mapToDto(Stock stock) {
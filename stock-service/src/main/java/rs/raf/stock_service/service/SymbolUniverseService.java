@@ -0,0 +1,169 @@
+package rs.raf.stock_service.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import rs.raf.stock_service.client.TwelveDataClient;
+import rs.raf.stock_service.domain.dto.ForexPairDto;
+import rs.raf.stock_service.domain.dto.StockDto;
+import rs.raf.stock_service.exceptions.ForexPairsNotFoundException;
+import rs.raf.stock_service.exceptions.StocksNotFoundException;
+import rs.raf.stock_service.utils.SymbolUniverse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+        Spisak svih akcija i forex parova sa TwelveData se preuzima jednom dnevno (ili pri prvom zahtevu)
+        i drzi u memoriji kao SymbolUniverse. Stranice, sortiranje i pretraga po prefiksu se sluze iz memorije.
+        Ako osvezavanje ne uspe, ostaje prethodni spisak.
+     */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class SymbolUniverseService {
+
+    private final TwelveDataClient twelveDataClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicReference<SymbolUniverse> stocks = new AtomicReference<>();
+    private final AtomicReference<SymbolUniverse> forexPairs = new AtomicReference<>();
+
+    @Scheduled(cron = "${symbol.universe.refresh.cron:0 0 4 * * *}")
+    public void refresh() {
+        try {
+            stocks.set(loadStocks());
+        } catch (Exception e) {
+            log.error("Stock universe refresh failed, keeping previous list", e);
+        }
+        try {
+            forexPairs.set(loadForexPairs());
+        } catch (Exception e) {
+            log.error("Forex universe refresh failed, keeping previous list", e);
+        }
+    }
+
+    public Page<StockDto> getStocks(String prefix, Pageable pageable) {
+        SymbolUniverse universe = stocks.get();
+        if (universe == null) {
+            try {
+                universe = loadOnce(stocks, this::loadStocks);
+            } catch (Exception e) {
+                throw new StocksNotFoundException("Error retrieving stocks list: " + e.getMessage());
+            }
+        }
+
+        List<StockDto> content = new ArrayList<>();
+        for (int i : page(universe, prefix, pageable)) {
+            StockDto dto = new StockDto();
+            dto.setTicker(universe.symbol(i));
+            dto.setName(universe.name(i));
+            dto.setExchange(universe.exchange(i));
+            content.add(dto);
+        }
+        return new PageImpl<>(content, pageable, universe.count(prefix));
+    }
+
+    public Page<ForexPairDto> getForexPairs(String prefix, Pageable pageable) {
+        SymbolUniverse universe = forexPairs.get();
+        if (universe == null) {
+            try {
+                universe = loadOnce(forexPairs, this::loadForexPairs);
+            } catch (Exception e) {
+                throw new ForexPairsNotFoundException("Error retrieving forex pairs list: " + e.getMessage());
+            }
+        }
+
+        List<ForexPairDto> content = new ArrayList<>();
+        for (int i : page(universe, prefix, pageable)) {
+            String symbol = universe.symbol(i);
+            ForexPairDto dto = new ForexPairDto();
+            dto.setTicker(symbol);
+            dto.setName(universe.name(i));
+            int slash = symbol.indexOf('/');
+            dto.setBaseCurrency(slash > 0 ? symbol.substring(0, slash) : "");
+            dto.setQuoteCurrency(slash > 0 ? symbol.substring(slash + 1) : "");
+            content.add(dto);
+        }
+        return new PageImpl<>(content, pageable, universe.count(prefix));
+    }
+
+    private int[] page(SymbolUniverse universe, String prefix, Pageable pageable) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+        boolean sortByName = order != null && order.getProperty().equalsIgnoreCase("name");
+        boolean descending = order != null && order.isDescending();
+        return universe.page(prefix, sortByName, descending, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    private synchronized SymbolUniverse loadOnce(AtomicReference<SymbolUniverse> holder, Loader loader) throws Exception {
+        // drugi zahtev koji je cekao na lock ne preuzima spisak ponovo
+        SymbolUniverse universe = holder.get();
+        if (universe == null) {
+            universe = loader.load();
+            holder.set(universe);
+        }
+        return universe;
+    }
+
+    private SymbolUniverse loadStocks() throws Exception {
+        SymbolUniverse universe = SymbolUniverse.of(readRows(twelveDataClient.getAllStocks(""), "name", "mic_code"));
+        log.info("Stock universe loaded with {} symbols.", universe.size());
+        return universe;
+    }
+
+    private SymbolUniverse loadForexPairs() throws Exception {
+        SymbolUniverse universe = SymbolUniverse.of(readRows(twelveDataClient.getAllForexPairs(""), null, "currency_group"));
+        log.info("Forex universe loaded with {} pairs.", universe.size());
+        return universe;
+    }
+
+    /**
+     * Cita niz "data" streaming parserom i vraca redove {symbol, ime, berza}, bez pravljenja JSON stabla.
+     * Bez polja za ime, ime je sam simbol.
+     */
+    private List<String[]> readRows(String response, String nameField, String exchangeField) throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(response)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                throw new IllegalStateException("Unexpected response format");
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (!"data".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    String symbol = null, name = null, exchange = null;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String key = parser.getCurrentName();
+                        parser.nextToken();
+                        if ("symbol".equals(key)) symbol = parser.getValueAsString();
+                        else if (key.equals(nameField)) name = parser.getValueAsString();
+                        else if (key.equals(exchangeField)) exchange = parser.getValueAsString();
+                        else parser.skipChildren();
+                    }
+                    if (symbol != null && !symbol.isEmpty())
+                        rows.add(new String[]{symbol, name != null ? name : symbol, exchange});
+                }
+            }
+        }
+        return rows;
+    }
+
+    @FunctionalInterface
+    private interface Loader {
+        SymbolUniverse load() throws Exception;
+    }
+}
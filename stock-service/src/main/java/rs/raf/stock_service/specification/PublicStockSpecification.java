@@ -0,0 +1,39 @@
+package rs.raf.stock_service.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+import rs.raf.stock_service.domain.dto.PublicStockFilterDto;
+import rs.raf.stock_service.domain.entity.PublicStock;
+
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PublicStockSpecification {
+
+    public static Specification<PublicStock> buildSpecification(PublicStockFilterDto filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getTicker() != null && !filter.getTicker().isEmpty()) {
+                predicates.add(cb.like(root.get("ticker"), filter.getTicker().toUpperCase() + "%"));
+            }
+            if (filter.getOwner() != null && !filter.getOwner().isEmpty()) {
+                predicates.add(cb.like(cb.lower(root.get("owner")), "%" + filter.getOwner().toLowerCase() + "%"));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            if (filter.getMinAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), filter.getMinAmount()));
+            }
+            if (filter.getExcludeUserId() != null) {
+                predicates.add(cb.notEqual(root.get("userId"), filter.getExcludeUserId()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
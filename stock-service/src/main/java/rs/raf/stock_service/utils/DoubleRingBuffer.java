@@ -0,0 +1,55 @@
+package rs.raf.stock_service.utils;
+
+/*
+        Kruzni bafer fiksnog kapaciteta nad primitivnim double-ovima. Kad je pun, add izbacuje
+        najstariju vrednost i vraca je, tako da pozivalac moze da azurira pokretne sume u O(1).
+     */
+public class DoubleRingBuffer {
+
+    private final double[] values;
+    private int head;
+    private int size;
+
+    public DoubleRingBuffer(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Dodaje vrednost i vraca izbacenu, ili NaN ako bafer jos nije bio pun.
+     */
+    public double add(double value) {
+        double evicted = Double.NaN;
+        if (size == values.length) {
+            evicted = values[head];
+        } else {
+            size++;
+        }
+        values[head] = value;
+        head = (head + 1) % values.length;
+        return evicted;
+    }
+
+    // 0 je najstarija vrednost
+    public double get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        int start = size == values.length ? head : 0;
+        return values[(start + index) % values.length];
+    }
+
+    public double last() {
+        return get(size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isFull() {
+        return size == values.length;
+    }
+}
@@ -0,0 +1,40 @@
+package rs.raf.stock_service.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import rs.raf.stock_service.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/*
+        Kursor za keyset paginaciju po (lastModification, id), opadajuce.
+        Klijent ga dobija kao neprozirni string i vraca ga da bi dobio sledecu stranicu.
+     */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private final LocalDateTime lastModification;
+    private final Long id;
+
+    public String encode() {
+        // orders.last_modification je NOT NULL (Order.prePersist), null ovde znaci red koji nije iz baze
+        if (lastModification == null)
+            throw new IllegalStateException("Order " + id + " has no lastModification, cannot build a keyset cursor");
+        String raw = lastModification.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package rs.raf.stock_service.utils;
+
+import rs.raf.stock_service.domain.enums.ListingType;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/*
+        Nepromenljiv trigram indeks nad tickerom i imenom listinga. Svaka rec se indeksira kao "$$rec$",
+        pa pocetni trigrami pokrivaju pretragu po prefiksu, a ostali podstringove i greske u kucanju.
+        Kandidati se skupljaju iz posting lista upitnih trigrama; u autocomplete-u prolazi onaj ko deli bar
+        pola trigrama ili sadrzi upit kao podstring, a za filter listinga (containing) samo podstring. Rangiranje: tacan ticker, prefiks tickera, prefiks reci u imenu,
+        podstring, pa udeo zajednickih trigrama.
+     */
+public class ListingSearchIndex {
+
+    private static final String PAD = "$$";
+
+    private final long[] ids;
+    private final String[] tickers;
+    private final String[] names;
+    private final ListingType[] types;
+    private final String[] tickerKeys;
+    private final String[] nameKeys;
+    private final Map<String, int[]> postings;
+
+    private ListingSearchIndex(long[] ids, String[] tickers, String[] names, ListingType[] types, Map<String, int[]> postings) {
+        this.ids = ids;
+        this.tickers = tickers;
+        this.names = names;
+        this.types = types;
+        this.postings = postings;
+        this.tickerKeys = new String[ids.length];
+        this.nameKeys = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            tickerKeys[i] = tickers[i].toLowerCase();
+            nameKeys[i] = names[i].toLowerCase();
+        }
+    }
+
+    /**
+     * Pravi indeks od redova {id, ticker, name, type}.
+     */
+    public static ListingSearchIndex of(List<Object[]> rows) {
+        int n = rows.size();
+        long[] ids = new long[n];
+        String[] tickers = new String[n];
+        String[] names = new String[n];
+        ListingType[] types = new ListingType[n];
+        Map<String, List<Integer>> building = new HashMap<>();
+
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            ids[i] = ((Number) row[0]).longValue();
+            tickers[i] = row[1] != null ? (String) row[1] : "";
+            names[i] = row[2] != null ? (String) row[2] : "";
+            types[i] = (ListingType) row[3];
+
+            Set<String> grams = new HashSet<>();
+            for (String word : words(tickers[i] + " " + names[i]))
+                addGrams(grams, PAD + word + "$");
+            for (String gram : grams)
+                building.computeIfAbsent(gram, g -> new ArrayList<>()).add(i);
+        }
+
+        Map<String, int[]> postings = new HashMap<>(building.size() * 2);
+        building.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+        return new ListingSearchIndex(ids, tickers, names, types, postings);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public String ticker(int index) {
+        return tickers[index];
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public ListingType type(int index) {
+        return types[index];
+    }
+
+    /**
+     * Vraca pozicije najboljih pogodaka, od najboljeg. Poslednja rec upita se tretira kao nedovrsena.
+     */
+    public int[] search(String query, int limit, Predicate<ListingType> allowed) {
+        if (query == null || limit <= 0) return new int[0];
+        String normalized = query.trim().toLowerCase();
+        List<String> queryWords = words(normalized);
+        if (queryWords.isEmpty()) return new int[0];
+
+        Set<String> grams = queryGrams(queryWords);
+        Map<Integer, Integer> shared = sharedGrams(grams);
+
+        // kratki upiti su cisto prefiksni, pa moraju da se poklope svi trigrami
+        int required = grams.size() <= 2 ? grams.size() : (grams.size() + 1) / 2;
+
+        PriorityQueue<long[]> best = new PriorityQueue<>(Comparator.comparingLong(hit -> hit[1]));
+        for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+            int i = candidate.getKey();
+            if (allowed != null && !allowed.test(types[i])) continue;
+
+            int rank = rank(i, normalized);
+            if (rank == 0 && candidate.getValue() < required) continue;
+
+            best.add(new long[]{i, score(i, rank, candidate.getValue(), grams.size())});
+            if (best.size() > limit) best.poll();
+        }
+
+        int[] result = new int[best.size()];
+        for (int k = result.length - 1; k >= 0; k--) result[k] = (int) best.poll()[0];
+        return result;
+    }
+
+    /**
+     * Sve pozicije ciji ticker ili ime sadrze upit kao podstring (isto sto i LIKE %upit%), bez limita
+     * i bez poklapanja samo po trigramima, rangirane kao u search. Takav pogodak sa upitom deli unutrasnji
+     * trigram reci od 3+ slova, ili "$$x" trigram svake reci posle prve. Jedino upit od jedne reci krace
+     * od 3 slova (npr. "ab-") nema takav trigram, pa se tada prolazi ceo indeks.
+     */
+    public int[] containing(String query, Predicate<ListingType> allowed) {
+        if (query == null) return new int[0];
+        String term = query.toLowerCase();
+        List<String> queryWords = words(term);
+        if (queryWords.isEmpty()) return new int[0];
+
+        Set<String> grams = queryGrams(queryWords);
+        Map<Integer, Integer> shared = sharedGrams(grams);
+        if (queryWords.size() == 1 && queryWords.get(0).length() < 3)
+            for (int i = 0; i < ids.length; i++) shared.putIfAbsent(i, 0);
+
+        String normalized = term.trim();
+        List<long[]> hits = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+            int i = candidate.getKey();
+            if (allowed != null && !allowed.test(types[i])) continue;
+            if (!tickerKeys[i].contains(term) && !nameKeys[i].contains(term)) continue;
+
+            hits.add(new long[]{i, score(i, rank(i, normalized), candidate.getValue(), grams.size())});
+        }
+
+        hits.sort(Comparator.comparingLong((long[] hit) -> hit[1]).reversed());
+        int[] result = new int[hits.size()];
+        for (int k = 0; k < result.length; k++) result[k] = (int) hits.get(k)[0];
+        return result;
+    }
+
+    private Set<String> queryGrams(List<String> queryWords) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int w = 0; w < queryWords.size(); w++) {
+            String word = queryWords.get(w);
+            addGrams(grams, PAD + word + (w < queryWords.size() - 1 ? "$" : ""));
+        }
+        return grams;
+    }
+
+    private Map<Integer, Integer> sharedGrams(Set<String> grams) {
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            int[] posting = postings.get(gram);
+            if (posting == null) continue;
+            for (int position : posting) shared.merge(position, 1, Integer::sum);
+        }
+        return shared;
+    }
+
+    // veci kljuc je bolji pogodak; kraci ticker ima prednost kod istog ranga
+    private long score(int i, int rank, int sharedGrams, int queryGrams) {
+        return ((long) rank * 1000 + sharedGrams * 100L / queryGrams) * 1000 - Math.min(tickers[i].length(), 999);
+    }
+
+    private int rank(int i, String query) {
+        String ticker = tickerKeys[i];
+        String name = nameKeys[i];
+        if (ticker.equals(query)) return 4;
+        if (ticker.startsWith(query)) return 3;
+        if (name.startsWith(query) || name.contains(" " + query)) return 2;
+        if (ticker.contains(query) || name.contains(query)) return 1;
+        return 0;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+            if (!word.isEmpty()) words.add(word);
+        return words;
+    }
+
+    private static void addGrams(Set<String> grams, String padded) {
+        for (int i = 0; i + 3 <= padded.length(); i++)
+            grams.add(padded.substring(i, i + 3));
+    }
+}
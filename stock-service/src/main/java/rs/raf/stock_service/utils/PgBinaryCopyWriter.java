@@ -0,0 +1,101 @@
+package rs.raf.stock_service.utils;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+        Pise redove u PostgreSQL binary COPY formatu (COPY ... FROM STDIN WITH (FORMAT binary)).
+        Podrzani su samo tipovi koji nam trebaju: int4, int8, numeric i timestamp bez zone.
+     */
+public class PgBinaryCopyWriter implements Closeable {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final LocalDateTime PG_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final short NUMERIC_POS = 0x0000;
+    private static final short NUMERIC_NEG = 0x4000;
+
+    private final DataOutputStream out;
+
+    public PgBinaryCopyWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.out.write(SIGNATURE);
+        this.out.writeInt(0); // flags
+        this.out.writeInt(0); // duzina header extension-a
+    }
+
+    public void startRow(int columns) throws IOException {
+        out.writeShort(columns);
+    }
+
+    public void writeNull() throws IOException {
+        out.writeInt(-1);
+    }
+
+    public void writeInt(Integer value) throws IOException {
+        if (value == null) { writeNull(); return; }
+        out.writeInt(4);
+        out.writeInt(value);
+    }
+
+    public void writeLong(Long value) throws IOException {
+        if (value == null) { writeNull(); return; }
+        out.writeInt(8);
+        out.writeLong(value);
+    }
+
+    public void writeTimestamp(LocalDateTime value) throws IOException {
+        if (value == null) { writeNull(); return; }
+        out.writeInt(8);
+        out.writeLong(ChronoUnit.MICROS.between(PG_EPOCH, value));
+    }
+
+    // numeric se salje kao niz cifara u bazi 10000: ndigits, weight, sign, dscale, cifre
+    public void writeNumeric(BigDecimal value) throws IOException {
+        if (value == null) { writeNull(); return; }
+
+        int dscale = Math.max(value.scale(), 0);
+        String plain = value.abs().setScale(dscale, RoundingMode.UNNECESSARY).toPlainString();
+        int dot = plain.indexOf('.');
+        String intPart = dot < 0 ? plain : plain.substring(0, dot);
+        String fracPart = dot < 0 ? "" : plain.substring(dot + 1);
+
+        intPart = "0".repeat((4 - intPart.length() % 4) % 4) + intPart;
+        fracPart = fracPart + "0".repeat((4 - fracPart.length() % 4) % 4);
+
+        List<Short> digits = new ArrayList<>();
+        String all = intPart + fracPart;
+        for (int i = 0; i < all.length(); i += 4)
+            digits.add(Short.parseShort(all.substring(i, i + 4)));
+
+        int weight = intPart.length() / 4 - 1;
+        while (!digits.isEmpty() && digits.get(0) == 0) {
+            digits.remove(0);
+            weight--;
+        }
+        while (!digits.isEmpty() && digits.get(digits.size() - 1) == 0)
+            digits.remove(digits.size() - 1);
+        if (digits.isEmpty()) weight = 0;
+
+        out.writeInt(8 + 2 * digits.size());
+        out.writeShort(digits.size());
+        out.writeShort(weight);
+        out.writeShort(value.signum() < 0 && !digits.isEmpty() ? NUMERIC_NEG : NUMERIC_POS);
+        out.writeShort(dscale);
+        for (short digit : digits)
+            out.writeShort(digit);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.writeShort(-1); // trailer
+        out.close();
+    }
+}
@@ -0,0 +1,131 @@
+package rs.raf.stock_service.utils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/*
+        Nepromenljiv spisak simbola u paralelnim nizovima sortiranim po simbolu. Pretraga po prefiksu je
+        binarna pretraga opsega [prefix, prefix + Character.MAX_VALUE), a sortiranje po imenu koristi unapred
+        izracunatu permutaciju, tako da stranica ne zahteva kopiranje celog spiska.
+     */
+public class SymbolUniverse {
+
+    private final String[] symbols;
+    private final String[] names;
+    private final String[] exchanges;
+    private final int[] byName;
+    private final LocalDateTime loadedAt;
+
+    private SymbolUniverse(String[] symbols, String[] names, String[] exchanges) {
+        this.symbols = symbols;
+        this.names = names;
+        this.exchanges = exchanges;
+        this.loadedAt = LocalDateTime.now();
+
+        Integer[] order = new Integer[symbols.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparing((Integer i) -> names[i], String.CASE_INSENSITIVE_ORDER).thenComparingInt(i -> i));
+        this.byName = new int[order.length];
+        for (int i = 0; i < order.length; i++) byName[i] = order[i];
+    }
+
+    /**
+     * Pravi universe od redova {simbol, ime, berza}. Ponovljene vrednosti berzi se dele da bi nizovi ostali mali.
+     */
+    public static SymbolUniverse of(List<String[]> rows) {
+        List<String[]> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing((String[] row) -> row[0]).thenComparing(row -> row[2], Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        Map<String, String> shared = new HashMap<>();
+        String[] symbols = new String[sorted.size()];
+        String[] names = new String[sorted.size()];
+        String[] exchanges = new String[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            String[] row = sorted.get(i);
+            symbols[i] = row[0];
+            names[i] = row[1] != null ? row[1] : "";
+            exchanges[i] = row[2] != null ? shared.computeIfAbsent(row[2], e -> e) : null;
+        }
+        return new SymbolUniverse(symbols, names, exchanges);
+    }
+
+    public int size() {
+        return symbols.length;
+    }
+
+    public String symbol(int index) {
+        return symbols[index];
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public String exchange(int index) {
+        return exchanges[index];
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    public int count(String prefix) {
+        int[] range = range(prefix);
+        return range[1] - range[0];
+    }
+
+    /**
+     * Vraca indekse jedne stranice. Bez prefiksa i kod sortiranja po simbolu stranica se cita direktno iz niza.
+     */
+    public int[] page(String prefix, boolean sortByName, boolean descending, long offset, int size) {
+        int[] range = range(prefix);
+        int total = range[1] - range[0];
+        if (offset >= total || size <= 0) return new int[0];
+
+        int length = (int) Math.min(size, total - offset);
+        int[] result = new int[length];
+
+        if (!sortByName) {
+            for (int i = 0; i < length; i++) {
+                long position = descending ? total - 1 - offset - i : offset + i;
+                result[i] = range[0] + (int) position;
+            }
+            return result;
+        }
+
+        int[] source;
+        if (total == symbols.length) {
+            source = byName;
+        } else {
+            // opseg prefiksa je obicno mali, pa se sortira samo on
+            Integer[] matches = new Integer[total];
+            for (int i = 0; i < total; i++) matches[i] = range[0] + i;
+            Arrays.sort(matches, Comparator.comparing((Integer i) -> names[i], String.CASE_INSENSITIVE_ORDER).thenComparingInt(i -> i));
+            source = new int[total];
+            for (int i = 0; i < total; i++) source[i] = matches[i];
+        }
+
+        for (int i = 0; i < length; i++) {
+            long position = descending ? total - 1 - offset - i : offset + i;
+            result[i] = source[(int) position];
+        }
+        return result;
+    }
+
+    private int[] range(String prefix) {
+        if (prefix == null || prefix.isEmpty()) return new int[]{0, symbols.length};
+        String normalized = prefix.toUpperCase();
+        return new int[]{lowerBound(normalized), lowerBound(normalized + Character.MAX_VALUE)};
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = symbols.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (symbols[mid].compareTo(key) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
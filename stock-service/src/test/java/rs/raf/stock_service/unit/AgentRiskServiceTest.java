@@ -0,0 +1,121 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rs.raf.stock_service.client.UserClient;
+import rs.raf.stock_service.domain.dto.ActuaryLimitDto;
+import rs.raf.stock_service.domain.dto.LimitAmountDto;
+import rs.raf.stock_service.exceptions.ActuaryLimitNotFoundException;
+import rs.raf.stock_service.service.AgentRiskService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AgentRiskServiceTest {
+
+    @Mock
+    private UserClient userClient;
+
+    @InjectMocks
+    private AgentRiskService agentRiskService;
+
+    @Test
+    void tryReserve_LoadsLimitOnceAndReservesLocally() {
+        when(userClient.getActuaryByEmployeeId(1L))
+                .thenReturn(new ActuaryLimitDto(BigDecimal.valueOf(1000), BigDecimal.ZERO, false));
+
+        assertTrue(agentRiskService.tryReserve(1L, BigDecimal.valueOf(600)));
+        assertFalse(agentRiskService.tryReserve(1L, BigDecimal.valueOf(600)));
+        assertTrue(agentRiskService.tryReserve(1L, BigDecimal.valueOf(400)));
+
+        assertEquals(BigDecimal.valueOf(1000), agentRiskService.getLimit(1L).getUsedLimit());
+        verify(userClient, times(1)).getActuaryByEmployeeId(1L);
+    }
+
+    @Test
+    void tryReserve_ShouldFail_WhenApprovalIsNeeded() {
+        when(userClient.getActuaryByEmployeeId(1L))
+                .thenReturn(new ActuaryLimitDto(BigDecimal.valueOf(1000), BigDecimal.ZERO, true));
+
+        assertFalse(agentRiskService.tryReserve(1L, BigDecimal.ONE));
+    }
+
+    @Test
+    void tryReserve_ShouldThrow_WhenLimitDoesNotExist() {
+        when(userClient.getActuaryByEmployeeId(1L)).thenThrow(new ActuaryLimitNotFoundException(1L));
+
+        assertThrows(ActuaryLimitNotFoundException.class, () -> agentRiskService.tryReserve(1L, BigDecimal.ONE));
+    }
+
+    @Test
+    void tryReserve_ConcurrentOrdersCannotOvershootLimit() throws Exception {
+        when(userClient.getActuaryByEmployeeId(1L))
+                .thenReturn(new ActuaryLimitDto(BigDecimal.valueOf(1000), BigDecimal.ZERO, false));
+        agentRiskService.getLimit(1L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            results.add(executor.submit(() -> agentRiskService.tryReserve(1L, BigDecimal.valueOf(30))));
+
+        int reserved = 0;
+        for (Future<Boolean> result : results)
+            if (result.get()) reserved++;
+        executor.shutdown();
+
+        assertEquals(33, reserved);
+        assertEquals(BigDecimal.valueOf(990), agentRiskService.getLimit(1L).getUsedLimit());
+    }
+
+    @Test
+    void releaseAndNotifications_UpdateCachedState() {
+        when(userClient.getActuaryByEmployeeId(1L))
+                .thenReturn(new ActuaryLimitDto(BigDecimal.valueOf(1000), BigDecimal.ZERO, false));
+        agentRiskService.tryReserve(1L, BigDecimal.valueOf(500));
+
+        agentRiskService.release(1L, BigDecimal.valueOf(200));
+        assertEquals(BigDecimal.valueOf(300), agentRiskService.getLimit(1L).getUsedLimit());
+
+        // promena limita iz user-service-a ne brise lokalne rezervacije
+        agentRiskService.applyLimitChange(1L, new ActuaryLimitDto(BigDecimal.valueOf(2000), BigDecimal.ZERO, true));
+        ActuaryLimitDto limit = agentRiskService.getLimit(1L);
+        assertEquals(BigDecimal.valueOf(2000), limit.getLimitAmount());
+        assertEquals(BigDecimal.valueOf(300), limit.getUsedLimit());
+        assertTrue(limit.isNeedsApproval());
+
+        agentRiskService.resetAllUsedLimits();
+        assertEquals(BigDecimal.ZERO, agentRiskService.getLimit(1L).getUsedLimit());
+    }
+
+    @Test
+    void persistReserve_WritesToLedger_AndDropsCachedStateWhenRejected() throws InterruptedException {
+        when(userClient.getActuaryByEmployeeId(1L))
+                .thenReturn(new ActuaryLimitDto(BigDecimal.valueOf(1000), BigDecimal.ZERO, false))
+                .thenReturn(new ActuaryLimitDto(BigDecimal.valueOf(1000), BigDecimal.valueOf(900), false));
+        agentRiskService.tryReserve(1L, BigDecimal.valueOf(500));
+        doThrow(new RuntimeException("limit exceeded")).when(userClient)
+                .consumeActuaryLimit(eq(1L), any(LimitAmountDto.class), eq(false));
+
+        agentRiskService.persistReserve(1L, BigDecimal.valueOf(500), false);
+
+        verify(userClient, timeout(1000)).consumeActuaryLimit(1L, new LimitAmountDto(BigDecimal.valueOf(500)), false);
+        // ledger je izvor istine, posle odbijanja se stanje ponovo cita iz user-service-a
+        BigDecimal used = agentRiskService.getLimit(1L).getUsedLimit();
+        for (int i = 0; i < 100 && used.compareTo(BigDecimal.valueOf(900)) != 0; i++) {
+            Thread.sleep(10);
+            used = agentRiskService.getLimit(1L).getUsedLimit();
+        }
+        assertEquals(BigDecimal.valueOf(900), used);
+    }
+}
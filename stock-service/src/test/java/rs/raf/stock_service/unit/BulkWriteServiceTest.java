@@ -0,0 +1,72 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.Test;
+import rs.raf.stock_service.domain.entity.ListingPriceHistory;
+import rs.raf.stock_service.domain.entity.Stock;
+import rs.raf.stock_service.repository.ListingPriceHistoryRepository;
+import rs.raf.stock_service.service.BulkWriteService;
+import rs.raf.stock_service.utils.PgBinaryCopyWriter;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class BulkWriteServiceTest {
+
+    @Test
+    void writePriceHistory_FallsBackToJpaInBatches_WhenCopyIsDisabled() {
+        DataSource dataSource = mock(DataSource.class);
+        ListingPriceHistoryRepository repository = mock(ListingPriceHistoryRepository.class);
+        BulkWriteService bulkWriteService = new BulkWriteService(dataSource, repository, false);
+
+        Stock stock = new Stock();
+        stock.setId(1L);
+        List<ListingPriceHistory> history = new ArrayList<>();
+        for (int i = 0; i < 250; i++)
+            history.add(ListingPriceHistory.builder().listing(stock).date(LocalDateTime.now().minusMinutes(i)).build());
+
+        bulkWriteService.writePriceHistory(history);
+
+        verify(repository, times(3)).saveAllAndFlush(anyList());
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void pgBinaryCopyWriter_EncodesNumericAndTimestamp() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PgBinaryCopyWriter writer = new PgBinaryCopyWriter(bytes)) {
+            writer.startRow(3);
+            writer.writeNumeric(new BigDecimal("-1234.05"));
+            writer.writeTimestamp(LocalDateTime.of(2000, 1, 1, 0, 0, 1));
+            writer.writeNumeric(null);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        in.skipBytes(11 + 4 + 4);
+        assertEquals(3, in.readShort());
+
+        // -1234.05 = -(1234 * 10000^0 + 500 * 10000^-1), dscale 2
+        assertEquals(12, in.readInt());
+        assertEquals(2, in.readShort());
+        assertEquals(0, in.readShort());
+        assertEquals(0x4000, in.readShort());
+        assertEquals(2, in.readShort());
+        assertEquals(1234, in.readShort());
+        assertEquals(500, in.readShort());
+
+        assertEquals(8, in.readInt());
+        assertEquals(1_000_000L, in.readLong());
+
+        assertEquals(-1, in.readInt());
+        assertEquals(-1, in.readShort());
+    }
+}
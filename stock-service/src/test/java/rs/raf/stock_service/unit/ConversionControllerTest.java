@@ -9,6 +9,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import rs.raf.stock_service.controller.ConversionController;
 import rs.raf.stock_service.domain.dto.ConversionResponseDto;
+import rs.raf.stock_service.service.ForexRateService;
 import rs.raf.stock_service.service.ForexService;
 import rs.raf.stock_service.utils.JwtTokenUtil;
 
@@ -32,6 +33,9 @@ class ConversionControllerTest {
     @MockBean
     private ForexService forexService;
 
+    @MockBean
+    private ForexRateService forexRateService;
+
     @MockBean
     private JwtTokenUtil jwtTokenUtil;  // Dodajemo mock za JwtTokenUtil da ne bismo dizali ceo Security kontekst
 
@@ -47,7 +51,7 @@ class ConversionControllerTest {
         responseDto.setConversionRate(conversionRate);
         responseDto.setConvertedAmount(convertedAmount);
 
-        when(forexService.getConversionRate(base, target)).thenReturn(conversionRate);
+        when(forexRateService.getConversionRate(base, target)).thenReturn(conversionRate);
 
         mockMvc.perform(get("/api/conversion/convert")
                         .param("base", base)
@@ -66,7 +70,7 @@ class ConversionControllerTest {
         String target = "EUR";
         BigDecimal conversionRate = new BigDecimal("0.85");
 
-        when(forexService.getConversionRate(base, target)).thenReturn(conversionRate);
+        when(forexRateService.getConversionRate(base, target)).thenReturn(conversionRate);
 
         mockMvc.perform(get("/api/conversion/convert")
                         .param("base", base)
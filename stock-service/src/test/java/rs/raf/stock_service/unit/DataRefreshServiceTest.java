@@ -38,6 +38,14 @@ public class DataRefreshServiceTest {
     @Mock private ListingService listingService;
     @Mock private EntityManager entityManager;
     @Mock private OrderService orderService;
+    @Mock private PublicStockService publicStockService;
+    @Mock private BulkWriteService bulkWriteService;
+    @Mock private IndicatorService indicatorService;
+    @Mock private MarginMonitorService marginMonitorService;
+    @Mock private ForexRateService forexRateService;
+    @Mock private OptionChainService optionChainService;
+    @Mock private ListingCacheService listingCacheService;
+    @Mock private ListingSearchService listingSearchService;
 
     @BeforeEach
     public void setUp() {
@@ -87,18 +95,6 @@ public class DataRefreshServiceTest {
         when(priceHistoryRepository.findDatesByListingId(1L)).thenReturn(Set.of());
 
         // Forex deo
-        when(forexService.getForexPair("USD", "EUR")).thenReturn(
-                ForexPairDto.builder()
-                        .ticker("USD/EUR")
-                        .baseCurrency("USD")
-                        .quoteCurrency("EUR")
-                        .price(new BigDecimal("1.1"))
-                        .exchangeRate(new BigDecimal("1.1"))
-                        .liquidity(String.valueOf(100L))
-                        .lastRefresh(LocalDateTime.now())
-                        .build()
-        );
-
         when(listingService.getForexPriceHistory(2L, "5min"))
                 .thenReturn(timeSeries);
         when(priceHistoryRepository.findDatesByListingId(2L)).thenReturn(Set.of());
@@ -128,6 +124,14 @@ public class DataRefreshServiceTest {
         verify(listingRepository, atLeastOnce()).findAll();
         verify(listingRepository, atLeastOnce()).save(any());
         verify(optionRepository, atLeastOnce()).saveAllAndFlush(any());
+        verify(bulkWriteService, atLeastOnce()).writePriceHistory(anyList());
+        verify(indicatorService, atLeastOnce()).onBars(anyLong(), eq(IndicatorService.DEFAULT_INTERVAL), anyList());
+        verify(forexRateService).refresh();
+        verify(forexRateService).updateForexPairs(List.of(forex));
+        verify(forexService, never()).getForexPair(any(), any());
+        verify(optionChainService).rebuild();
+        verify(listingCacheService).invalidate();
+        verify(listingSearchService).rebuild();
     }
 
     @Test
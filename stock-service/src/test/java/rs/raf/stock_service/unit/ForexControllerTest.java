@@ -14,6 +14,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import rs.raf.stock_service.controller.ForexController;
 import rs.raf.stock_service.domain.dto.ForexPairDto;
+import rs.raf.stock_service.service.ForexRateService;
 import rs.raf.stock_service.service.ForexService;
 
 import java.math.BigDecimal;
@@ -22,6 +23,7 @@ import java.util.Arrays;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -34,6 +36,8 @@ public class ForexControllerTest {
     private MockMvc mockMvc;
     @Mock
     private ForexService forexService;
+    @Mock
+    private ForexRateService forexRateService;
     @InjectMocks
     private ForexController forexController;
 
@@ -70,7 +74,7 @@ public class ForexControllerTest {
         ForexPairDto dto2 = new ForexPairDto();
         dto2.setTicker("USDGBP");
         var page = new PageImpl<>(Arrays.asList(dto1, dto2), PageRequest.of(0, 10), 2);
-        when(forexService.getForexPairsList(any(PageRequest.class))).thenReturn(page);
+        when(forexService.getForexPairsList(isNull(), any(PageRequest.class))).thenReturn(page);
 
         mockMvc.perform(get("/api/forex/all")
                         .param("page", "0")
@@ -82,7 +86,7 @@ public class ForexControllerTest {
 
     @Test
     public void testConvertCurrency_Success() throws Exception {
-        when(forexService.getConversionRate("USD", "EUR")).thenReturn(new BigDecimal("0.85"));
+        when(forexRateService.getConversionRate("USD", "EUR")).thenReturn(new BigDecimal("0.85"));
 
         mockMvc.perform(get("/api/forex/convert") // 🔴 Was "/api/exchange/convert"
                         .param("base", "USD")
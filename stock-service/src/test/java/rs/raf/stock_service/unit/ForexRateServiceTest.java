@@ -0,0 +1,104 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rs.raf.stock_service.domain.entity.ForexPair;
+import rs.raf.stock_service.repository.ListingRepository;
+import rs.raf.stock_service.service.ForexRateService;
+import rs.raf.stock_service.service.ForexService;
+import rs.raf.stock_service.service.MarginMonitorService;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ForexRateServiceTest {
+
+    @Mock
+    private ForexService forexService;
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private MarginMonitorService marginMonitorService;
+
+    private ForexRateService forexRateService;
+
+    @BeforeEach
+    void setUp() {
+        forexRateService = new ForexRateService(forexService, listingRepository, marginMonitorService, "USD", 20);
+    }
+
+    private ForexPair pair(Long id, String base, String quote) {
+        ForexPair pair = new ForexPair();
+        pair.setId(id);
+        pair.setTicker(base + "/" + quote);
+        pair.setBaseCurrency(base);
+        pair.setQuoteCurrency(quote);
+        return pair;
+    }
+
+    @Test
+    void getConversionRate_DerivesCrossRateFromSingleBaseVector() {
+        when(forexService.getLatestRates("USD")).thenReturn(Map.of(
+                "USD", BigDecimal.ONE, "EUR", new BigDecimal("0.8"), "JPY", new BigDecimal("120")));
+
+        forexRateService.refresh();
+
+        assertEquals(0, new BigDecimal("150").compareTo(forexRateService.getConversionRate("EUR", "JPY")));
+        assertEquals(0, new BigDecimal("1.25").compareTo(forexRateService.getConversionRate("eur", "usd")));
+        verify(forexService, never()).getConversionRate(any(), any());
+    }
+
+    @Test
+    void getConversionRate_FallsBackToApiForUnknownCurrency() {
+        when(forexService.getConversionRate("USD", "XAU")).thenReturn(new BigDecimal("0.0005"));
+
+        assertEquals(new BigDecimal("0.0005"), forexRateService.getConversionRate("USD", "XAU"));
+    }
+
+    @Test
+    void updateForexPairs_WritesChangedPairsInOneBatch() {
+        when(forexService.getLatestRates("USD")).thenReturn(Map.of(
+                "USD", BigDecimal.ONE, "EUR", new BigDecimal("0.8"), "GBP", new BigDecimal("0.5")));
+        ForexPair eurGbp = pair(1L, "EUR", "GBP");
+        ForexPair usdChf = pair(2L, "USD", "CHF");
+
+        forexRateService.refresh();
+        int updated = forexRateService.updateForexPairs(List.of(eurGbp, usdChf));
+
+        // mid 0.625, spread 20bps -> bid 0.624375, ask 0.625625
+        assertEquals(1, updated);
+        assertEquals(0, new BigDecimal("0.625").compareTo(eurGbp.getExchangeRate()));
+        assertEquals(0, new BigDecimal("0.624375").compareTo(eurGbp.getPrice()));
+        assertEquals(0, new BigDecimal("0.625625").compareTo(eurGbp.getAsk()));
+        assertNull(usdChf.getPrice());
+        verify(listingRepository, times(1)).saveAll(List.of(eurGbp));
+        verify(marginMonitorService).onPriceTick(1L, eurGbp.getPrice());
+
+        // ista matrica drugi put ne menja nista
+        assertEquals(0, forexRateService.updateForexPairs(List.of(eurGbp)));
+        verify(listingRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void refresh_KeepsPreviousMatrixOnFailure() {
+        when(forexService.getLatestRates("USD"))
+                .thenReturn(Map.of("USD", BigDecimal.ONE, "EUR", new BigDecimal("0.8")))
+                .thenThrow(new RuntimeException("rate limit"));
+
+        forexRateService.refresh();
+        forexRateService.refresh();
+
+        assertEquals(0, new BigDecimal("0.8").compareTo(forexRateService.getConversionRate("USD", "EUR")));
+    }
+}
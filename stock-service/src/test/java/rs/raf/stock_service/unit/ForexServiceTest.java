@@ -8,19 +8,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import rs.raf.stock_service.client.AlphavantageClient;
 import rs.raf.stock_service.client.ExchangeRateApiClient;
-import rs.raf.stock_service.client.TwelveDataClient;
 import rs.raf.stock_service.domain.dto.ForexPairDto;
 import rs.raf.stock_service.exceptions.ExchangeRateConversionException;
 import rs.raf.stock_service.exceptions.ForexPairNotFoundException;
 import rs.raf.stock_service.exceptions.ForexPairsNotFoundException;
 import rs.raf.stock_service.exceptions.LatestRatesNotFoundException;
 import rs.raf.stock_service.service.ForexService;
+import rs.raf.stock_service.service.SymbolUniverseService;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,7 +40,7 @@ public class ForexServiceTest {
     private ExchangeRateApiClient exchangeRateApiClient;
 
     @Mock
-    private TwelveDataClient twelveDataClient;
+    private SymbolUniverseService symbolUniverseService;
 
     @InjectMocks
     private ForexService forexService;
@@ -117,15 +119,15 @@ public class ForexServiceTest {
     }
 
     @Test
-    public void testGetForexPairsList_Pagination_Success() throws Exception {
-        String forexJson = "{ \"data\": [ " +
-                "{\"symbol\": \"USD/EUR\"}," +
-                "{\"symbol\": \"USD/GBP\"}" +
-                "]}";
-        when(twelveDataClient.getAllForexPairs("")).thenReturn(forexJson);
-
+    public void testGetForexPairsList_Pagination_Success() {
         PageRequest pageable = PageRequest.of(0, 2);
-        Page<ForexPairDto> page = forexService.getForexPairsList(pageable);
+        ForexPairDto usdEur = new ForexPairDto();
+        usdEur.setTicker("USD/EUR");
+        ForexPairDto usdGbp = new ForexPairDto();
+        usdGbp.setTicker("USD/GBP");
+        when(symbolUniverseService.getForexPairs("USD/", pageable)).thenReturn(new PageImpl<>(List.of(usdEur, usdGbp), pageable, 2));
+
+        Page<ForexPairDto> page = forexService.getForexPairsList("USD/", pageable);
 
         assertEquals(2, page.getContent().size());
         assertEquals(2, page.getTotalElements());
@@ -133,10 +135,10 @@ public class ForexServiceTest {
 
     @Test
     public void testGetForexPairsList_Failure() {
-        when(twelveDataClient.getAllForexPairs(""))
-                .thenThrow(new RuntimeException("Data retrieval error"));
-
         PageRequest pageable = PageRequest.of(0, 2);
+        when(symbolUniverseService.getForexPairs(null, pageable))
+                .thenThrow(new ForexPairsNotFoundException("Data retrieval error"));
+
         assertThrows(ForexPairsNotFoundException.class, () -> forexService.getForexPairsList(pageable));
     }
 }
@@ -4,16 +4,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import rs.raf.stock_service.domain.dto.FuturesContractDto;
 import rs.raf.stock_service.domain.entity.FuturesContract;
+import rs.raf.stock_service.exceptions.FuturesContractNotFoundException;
 import rs.raf.stock_service.repository.FuturesRepository;
 import rs.raf.stock_service.service.FuturesService;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Optional;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class FuturesServiceTest {
 
@@ -36,7 +36,8 @@ class FuturesServiceTest {
         fc.setSettlementDate(LocalDate.of(2025, 6, 1));
         fc.setPrice(new BigDecimal("200"));
 
-        when(futuresRepository.findByTicker("WHEAT")).thenReturn(Optional.of(fc));
+        when(futuresRepository.findAll()).thenReturn(List.of(fc));
+        futuresService.reload();
 
         FuturesContractDto dto = futuresService.getFuturesContractByTicker("wheat");
 
@@ -47,12 +48,43 @@ class FuturesServiceTest {
 
     @Test
     void testGetFuturesContractByTicker_invalid_throwsException() {
-        when(futuresRepository.findByTicker("UNKNOWN")).thenReturn(Optional.empty());
-
-        Exception ex = assertThrows(RuntimeException.class, () -> {
+        Exception ex = assertThrows(FuturesContractNotFoundException.class, () -> {
             futuresService.getFuturesContractByTicker("UNKNOWN");
         });
 
         assertTrue(ex.getMessage().contains("Futures contract not found"));
     }
+
+    @Test
+    void update_ReplacesCatalogueEntryWithoutTouchingPreviousInstances() {
+        FuturesContractDto before = futuresService.getFuturesContracts().get(0);
+        int size = futuresService.getFuturesContracts().size();
+
+        FuturesContract fc = new FuturesContract();
+        fc.setTicker(before.getTicker());
+        fc.setContractSize(before.getContractSize());
+        fc.setContractUnit(before.getContractUnit());
+        fc.setMaintenanceMargin(before.getMaintenanceMargin());
+        fc.setSettlementDate(before.getSettlementDate());
+        fc.setPrice(before.getPrice().add(BigDecimal.TEN));
+        futuresService.update(fc);
+
+        FuturesContractDto after = futuresService.getFuturesContractByTicker(before.getTicker());
+        assertEquals(before.getPrice().add(BigDecimal.TEN), after.getPrice());
+        assertEquals(after, futuresService.getFuturesContracts().get(0));
+        assertEquals(size, futuresService.getFuturesContracts().size());
+        assertNotEquals(before.getPrice(), after.getPrice());
+    }
+
+    @Test
+    void testGetFuturesContracts_servedFromCatalogueWithoutRepository() {
+        List<FuturesContractDto> first = futuresService.getFuturesContracts();
+        List<FuturesContractDto> second = futuresService.getFuturesContracts();
+
+        assertFalse(first.isEmpty());
+        assertSame(first, second);
+        assertSame(first.get(0), futuresService.getFuturesContractByTicker(first.get(0).getTicker()));
+        assertThrows(UnsupportedOperationException.class, () -> first.add(FuturesContractDto.builder().build()));
+        verifyNoInteractions(futuresRepository);
+    }
 }
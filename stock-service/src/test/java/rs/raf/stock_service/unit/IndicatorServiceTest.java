@@ -0,0 +1,124 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rs.raf.stock_service.domain.dto.ListingIndicatorsDto;
+import rs.raf.stock_service.domain.entity.ListingPriceHistory;
+import rs.raf.stock_service.exceptions.ListingNotFoundException;
+import rs.raf.stock_service.exceptions.UnsupportedIntervalException;
+import rs.raf.stock_service.repository.ListingPriceHistoryRepository;
+import rs.raf.stock_service.repository.ListingRepository;
+import rs.raf.stock_service.service.IndicatorService;
+import rs.raf.stock_service.utils.DoubleRingBuffer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IndicatorServiceTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @Mock
+    private ListingPriceHistoryRepository priceHistoryRepository;
+
+    @InjectMocks
+    private IndicatorService indicatorService;
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 3, 9, 30);
+
+    private List<ListingPriceHistory> bars(int from, int count) {
+        List<ListingPriceHistory> bars = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            BigDecimal close = BigDecimal.valueOf(100 + i);
+            bars.add(ListingPriceHistory.builder()
+                    .date(START.plusMinutes(5L * i))
+                    .open(close)
+                    .high(close)
+                    .low(close)
+                    .close(close)
+                    .volume(10L)
+                    .build());
+        }
+        return bars;
+    }
+
+    @Test
+    void onBars_ComputesIndicatorsForRisingSeries() {
+        when(listingRepository.existsById(1L)).thenReturn(true);
+        when(priceHistoryRepository.findTop200ByListingIdOrderByDateDesc(1L)).thenReturn(List.of());
+
+        indicatorService.onBars(1L, IndicatorService.DEFAULT_INTERVAL, bars(0, 40));
+        ListingIndicatorsDto dto = indicatorService.getIndicators(1L, null);
+
+        assertEquals(40, dto.getBars());
+        // poslednjih 20 zatvaranja je 120..139
+        assertEquals(129.5, dto.getSma(), 1e-9);
+        assertEquals(100.0, dto.getRsi(), 1e-9);
+        assertTrue(dto.getMacd() > 0);
+        assertTrue(dto.getBollingerUpper() > dto.getSma() && dto.getBollingerLower() < dto.getSma());
+        assertEquals(119.5, dto.getVwap(), 1e-9);
+    }
+
+    @Test
+    void onBars_SkipsBarsThatAreNotNewer() {
+        when(listingRepository.existsById(1L)).thenReturn(true);
+        when(priceHistoryRepository.findTop200ByListingIdOrderByDateDesc(1L)).thenReturn(List.of());
+
+        indicatorService.onBars(1L, IndicatorService.DEFAULT_INTERVAL, bars(0, 25));
+        indicatorService.onBars(1L, IndicatorService.DEFAULT_INTERVAL, bars(20, 10));
+
+        ListingIndicatorsDto dto = indicatorService.getIndicators(1L, IndicatorService.DEFAULT_INTERVAL);
+        assertEquals(30, dto.getBars());
+        assertEquals(START.plusMinutes(5L * 29), dto.getLastBar());
+        assertNull(dto.getMacdSignal());
+    }
+
+    @Test
+    void getIndicators_WarmsUpFromHistoryOnlyOnce() {
+        when(listingRepository.existsById(1L)).thenReturn(true);
+        List<ListingPriceHistory> history = bars(0, 30);
+        when(priceHistoryRepository.findTop200ByListingIdOrderByDateDesc(1L)).thenReturn(history);
+
+        indicatorService.getIndicators(1L, null);
+        ListingIndicatorsDto dto = indicatorService.getIndicators(1L, null);
+
+        assertEquals(30, dto.getBars());
+        verify(priceHistoryRepository, times(1)).findTop200ByListingIdOrderByDateDesc(1L);
+    }
+
+    @Test
+    void getIndicators_ThrowsWhenListingMissing() {
+        when(listingRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ListingNotFoundException.class, () -> indicatorService.getIndicators(99L, null));
+    }
+
+    @Test
+    void getIndicators_RejectsUnsupportedInterval() {
+        assertThrows(UnsupportedIntervalException.class, () -> indicatorService.getIndicators(1L, "1min"));
+
+        verifyNoInteractions(listingRepository, priceHistoryRepository);
+    }
+
+    @Test
+    void doubleRingBuffer_EvictsOldestValue() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+
+        assertTrue(Double.isNaN(buffer.add(1)));
+        buffer.add(2);
+        buffer.add(3);
+        assertEquals(1, buffer.add(4));
+        assertEquals(2, buffer.get(0));
+        assertEquals(4, buffer.last());
+    }
+}
@@ -0,0 +1,94 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rs.raf.stock_service.domain.dto.ListingDto;
+import rs.raf.stock_service.domain.dto.ListingFilterDto;
+import rs.raf.stock_service.service.ListingCacheService;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListingCacheServiceTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<List<ListingDto>> loader = () -> {
+        loads.incrementAndGet();
+        return List.of(new ListingDto());
+    };
+
+    private ListingFilterDto filter(String search, String minPrice) {
+        ListingFilterDto filter = new ListingFilterDto();
+        filter.setSearch(search);
+        filter.setMinPrice(minPrice != null ? new BigDecimal(minPrice) : null);
+        return filter;
+    }
+
+    @Test
+    void get_ServesEquivalentFiltersFromMemory() {
+        ListingCacheService cache = new ListingCacheService(16);
+
+        cache.get(filter("AAPL", "10"), "client", loader);
+        cache.get(filter("aapl", "10.00"), "CLIENT", loader);
+
+        assertEquals(1, loads.get());
+
+        cache.get(filter("aapl", "10"), "SUPERVISOR", loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_ReloadsOnNextRequest() {
+        ListingCacheService cache = new ListingCacheService(16);
+
+        cache.get(filter("AAPL", null), "CLIENT", loader);
+        cache.invalidate();
+        cache.get(filter("AAPL", null), "CLIENT", loader);
+        cache.get(filter("AAPL", null), "CLIENT", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_InsideTransaction_WaitsForCommit() {
+        ListingCacheService cache = new ListingCacheService(16);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.get(filter("AAPL", null), "CLIENT", loader);
+            cache.invalidate();
+            cache.get(filter("AAPL", null), "CLIENT", loader);
+            assertEquals(1, loads.get());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.get(filter("AAPL", null), "CLIENT", loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_EvictsLeastRecentlyUsed() {
+        ListingCacheService cache = new ListingCacheService(2);
+
+        cache.get(filter("A", null), "CLIENT", loader);
+        cache.get(filter("B", null), "CLIENT", loader);
+        cache.get(filter("A", null), "CLIENT", loader);
+        cache.get(filter("C", null), "CLIENT", loader);
+
+        assertEquals(2, cache.size());
+        cache.get(filter("A", null), "CLIENT", loader);
+        assertEquals(3, loads.get());
+
+        cache.get(filter("B", null), "CLIENT", loader);
+        assertEquals(4, loads.get());
+    }
+}
@@ -11,6 +11,8 @@ import rs.raf.stock_service.controller.ListingController;
 import rs.raf.stock_service.domain.dto.*;
 import rs.raf.stock_service.domain.enums.ListingType;
 import rs.raf.stock_service.exceptions.ListingNotFoundException;
+import rs.raf.stock_service.service.IndicatorService;
+import rs.raf.stock_service.service.ListingSearchService;
 import rs.raf.stock_service.service.ListingService;
 import rs.raf.stock_service.utils.JwtTokenUtil;
 
@@ -30,6 +32,12 @@ class ListingControllerTest {
     @Mock
     private ListingService listingService;
 
+    @Mock
+    private IndicatorService indicatorService;
+
+    @Mock
+    private ListingSearchService listingSearchService;
+
     @Mock
     private JwtTokenUtil jwtTokenUtil;
 
@@ -161,4 +169,15 @@ class ListingControllerTest {
         verify(listingService, times(1)).updateListing(eq(listingId), any(ListingUpdateDto.class), eq(fakeToken));
     }
 
+    @Test
+    void searchListings_ShouldCapLimitAndPassRole() {
+        String fakeToken = "Bearer faketoken";
+        when(jwtTokenUtil.getUserRoleFromAuthHeader(fakeToken)).thenReturn("CLIENT");
+        List<ListingSearchResultDto> matches = List.of(new ListingSearchResultDto(1L, "AAPL", "Apple Inc.", ListingType.STOCK));
+        when(listingSearchService.autocomplete("app", 50, "CLIENT")).thenReturn(matches);
+
+        ResponseEntity<List<ListingSearchResultDto>> response = listingController.searchListings(fakeToken, "app", 500);
+
+        assertEquals(matches, response.getBody());
+    }
 }
@@ -0,0 +1,96 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rs.raf.stock_service.domain.dto.ListingSearchResultDto;
+import rs.raf.stock_service.domain.enums.ListingType;
+import rs.raf.stock_service.repository.ListingRepository;
+import rs.raf.stock_service.service.ListingSearchService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ListingSearchServiceTest {
+
+    @Mock
+    private ListingRepository listingRepository;
+
+    @InjectMocks
+    private ListingSearchService listingSearchService;
+
+    @BeforeEach
+    void setUp() {
+        when(listingRepository.findSearchRowsExcludingType(ListingType.OPTION)).thenReturn(List.of(
+                new Object[]{1L, "AAPL", "Apple Inc.", ListingType.STOCK},
+                new Object[]{2L, "APLE", "Apple Hospitality REIT", ListingType.STOCK},
+                new Object[]{3L, "MSFT", "Microsoft Corporation", ListingType.STOCK},
+                new Object[]{4L, "EUR/USD", "Euro / US Dollar", ListingType.FOREX},
+                new Object[]{5L, "CLJ22", "Crude Oil", ListingType.FUTURES}));
+        listingSearchService.rebuild();
+    }
+
+    private List<Long> ids(List<ListingSearchResultDto> results) {
+        return results.stream().map(ListingSearchResultDto::getId).toList();
+    }
+
+    @Test
+    void autocomplete_RanksExactTickerThenPrefixThenName() {
+        List<ListingSearchResultDto> results = listingSearchService.autocomplete("aapl", 10, "SUPERVISOR");
+        assertEquals(1L, results.get(0).getId());
+
+        List<Long> apple = ids(listingSearchService.autocomplete("apple", 10, "SUPERVISOR"));
+        assertEquals(2, apple.size());
+        assertTrue(apple.containsAll(List.of(1L, 2L)));
+
+        assertEquals(List.of(5L), ids(listingSearchService.autocomplete("cru", 10, "SUPERVISOR")));
+    }
+
+    @Test
+    void autocomplete_ToleratesTypos() {
+        assertTrue(ids(listingSearchService.autocomplete("microsfot", 10, "SUPERVISOR")).contains(3L));
+        assertTrue(ids(listingSearchService.autocomplete("appel", 10, "SUPERVISOR")).contains(1L));
+    }
+
+    @Test
+    void autocomplete_RespectsClientRoleAndLimit() {
+        assertTrue(listingSearchService.autocomplete("euro", 10, "CLIENT").isEmpty());
+        assertEquals(List.of(4L), ids(listingSearchService.autocomplete("euro", 10, "SUPERVISOR")));
+        assertEquals(1, listingSearchService.autocomplete("apple", 1, "SUPERVISOR").size());
+    }
+
+    @Test
+    void candidates_ReturnsNullForShortQueriesAndSubstringMatchesOtherwise() {
+        assertNull(listingSearchService.candidates("ap", "SUPERVISOR"));
+        assertTrue(listingSearchService.candidates("oil", "SUPERVISOR").contains(5L));
+        assertTrue(listingSearchService.candidates("zzzz", "SUPERVISOR").isEmpty());
+    }
+
+    @Test
+    void candidates_KeepOnlySubstringMatchesOfLikeSearch() {
+        assertEquals(List.of(3L), listingSearchService.candidates("rosoft", "SUPERVISOR"));
+        // autocomplete prasta greske u kucanju, filter listinga ne sme da vrati vise od LIKE-a
+        assertTrue(listingSearchService.candidates("microsfot", "SUPERVISOR").isEmpty());
+        assertTrue(listingSearchService.candidates("appel", "SUPERVISOR").isEmpty());
+        // jedina rec upita je kraj reci u tickeru, bez zajednickog trigrama
+        assertEquals(List.of(4L), listingSearchService.candidates("ur/", "SUPERVISOR"));
+    }
+
+    @Test
+    void candidates_AreNotTruncatedBeforeOtherFilters() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++)
+            rows.add(new Object[]{id, "T" + id, "Holding Corp " + id, ListingType.STOCK});
+        when(listingRepository.findSearchRowsExcludingType(ListingType.OPTION)).thenReturn(rows);
+        listingSearchService.rebuild();
+
+        assertEquals(1500, listingSearchService.candidates("corp", "SUPERVISOR").size());
+    }
+}
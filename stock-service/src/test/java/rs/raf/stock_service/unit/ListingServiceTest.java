@@ -5,10 +5,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.data.jpa.domain.Specification;
 import rs.raf.stock_service.client.TwelveDataClient;
 import rs.raf.stock_service.domain.dto.*;
 import rs.raf.stock_service.domain.entity.Exchange;
+import rs.raf.stock_service.domain.entity.FuturesContract;
 import rs.raf.stock_service.domain.entity.ListingPriceHistory;
 import rs.raf.stock_service.domain.entity.Stock;
 import rs.raf.stock_service.domain.enums.ListingType;
@@ -18,8 +20,13 @@ import rs.raf.stock_service.exceptions.ListingNotFoundException;
 import rs.raf.stock_service.exceptions.UnauthorizedException;
 import rs.raf.stock_service.repository.ListingPriceHistoryRepository;
 import rs.raf.stock_service.repository.ListingRepository;
-import rs.raf.stock_service.repository.OptionRepository;
+import rs.raf.stock_service.service.FuturesService;
+import rs.raf.stock_service.service.ListingCacheService;
+import rs.raf.stock_service.service.ListingSearchService;
 import rs.raf.stock_service.service.ListingService;
+import rs.raf.stock_service.service.MarginMonitorService;
+import rs.raf.stock_service.service.OptionChainService;
+import rs.raf.stock_service.service.PublicStockService;
 import rs.raf.stock_service.utils.JwtTokenUtil;
 
 import java.math.BigDecimal;
@@ -47,6 +54,12 @@ class ListingServiceTest {
     @Mock
     private JwtTokenUtil jwtTokenUtil;
 
+    @Mock
+    private PublicStockService publicStockService;
+
+    @Mock
+    private MarginMonitorService marginMonitorService;
+
     @InjectMocks
     private ListingService listingService;
 
@@ -57,7 +70,16 @@ class ListingServiceTest {
     private TimeSeriesMapper timeSeriesMapper;
 
     @Mock
-    private OptionRepository optionRepository;
+    private OptionChainService optionChainService;
+
+    @Spy
+    private ListingCacheService listingCacheService = new ListingCacheService(16);
+
+    @Mock
+    private ListingSearchService listingSearchService;
+
+    @Mock
+    private FuturesService futuresService;
 
 
     @BeforeEach
@@ -171,7 +193,7 @@ class ListingServiceTest {
         when(listingRepository.findById(1L)).thenReturn(Optional.of(stock));
         when(priceHistoryRepository.findAllByListingOrderByDateDesc(stock)).thenReturn(priceHistory);
         when(listingMapper.toDetailsDto(stock, priceHistory)).thenReturn(expectedDto);
-        when(optionRepository.findAllByUnderlyingStock(stock)).thenReturn(List.of());
+        when(optionChainService.getSettlementDates(stock.getId())).thenReturn(List.of(LocalDate.of(2024, 3, 2)));
 
 
         // Poziv metode
@@ -188,6 +210,7 @@ class ListingServiceTest {
         verify(listingRepository, times(1)).findById(1L);
         verify(priceHistoryRepository, times(1)).findAllByListingOrderByDateDesc(stock);
         verify(listingMapper, times(1)).toDetailsDto(stock, priceHistory);
+        verify(optionChainService, times(1)).getSettlementDates(1L);
     }
 
 
@@ -249,6 +272,23 @@ class ListingServiceTest {
         verify(listingRepository, times(1)).save(listing);
         verify(listingMapper, times(1)).toDto(listing, dailyInfo);
         verify(jwtTokenUtil, times(1)).getUserRoleFromAuthHeader(fakeToken); // ✅ Provera da je JWT validiran
+        verify(listingCacheService, times(1)).invalidate();
+    }
+
+    @Test
+    void updateListing_ShouldRefreshFuturesCatalogue_WhenFuturesPriceChanges() {
+        String fakeToken = "Bearer faketoken";
+        FuturesContract listing = new FuturesContract();
+        listing.setId(2L);
+        listing.setTicker("WHEAT");
+        listing.setPrice(new BigDecimal("200"));
+
+        when(jwtTokenUtil.getUserRoleFromAuthHeader(fakeToken)).thenReturn("SUPERVISOR");
+        when(listingRepository.findById(2L)).thenReturn(Optional.of(listing));
+
+        listingService.updateListing(2L, new ListingUpdateDto(new BigDecimal("210"), null), fakeToken);
+
+        verify(futuresService).update(argThat(contract -> contract.getPrice().equals(new BigDecimal("210"))));
     }
 
     @Test
@@ -0,0 +1,191 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rs.raf.stock_service.client.UserClient;
+import rs.raf.stock_service.domain.dto.ActuaryDto;
+import rs.raf.stock_service.domain.dto.ClientDto;
+import rs.raf.stock_service.domain.dto.EmailRequestDto;
+import rs.raf.stock_service.domain.dto.MarginStatusDto;
+import rs.raf.stock_service.domain.entity.ForexPair;
+import rs.raf.stock_service.domain.entity.PortfolioEntry;
+import rs.raf.stock_service.domain.entity.Stock;
+import rs.raf.stock_service.domain.enums.ListingType;
+import rs.raf.stock_service.repository.PortfolioEntryRepository;
+import rs.raf.stock_service.service.MarginMonitorService;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MarginMonitorServiceTest {
+
+    @Mock
+    private PortfolioEntryRepository portfolioEntryRepository;
+
+    @Mock
+    private UserClient userClient;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @InjectMocks
+    private MarginMonitorService marginMonitorService;
+
+    private Stock stock;
+
+    @BeforeEach
+    void setUp() {
+        stock = new Stock();
+        stock.setId(1L);
+        stock.setTicker("AAPL");
+        stock.setPrice(new BigDecimal("100"));
+        stock.setMaintenanceMargin(new BigDecimal("50"));
+
+        // notifikacije idu na executor; u testu se izvrsavaju odmah
+        lenient().doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+    }
+
+    private PortfolioEntry entry(Long userId, int amount) {
+        return PortfolioEntry.builder()
+                .userId(userId)
+                .listing(stock)
+                .type(ListingType.STOCK)
+                .amount(amount)
+                .averagePrice(new BigDecimal("100"))
+                .margin(true)
+                .build();
+    }
+
+    @Test
+    void onPriceTick_RaisesMarginCallOnceWhenEquityDropsBelowRequirement() {
+        when(userClient.getClientById(7L)).thenReturn(ClientDto.builder().email("client@test.com").build());
+        marginMonitorService.updatePosition(entry(7L, 10));
+
+        // kapital = 10 * (100 - 100 + 55) = 550, zahtev = 500
+        MarginStatusDto status = marginMonitorService.getStatus(7L);
+        assertEquals(0, new BigDecimal("550").compareTo(status.getEquity()));
+        assertEquals(0, new BigDecimal("500").compareTo(status.getRequirement()));
+        assertFalse(status.isMarginCall());
+
+        marginMonitorService.onPriceTick(1L, new BigDecimal("90"));
+        marginMonitorService.onPriceTick(1L, new BigDecimal("80"));
+
+        assertTrue(marginMonitorService.getStatus(7L).isMarginCall());
+        assertEquals(1, marginMonitorService.getMarginCalls().size());
+        verify(rabbitTemplate, times(1)).convertAndSend(eq("margin-call"), any(EmailRequestDto.class));
+
+        marginMonitorService.onPriceTick(1L, new BigDecimal("100"));
+        assertFalse(marginMonitorService.getStatus(7L).isMarginCall());
+    }
+
+    @Test
+    void onPriceTick_IgnoresPositionsNotBoughtOnMargin() {
+        PortfolioEntry cashEntry = entry(7L, 10);
+        cashEntry.setMargin(false);
+        marginMonitorService.updatePosition(cashEntry);
+
+        marginMonitorService.onPriceTick(1L, new BigDecimal("10"));
+
+        MarginStatusDto status = marginMonitorService.getStatus(7L);
+        assertEquals(0, status.getRequirement().signum());
+        assertFalse(status.isMarginCall());
+        verifyNoInteractions(rabbitTemplate, userClient, taskExecutor);
+    }
+
+    @Test
+    void updatePosition_AppliesMaintenanceMarginPerContractUnit() {
+        ForexPair forexPair = new ForexPair();
+        forexPair.setId(3L);
+        forexPair.setTicker("EUR/USD");
+        forexPair.setContractSize(1000);
+        forexPair.setPrice(new BigDecimal("1.10"));
+        // MM = contractSize * price * 0.10 = 110 po ugovoru
+        forexPair.setMaintenanceMargin(new BigDecimal("110"));
+
+        // 2 ugovora = 2000 jedinica
+        marginMonitorService.updatePosition(PortfolioEntry.builder()
+                .userId(9L)
+                .listing(forexPair)
+                .type(ListingType.FOREX)
+                .amount(2000)
+                .averagePrice(new BigDecimal("1.10"))
+                .margin(true)
+                .build());
+
+        // zahtev = 2000 * 110 / 1000 = 220, kapital = 2000 * 1.1 * 0.11 = 242
+        MarginStatusDto status = marginMonitorService.getStatus(9L);
+        assertEquals(0, new BigDecimal("220").compareTo(status.getRequirement()));
+        assertEquals(0, new BigDecimal("242").compareTo(status.getEquity()));
+        assertFalse(status.isMarginCall());
+
+        // pad od 0.02 po jedinici = -40 kapitala, 202 < 220
+        marginMonitorService.onPriceTick(3L, new BigDecimal("1.08"));
+        assertTrue(marginMonitorService.getStatus(9L).isMarginCall());
+    }
+
+    @Test
+    void onPriceTick_OnlyTouchesHoldersOfListing() {
+        marginMonitorService.updatePosition(entry(7L, 10));
+
+        marginMonitorService.onPriceTick(2L, new BigDecimal("1"));
+
+        assertFalse(marginMonitorService.getStatus(7L).isMarginCall());
+        verifyNoInteractions(rabbitTemplate, userClient);
+    }
+
+    @Test
+    void removePosition_ClearsRequirement() {
+        PortfolioEntry entry = entry(7L, 10);
+        marginMonitorService.updatePosition(entry);
+
+        marginMonitorService.removePosition(entry);
+
+        assertEquals(0, marginMonitorService.getStatus(7L).getRequirement().signum());
+    }
+
+    @Test
+    void onPriceTick_SendsMarginCallToAgentEmail() {
+        when(userClient.getClientById(8L)).thenThrow(new RuntimeException("not a client"));
+        when(userClient.getEmployeeById(8L)).thenReturn(ActuaryDto.builder().email("agent@test.com").build());
+        marginMonitorService.updatePosition(entry(8L, 10));
+
+        marginMonitorService.onPriceTick(1L, new BigDecimal("80"));
+
+        verify(taskExecutor, times(1)).execute(any(Runnable.class));
+        verify(rabbitTemplate, times(1)).convertAndSend(eq("margin-call"),
+                argThat((EmailRequestDto email) -> "agent@test.com".equals(email.getDestination())));
+    }
+
+    @Test
+    void updatePosition_AppliesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            marginMonitorService.updatePosition(entry(7L, 10));
+            assertEquals(0, marginMonitorService.getStatus(7L).getRequirement().signum());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, new BigDecimal("500").compareTo(marginMonitorService.getStatus(7L).getRequirement()));
+    }
+}
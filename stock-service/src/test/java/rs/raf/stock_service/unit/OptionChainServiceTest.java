@@ -0,0 +1,85 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rs.raf.stock_service.domain.dto.StockOptionDto;
+import rs.raf.stock_service.domain.entity.Option;
+import rs.raf.stock_service.domain.entity.Stock;
+import rs.raf.stock_service.domain.enums.OptionType;
+import rs.raf.stock_service.domain.mapper.StockOptionMapper;
+import rs.raf.stock_service.repository.OptionRepository;
+import rs.raf.stock_service.service.OptionChainService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OptionChainServiceTest {
+
+    @Mock
+    private OptionRepository optionRepository;
+
+    @Spy
+    private StockOptionMapper stockOptionMapper;
+
+    @InjectMocks
+    private OptionChainService optionChainService;
+
+    private Option option(Stock stock, LocalDate date, String strike, OptionType type) {
+        Option option = new Option();
+        option.setUnderlyingStock(stock);
+        option.setSettlementDate(date);
+        option.setStrikePrice(new BigDecimal(strike));
+        option.setOptionType(type);
+        option.setOpenInterest(100);
+        option.setOnSale(true);
+        return option;
+    }
+
+    @Test
+    void rebuild_GroupsByUnderlyingAndSortsExpiriesAndStrikes() {
+        Stock apple = new Stock();
+        apple.setId(1L);
+        Stock msft = new Stock();
+        msft.setId(2L);
+        LocalDate june = LocalDate.of(2025, 6, 15);
+        LocalDate may = LocalDate.of(2025, 5, 15);
+
+        when(optionRepository.findAllOnSaleWithUnderlying()).thenReturn(List.of(
+                option(apple, june, "110", OptionType.PUT),
+                option(apple, june, "100", OptionType.PUT),
+                option(apple, june, "100", OptionType.CALL),
+                option(apple, may, "105", OptionType.CALL),
+                option(msft, june, "300", OptionType.CALL)));
+
+        optionChainService.rebuild();
+
+        assertEquals(List.of(may, june), optionChainService.getSettlementDates(1L));
+        List<StockOptionDto> ladder = optionChainService.getOptions(1L, june);
+        assertEquals(3, ladder.size());
+        assertEquals("CALL", ladder.get(0).getOptionType());
+        assertEquals("PUT", ladder.get(1).getOptionType());
+        assertEquals(0, new BigDecimal("110").compareTo(ladder.get(2).getStrikePrice()));
+        assertEquals(1, optionChainService.getOptions(2L, june).size());
+        assertThrows(UnsupportedOperationException.class, () -> ladder.remove(0));
+    }
+
+    @Test
+    void reads_DoNotTouchRepository() {
+        when(optionRepository.findAllOnSaleWithUnderlying()).thenReturn(List.of());
+        optionChainService.rebuild();
+
+        assertTrue(optionChainService.getSettlementDates(1L).isEmpty());
+        assertTrue(optionChainService.getOptions(1L, LocalDate.now()).isEmpty());
+        verify(optionRepository, times(1)).findAllOnSaleWithUnderlying();
+        verifyNoMoreInteractions(optionRepository);
+    }
+}
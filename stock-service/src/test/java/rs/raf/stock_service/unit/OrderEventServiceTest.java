@@ -0,0 +1,112 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import rs.raf.stock_service.domain.dto.OrderEventDto;
+import rs.raf.stock_service.domain.entity.Order;
+import rs.raf.stock_service.domain.entity.Stock;
+import rs.raf.stock_service.domain.entity.Transaction;
+import rs.raf.stock_service.domain.enums.OrderDirection;
+import rs.raf.stock_service.domain.enums.OrderEventType;
+import rs.raf.stock_service.domain.enums.OrderStatus;
+import rs.raf.stock_service.domain.mapper.OrderMapper;
+import rs.raf.stock_service.service.OrderEventService;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderEventServiceTest {
+
+    private OrderEventService orderEventService;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        orderEventService = new OrderEventService();
+
+        Stock stock = Stock.builder().build();
+        stock.setId(7L);
+        stock.setTicker("AAPL");
+
+        order = Order.builder().id(1L).userId(10L).listing(stock).status(OrderStatus.PROCESSING)
+                .direction(OrderDirection.BUY).quantity(10).remainingPortions(6)
+                .transactions(new ArrayList<>()).build();
+    }
+
+    @Test
+    void isVisibleTo_SupervisorAndAdminSeeAllOrders() {
+        OrderEventDto event = OrderMapper.toEventDto(order, OrderEventType.CREATED, null);
+
+        assertTrue(orderEventService.isVisibleTo(event, 99L, "SUPERVISOR"));
+        assertTrue(orderEventService.isVisibleTo(event, 99L, "ADMIN"));
+    }
+
+    @Test
+    void isVisibleTo_AgentAndClientSeeOnlyOwnOrders() {
+        OrderEventDto event = OrderMapper.toEventDto(order, OrderEventType.CREATED, null);
+
+        assertTrue(orderEventService.isVisibleTo(event, 10L, "AGENT"));
+        assertTrue(orderEventService.isVisibleTo(event, 10L, "CLIENT"));
+        assertFalse(orderEventService.isVisibleTo(event, 11L, "AGENT"));
+        assertFalse(orderEventService.isVisibleTo(event, 11L, "CLIENT"));
+    }
+
+    @Test
+    void toEventDto_ShouldContainFillDetails() {
+        Transaction fill = new Transaction(4, new BigDecimal("150"), new BigDecimal("600"), order);
+
+        OrderEventDto event = OrderMapper.toEventDto(order, OrderEventType.PARTIALLY_FILLED, fill);
+
+        assertEquals(OrderEventType.PARTIALLY_FILLED, event.getType());
+        assertEquals(7L, event.getListingId());
+        assertEquals("AAPL", event.getTicker());
+        assertEquals(4, event.getFillQuantity());
+        assertEquals(new BigDecimal("600"), event.getFillTotalPrice());
+        assertEquals(6, event.getRemainingPortions());
+    }
+
+    @Test
+    void publish_ShouldNotFail_WithSubscribers() {
+        orderEventService.subscribe(10L, "CLIENT");
+        orderEventService.subscribe(20L, "SUPERVISOR");
+
+        assertDoesNotThrow(() -> orderEventService.publish(order, OrderEventType.CREATED, null, 1L));
+        assertEquals(2, orderEventService.getSubscriberCount());
+    }
+
+    @Test
+    void publish_ShouldSendOnDispatcher_NotOnCallingThread() {
+        List<Runnable> queued = new ArrayList<>();
+        OrderEventService service = new OrderEventService(queued::add);
+        SseEmitter emitter = service.subscribe(10L, "CLIENT");
+
+        service.publish(order, OrderEventType.CREATED, null, 1L);
+
+        assertEquals(1, queued.size());
+        assertEquals(1, service.getSubscriberCount());
+        emitter.complete();
+    }
+
+    @Test
+    void publish_ShouldWaitForCommit_InsideTransaction() {
+        List<Runnable> queued = new ArrayList<>();
+        OrderEventService service = new OrderEventService(queued::add);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.publish(order, OrderEventType.CREATED, null, 1L);
+            assertTrue(queued.isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, queued.size());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
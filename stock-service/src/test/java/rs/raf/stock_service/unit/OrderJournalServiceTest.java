@@ -0,0 +1,106 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rs.raf.stock_service.domain.entity.Order;
+import rs.raf.stock_service.domain.entity.OrderJournalEntry;
+import rs.raf.stock_service.domain.entity.Transaction;
+import rs.raf.stock_service.domain.enums.OrderEventType;
+import rs.raf.stock_service.domain.enums.OrderStatus;
+import rs.raf.stock_service.repository.OrderJournalRepository;
+import rs.raf.stock_service.repository.OrderRepository;
+import rs.raf.stock_service.service.OrderJournalService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderJournalServiceTest {
+
+    @Mock
+    private OrderJournalRepository orderJournalRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private OrderJournalService orderJournalService;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = Order.builder().id(1L).userId(10L).status(OrderStatus.PROCESSING).quantity(10)
+                .remainingPortions(6).isDone(false).lastModification(LocalDateTime.now())
+                .transactions(new ArrayList<>()).build();
+    }
+
+    @Test
+    void record_AppendsFillAndKeepsLiveState() {
+        Transaction fill = new Transaction(4, BigDecimal.TEN, BigDecimal.valueOf(40), order);
+
+        orderJournalService.record(order, OrderEventType.PARTIALLY_FILLED, fill);
+
+        ArgumentCaptor<OrderJournalEntry> captor = ArgumentCaptor.forClass(OrderJournalEntry.class);
+        verify(orderJournalRepository).save(captor.capture());
+        assertEquals(OrderEventType.PARTIALLY_FILLED, captor.getValue().getType());
+        assertEquals(4, captor.getValue().getFillQuantity());
+        assertEquals(6, captor.getValue().getRemainingPortions());
+
+        OrderJournalService.LiveOrderState state = orderJournalService.getLiveState(1L);
+        assertEquals(6, state.getRemainingPortions());
+        assertTrue(state.isDirty());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void snapshot_WritesOnlyDirtyOrdersOnce() {
+        orderJournalService.record(order, OrderEventType.PARTIALLY_FILLED,
+                new Transaction(4, BigDecimal.TEN, BigDecimal.valueOf(40), order));
+
+        orderJournalService.snapshot();
+        orderJournalService.snapshot();
+
+        verify(orderRepository, times(1)).updateProgress(eq(1L), eq(OrderStatus.PROCESSING), eq(6), any());
+        assertFalse(orderJournalService.getLiveState(1L).isDirty());
+    }
+
+    @Test
+    void record_TerminalEventDropsLiveState() {
+        orderJournalService.record(order, OrderEventType.PARTIALLY_FILLED,
+                new Transaction(4, BigDecimal.TEN, BigDecimal.valueOf(40), order));
+
+        order.setStatus(OrderStatus.DONE);
+        order.setRemainingPortions(0);
+        orderJournalService.record(order, OrderEventType.DONE);
+        orderJournalService.snapshot();
+
+        assertNull(orderJournalService.getLiveState(1L));
+        verify(orderRepository, never()).updateProgress(any(), any(), any(), any());
+    }
+
+    @Test
+    void rebuild_RestoresOpenOrdersFromJournal() {
+        OrderJournalEntry fill = OrderJournalEntry.builder().orderId(1L).type(OrderEventType.PARTIALLY_FILLED)
+                .status(OrderStatus.PROCESSING).remainingPortions(2).timestamp(LocalDateTime.now()).build();
+        when(orderRepository.findByIsDoneAndStatus(false, OrderStatus.PROCESSING)).thenReturn(List.of(order));
+        when(orderJournalRepository.findAllByOrderIdInOrderByIdAsc(List.of(1L))).thenReturn(List.of(fill));
+
+        orderJournalService.rebuild();
+
+        OrderJournalService.LiveOrderState state = orderJournalService.getLiveState(1L);
+        assertEquals(2, state.getRemainingPortions());
+        assertTrue(state.isDirty());
+    }
+}
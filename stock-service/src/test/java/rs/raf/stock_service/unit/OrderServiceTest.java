@@ -8,15 +8,19 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.mockito.*;
 import rs.raf.stock_service.client.BankClient;
 import rs.raf.stock_service.client.UserClient;
-import rs.raf.stock_service.domain.dto.ActuaryLimitDto;
 import rs.raf.stock_service.domain.dto.CreateOrderDto;
+import rs.raf.stock_service.domain.dto.CursorPageDto;
+import rs.raf.stock_service.domain.dto.OrderSummaryDto;
+import rs.raf.stock_service.domain.dto.OrderTransactionDto;
 import rs.raf.stock_service.domain.dto.OrderDto;
 import rs.raf.stock_service.domain.dto.TransactionDto;
 import rs.raf.stock_service.domain.entity.*;
 import rs.raf.stock_service.domain.enums.OrderDirection;
+import rs.raf.stock_service.domain.enums.OrderEventType;
 import rs.raf.stock_service.domain.enums.OrderStatus;
 import rs.raf.stock_service.domain.enums.OrderType;
 import rs.raf.stock_service.domain.mapper.ListingMapper;
@@ -35,9 +39,13 @@ import rs.raf.stock_service.exceptions.UnauthorizedException;
 import rs.raf.stock_service.repository.ListingPriceHistoryRepository;
 import rs.raf.stock_service.repository.ListingRepository;
 import rs.raf.stock_service.repository.OrderRepository;
+import rs.raf.stock_service.service.AgentRiskService;
+import rs.raf.stock_service.service.OrderEventService;
+import rs.raf.stock_service.service.OrderJournalService;
 import rs.raf.stock_service.service.OrderService;
 import rs.raf.stock_service.service.PortfolioService;
 import rs.raf.stock_service.utils.JwtTokenUtil;
+import rs.raf.stock_service.utils.KeysetCursor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -86,6 +94,15 @@ public class OrderServiceTest {
     @Mock
     private PortfolioService portfolioService;
 
+    @Mock
+    private OrderEventService orderEventService;
+
+    @Mock
+    private OrderJournalService orderJournalService;
+
+    @Mock
+    private AgentRiskService agentRiskService;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -95,7 +112,6 @@ public class OrderServiceTest {
     private Long listingId;
 
     private Listing listing;
-    private ActuaryLimitDto actuaryLimitDto;
 
     private CreateOrderDto createMarketOrderDto;
     private CreateOrderDto createStopOrderDto;
@@ -126,8 +142,6 @@ public class OrderServiceTest {
         listing.setExchange(exchange);
         listing.setPrice(new BigDecimal(150));
 
-        actuaryLimitDto = new ActuaryLimitDto(new BigDecimal(1000), new BigDecimal(100), true);
-
         pendingOrder = Order.builder().id(3L).status(OrderStatus.PENDING).contractSize(1).quantity(5)
                 .pricePerUnit(new BigDecimal(250)).lastModification(LocalDateTime.now().minusDays(2)).listing(listing).build();
 
@@ -217,6 +231,8 @@ public class OrderServiceTest {
         assertEquals(OrderStatus.APPROVED, pendingOrder.getStatus());
         assertEquals(userId, pendingOrder.getApprovedBy());
         verify(orderRepository, times(1)).save(pendingOrder);
+        verify(orderEventService, times(1)).publish(pendingOrder, OrderEventType.APPROVED, null, null);
+        verify(orderJournalService, times(1)).record(pendingOrder, OrderEventType.APPROVED, null);
     }
 
     @Test
@@ -241,6 +257,20 @@ public class OrderServiceTest {
         assertEquals(OrderStatus.DECLINED, pendingOrder.getStatus());
         assertEquals(userId, pendingOrder.getApprovedBy());
         verify(orderRepository, times(1)).save(pendingOrder);
+        verify(orderEventService, times(1)).publish(pendingOrder, OrderEventType.DECLINED, null, null);
+        verify(orderJournalService, times(1)).record(pendingOrder, OrderEventType.DECLINED, null);
+    }
+
+    @Test
+    void declineOrder_ShouldUseJournalSequenceAsEventId() {
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(pendingOrder));
+        when(jwtTokenUtil.getUserIdFromAuthHeader(authHeader)).thenReturn(userId);
+        when(orderJournalService.record(pendingOrder, OrderEventType.DECLINED, null))
+                .thenReturn(OrderJournalEntry.builder().id(42L).build());
+
+        orderService.declineOrder(orderId, authHeader);
+
+        verify(orderEventService).publish(pendingOrder, OrderEventType.DECLINED, null, 42L);
     }
 
     @Test
@@ -303,7 +333,7 @@ public class OrderServiceTest {
         when(jwtTokenUtil.getUserIdFromAuthHeader(authHeader)).thenReturn(userId);
         when(jwtTokenUtil.getUserRoleFromAuthHeader(authHeader)).thenReturn("AGENT");
         when(listingRepository.findById(listingId)).thenReturn(Optional.of(listing));
-        when(userClient.getActuaryByEmployeeId(userId)).thenReturn(actuaryLimitDto);
+        when(agentRiskService.tryReserve(eq(userId), any(BigDecimal.class))).thenReturn(false);
 
         // Act
         orderService.createOrder(createStopOrderDto, authHeader);
@@ -361,12 +391,57 @@ public class OrderServiceTest {
         verify(orderRepository, times(1)).save(any());
     }
 
+    @Test
+    void createOrder_ShouldReleaseAgentLimit_WhenOrderIsDeclined() {
+        when(jwtTokenUtil.getUserIdFromAuthHeader(authHeader)).thenReturn(userId);
+        when(jwtTokenUtil.getUserRoleFromAuthHeader(authHeader)).thenReturn("AGENT");
+        when(listingRepository.findById(listingId)).thenReturn(Optional.of(listing));
+        when(agentRiskService.tryReserve(eq(userId), any(BigDecimal.class))).thenReturn(true);
+        doThrow(new InsufficientFundsException(BigDecimal.valueOf(100)))
+                .when(bankClient).updateAvailableBalance(anyString(), any(BigDecimal.class));
+
+        OrderDto orderDto = orderService.createOrder(createStopOrderDto, authHeader);
+
+        assertEquals(OrderStatus.DECLINED, orderDto.getStatus());
+        verify(agentRiskService, times(1)).release(eq(userId), any(BigDecimal.class));
+        verify(agentRiskService, never()).persistReserve(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void createOrder_ShouldReleaseAgentLimit_WhenLaterStepThrows() {
+        when(jwtTokenUtil.getUserIdFromAuthHeader(authHeader)).thenReturn(userId);
+        when(jwtTokenUtil.getUserRoleFromAuthHeader(authHeader)).thenReturn("AGENT");
+        when(listingRepository.findById(listingId)).thenReturn(Optional.of(listing));
+        when(agentRiskService.tryReserve(eq(userId), any(BigDecimal.class))).thenReturn(true);
+        doThrow(new AccountNotFoundException(createStopOrderDto.getAccountNumber()))
+                .when(bankClient).updateAvailableBalance(anyString(), any(BigDecimal.class));
+
+        assertThrows(AccountNotFoundException.class, () -> orderService.createOrder(createStopOrderDto, authHeader));
+
+        verify(agentRiskService, times(1)).release(eq(userId), any(BigDecimal.class));
+        verify(agentRiskService, never()).persistReserve(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void createOrder_ShouldPersistAgentLimit_WhenOrderIsApproved() {
+        when(jwtTokenUtil.getUserIdFromAuthHeader(authHeader)).thenReturn(userId);
+        when(jwtTokenUtil.getUserRoleFromAuthHeader(authHeader)).thenReturn("AGENT");
+        when(listingRepository.findById(listingId)).thenReturn(Optional.of(listing));
+        when(agentRiskService.tryReserve(eq(userId), any(BigDecimal.class))).thenReturn(true);
+
+        OrderDto orderDto = orderService.createOrder(createStopOrderDto, authHeader);
+
+        assertEquals(OrderStatus.APPROVED, orderDto.getStatus());
+        verify(agentRiskService, never()).release(any(), any());
+        verify(agentRiskService, times(1)).persistReserve(eq(userId), any(BigDecimal.class), eq(false));
+    }
+
     @Test
     void createOrder_ShouldThrowActuaryLimitNotFound() {
         when(jwtTokenUtil.getUserIdFromAuthHeader(authHeader)).thenReturn(userId);
         when(jwtTokenUtil.getUserRoleFromAuthHeader(authHeader)).thenReturn("AGENT");
         when(listingRepository.findById(listingId)).thenReturn(Optional.of(listing));
-        doThrow(new ActuaryLimitNotFoundException(userId)).when(userClient).getActuaryByEmployeeId(userId);
+        doThrow(new ActuaryLimitNotFoundException(userId)).when(agentRiskService).tryReserve(eq(userId), any(BigDecimal.class));
 
         ActuaryLimitNotFoundException exception = assertThrows(ActuaryLimitNotFoundException.class, () -> {
             orderService.createOrder(createStopOrderDto, authHeader);
@@ -407,8 +482,9 @@ public class OrderServiceTest {
         // Act
         OrderDto orderDto = orderService.createOrder(createMarketOrderDto, authHeader);
 
-        // Assert
-        verify(orderRepository, atLeast(3)).save(any(Order.class));
+        // Assert - kreiranje, PROCESSING i zavrsetak; fill-ovi idu samo u journal
+        verify(orderRepository, times(3)).save(any(Order.class));
+        verify(orderJournalService, atLeast(1)).record(any(Order.class), eq(OrderEventType.PARTIALLY_FILLED), any(Transaction.class));
         assertEquals(OrderStatus.DONE, orderDto.getStatus());
         assertEquals(true, orderDto.getIsDone());
         assertEquals(0, orderDto.getRemainingPortions());
@@ -447,6 +523,42 @@ public class OrderServiceTest {
     }
 
 
+    @Test
+    void executeOrder_ShouldReleaseUnfilledAgentLimit_WhenOrderEndsPartial() {
+        createMarketOrderDto.setAllOrNone(true);
+        createMarketOrderDto.setQuantity(4);
+        Order order = OrderMapper.toOrder(createMarketOrderDto, userId, listing, "AGENT");
+        order.setId(7L);
+        order.setStatus(OrderStatus.APPROVED);
+        order.setAfterHours(false);
+        order.setReservedAmount(order.getPricePerUnit().multiply(BigDecimal.valueOf(4)));
+        doThrow(new InsufficientFundsException(BigDecimal.valueOf(100)))
+                .when(bankClient).updateBalance(anyString(), any(BigDecimal.class));
+
+        orderService.executeOrder(order);
+
+        BigDecimal unfilled = order.getPricePerUnit().multiply(BigDecimal.valueOf(4));
+        assertEquals(OrderStatus.PARTIAL, order.getStatus());
+        verify(agentRiskService).release(eq(userId), argThat(amount -> amount.compareTo(unfilled) == 0));
+        verify(agentRiskService).persistRelease(eq(userId), argThat(amount -> amount.compareTo(unfilled) == 0));
+    }
+
+    @Test
+    void executeOrder_ShouldKeepAgentLimit_WhenOrderIsFullyFilled() {
+        createMarketOrderDto.setAllOrNone(true);
+        Order order = OrderMapper.toOrder(createMarketOrderDto, userId, listing, "AGENT");
+        order.setId(8L);
+        order.setStatus(OrderStatus.APPROVED);
+        order.setAfterHours(false);
+        order.setReservedAmount(order.getPricePerUnit().multiply(BigDecimal.valueOf(order.getQuantity())));
+
+        orderService.executeOrder(order);
+
+        assertEquals(OrderStatus.DONE, order.getStatus());
+        verify(agentRiskService, never()).release(anyLong(), any());
+        verify(agentRiskService, never()).persistRelease(anyLong(), any());
+    }
+
     @Test
     void executeStopOrder() {
         when(orderRepository.findByIsDoneAndStatusAndOrderType(false, OrderStatus.APPROVED, OrderType.STOP))
@@ -905,4 +1017,58 @@ public class OrderServiceTest {
 
         verify(orderRepository, never()).save(any());
     }
+
+    private OrderSummaryDto summary(Long id, LocalDateTime lastModification) {
+        OrderSummaryDto dto = new OrderSummaryDto();
+        dto.setId(id);
+        dto.setUserId(userId);
+        dto.setLastModification(lastModification);
+        return dto;
+    }
+
+    @Test
+    void getOrderSummaries_ShouldReturnNextCursor_WhenMoreOrdersExist() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderSummaryDto> rows = new ArrayList<>(List.of(summary(3L, now), summary(2L, now.minusMinutes(1)),
+                summary(1L, now.minusMinutes(2))));
+
+        when(orderRepository.findSummariesByStatus(eq(OrderStatus.PENDING), any(Pageable.class))).thenReturn(rows);
+
+        CursorPageDto<OrderSummaryDto> result = orderService.getOrderSummaries(OrderStatus.PENDING, null, 2, false);
+
+        assertEquals(2, result.getContent().size());
+        assertNotNull(result.getNextCursor());
+        KeysetCursor cursor = KeysetCursor.decode(result.getNextCursor());
+        assertEquals(2L, cursor.getId());
+        assertEquals(now.minusMinutes(1), cursor.getLastModification());
+        verify(transactionRepository, never()).findAllByOrderIds(any());
+    }
+
+    @Test
+    void getOrderSummaries_ShouldContinueFromCursor_AndAttachTransactions() {
+        LocalDateTime now = LocalDateTime.now();
+        String cursor = new KeysetCursor(now, 10L).encode();
+
+        when(orderRepository.findSummariesAfter(eq(now), eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(summary(9L, now.minusMinutes(1))));
+        when(transactionRepository.findAllByOrderIds(List.of(9L))).thenReturn(List.of(
+                new OrderTransactionDto(9L, 1L, 5, BigDecimal.TEN, BigDecimal.valueOf(50), now)));
+
+        CursorPageDto<OrderSummaryDto> result = orderService.getOrderSummaries(null, cursor, 20, true);
+
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getNextCursor());
+        assertEquals(1, result.getContent().get(0).getTransactions().size());
+    }
+
+    @Test
+    void getOrderSummaries_ShouldRejectInvalidCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> orderService.getOrderSummaries(null, "not-a-cursor", 20, false));
+    }
+
+    @Test
+    void keysetCursor_ShouldRejectMissingLastModification() {
+        assertThrows(IllegalStateException.class, () -> new KeysetCursor(null, 5L).encode());
+    }
 }
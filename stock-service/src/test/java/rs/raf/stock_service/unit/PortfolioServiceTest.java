@@ -19,6 +19,8 @@ import rs.raf.stock_service.exceptions.InvalidPublicAmountException;
 import rs.raf.stock_service.exceptions.OptionNotEligibleException;
 import rs.raf.stock_service.exceptions.PortfolioEntryNotFoundException;
 import rs.raf.stock_service.service.PortfolioService;
+import rs.raf.stock_service.service.MarginMonitorService;
+import rs.raf.stock_service.service.PublicStockService;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -57,6 +59,12 @@ public class PortfolioServiceTest {
     @Mock
     private UserClient userClient;
 
+    @Mock
+    private PublicStockService publicStockService;
+
+    @Mock
+    private MarginMonitorService marginMonitorService;
+
 
     private void initialiseStock() {
         stock.setId(1L);
@@ -100,6 +108,22 @@ public class PortfolioServiceTest {
         verify(portfolioEntryRepository).save(any(PortfolioEntry.class));
     }
 
+    @Test
+    void testUpdateHoldings_marginBuyOrder_shouldFlagEntry() {
+        initialiseStock();
+        Order order = buildOrder(OrderDirection.BUY, 10, 1, BigDecimal.TEN);
+        order.setIsDone(true);
+        order.setMargin(true);
+
+        when(portfolioEntryRepository.findByUserIdAndListing(userId, stock))
+                .thenReturn(Optional.empty());
+
+        portfolioService.updateHoldingsOnOrderExecution(order);
+
+        verify(portfolioEntryRepository).save(argThat(entry -> Boolean.TRUE.equals(entry.getMargin())));
+        verify(marginMonitorService).updatePosition(argThat(entry -> Boolean.TRUE.equals(entry.getMargin())));
+    }
+
     @Test
     void testUpdateHoldings_existingBuyOrder_shouldUpdateEntry() {
         initialiseStock();
@@ -321,36 +345,61 @@ public class PortfolioServiceTest {
     }
 
     @Test
-    void testGetAllPublicStocks_shouldReturnBasicFields() {
-        initialiseStock();
+    void testGetAllPublicStocks_shouldReadFromPublicStockView() {
+        PublicStockDto publicStockDto = PublicStockDto.builder()
+                .ticker("AAPL")
+                .security(ListingType.STOCK.name())
+                .amount(20)
+                .owner("Marko Markovic")
+                .build();
+
+        when(publicStockService.getAll()).thenReturn(List.of(publicStockDto));
 
+        List<PublicStockDto> result = portfolioService.getAllPublicStocks();
+
+        assertEquals(1, result.size());
+        assertEquals("Marko Markovic", result.get(0).getOwner());
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void testSetPublicAmount_shouldSyncPublicStockView() {
         PortfolioEntry entry = PortfolioEntry.builder()
+                .id(1L)
                 .userId(userId)
                 .listing(stock)
                 .type(ListingType.STOCK)
                 .amount(100)
-                .publicAmount(20)
-                .lastModified(LocalDateTime.now())
+                .publicAmount(0)
                 .build();
 
-        when(portfolioEntryRepository.findAllByTypeAndPublicAmountGreaterThan(ListingType.STOCK, 0))
-                .thenReturn(List.of(entry));
+        when(portfolioEntryRepository.findByUserIdAndId(userId, 1L)).thenReturn(Optional.of(entry));
 
-        ClientDto clientDto = ClientDto.builder()
-                .firstName("Marko")
-                .lastName("Markovic")
+        portfolioService.setPublicAmount(userId, new SetPublicAmountDto(1L, 30));
+
+        verify(publicStockService).sync(entry);
+    }
+
+    @Test
+    void testUpdateHoldings_sellBelowPublicAmount_shouldClampPublicAmount() {
+        initialiseStock();
+        PortfolioEntry existing = PortfolioEntry.builder()
+                .userId(userId)
+                .listing(stock)
+                .type(ListingType.STOCK)
+                .amount(20)
+                .publicAmount(15)
+                .averagePrice(BigDecimal.valueOf(100))
                 .build();
 
-        when(userClient.getClientById(userId)).thenReturn(clientDto);
+        Order order = buildOrder(OrderDirection.SELL, 10, 1, BigDecimal.valueOf(100));
 
-        List<PublicStockDto> result = portfolioService.getAllPublicStocks();
+        when(portfolioEntryRepository.findByUserIdAndListing(userId, stock)).thenReturn(Optional.of(existing));
 
-        assertEquals(1, result.size());
-        PublicStockDto dto = result.get(0);
-        assertEquals("AAPL", dto.getTicker());
-        assertEquals(ListingType.STOCK.name(), dto.getSecurity());
-        assertEquals(20, dto.getAmount());
-        assertEquals("Marko Markovic", dto.getOwner());
+        portfolioService.updateHoldingsOnOrderExecution(order);
+
+        assertEquals(10, existing.getPublicAmount());
+        verify(publicStockService).sync(existing);
     }
     @Test
     void testUseOption_SuccessfulExecution() {
@@ -0,0 +1,71 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import rs.raf.stock_service.domain.dto.PortfolioPerformanceDto;
+import rs.raf.stock_service.domain.entity.PortfolioPerformance;
+import rs.raf.stock_service.repository.PortfolioPerformanceRepository;
+import rs.raf.stock_service.service.PortfolioSnapshotService;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PortfolioSnapshotServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PortfolioPerformanceRepository portfolioPerformanceRepository;
+
+    @InjectMocks
+    private PortfolioSnapshotService portfolioSnapshotService;
+
+    @Test
+    void snapshot_ReplacesDayWithTwoSetBasedInserts() {
+        LocalDate date = LocalDate.of(2025, 3, 3);
+
+        portfolioSnapshotService.snapshot(date);
+
+        verify(jdbcTemplate).update("DELETE FROM portfolio_performance WHERE snapshot_date = ?", Date.valueOf(date));
+        verify(jdbcTemplate).update("DELETE FROM portfolio_position_snapshot WHERE snapshot_date = ?", Date.valueOf(date));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO portfolio_position_snapshot"), (Object[]) any());
+        verify(jdbcTemplate).update(startsWith("INSERT INTO portfolio_performance"), (Object[]) any());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void getPerformance_ComputesTimeAndMoneyWeightedReturns() {
+        // 1000 na pocetku, 500 uplaceno drugog dana, vrednost 1650 treceg dana
+        PortfolioPerformance performance = PortfolioPerformance.builder()
+                .userId(1L)
+                .snapshotDate(LocalDate.of(2025, 3, 5))
+                .marketValue(new BigDecimal("1650"))
+                .netFlow(BigDecimal.ZERO)
+                .dailyReturn(new BigDecimal("0.05"))
+                .twrIndex(new BigDecimal("1.1"))
+                .cumulativeFlow(new BigDecimal("1500"))
+                .investedCapitalDays(new BigDecimal("4000"))
+                .days(3)
+                .build();
+        when(portfolioPerformanceRepository.findAllByUserIdAndSnapshotDateBetweenOrderBySnapshotDateAsc(eq(1L), any(), any()))
+                .thenReturn(List.of(performance));
+
+        PortfolioPerformanceDto dto = portfolioSnapshotService.getPerformance(1L, null, null).get(0);
+
+        assertEquals(0, new BigDecimal("0.1").compareTo(dto.getTimeWeightedReturn()));
+        // 150 / (4000 / 3)
+        assertEquals(0.1125, dto.getMoneyWeightedReturn().doubleValue(), 1e-9);
+    }
+}
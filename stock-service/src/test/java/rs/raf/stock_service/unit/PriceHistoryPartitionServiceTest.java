@@ -0,0 +1,99 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import rs.raf.stock_service.service.PriceHistoryPartitionService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PriceHistoryPartitionServiceTest {
+
+    @TempDir
+    Path archiveDir;
+
+    @Test
+    void archivePartitionsBefore_DetachesOnlyOlderPartitions() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        PriceHistoryPartitionService service = new PriceHistoryPartitionService(jdbcTemplate, true, 1, 30, 12, archiveDir.toString());
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "listing_price_history_y2024m12", "listing_price_history_y2025m01", "listing_price_history_y2025m02"));
+
+        service.archivePartitionsBefore(YearMonth.of(2025, 1));
+
+        verify(jdbcTemplate).execute(any(ConnectionCallback.class));
+        verify(jdbcTemplate).execute("ALTER TABLE listing_price_history DETACH PARTITION listing_price_history_y2024m12");
+        verify(jdbcTemplate).execute("DROP TABLE listing_price_history_y2024m12");
+        verify(jdbcTemplate, never()).execute(contains("y2025m01"));
+        verify(jdbcTemplate, never()).execute(contains("y2025m02"));
+        assertTrue(Files.exists(archiveDir.resolve("listing_price_history_y2024m12.csv.gz")));
+    }
+
+    @Test
+    void archiveDefaultBefore_ArchivesAndDeletesOldRowsInOneCopy() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        PriceHistoryPartitionService service = new PriceHistoryPartitionService(jdbcTemplate, true, 1, 30, 12, archiveDir.toString());
+        when(jdbcTemplate.queryForObject(contains("FROM listing_price_history_default WHERE date < ?"), eq(Integer.class), (Object[]) any()))
+                .thenReturn(4);
+
+        service.archiveDefaultBefore(YearMonth.of(2025, 1));
+
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Integer.class),
+                eq(Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 0, 0))));
+        verify(jdbcTemplate).execute(any(ConnectionCallback.class));
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            assertTrue(files.anyMatch(file -> file.getFileName().toString().startsWith("listing_price_history_default_")
+                    && file.getFileName().toString().endsWith(".csv.gz")));
+        }
+    }
+
+    @Test
+    void archiveDefaultBefore_SkipsExport_WhenNothingIsOld() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        PriceHistoryPartitionService service = new PriceHistoryPartitionService(jdbcTemplate, true, 1, 30, 12, archiveDir.toString());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), (Object[]) any())).thenReturn(0);
+
+        service.archiveDefaultBefore(YearMonth.of(2025, 1));
+
+        verify(jdbcTemplate, never()).execute(any(ConnectionCallback.class));
+    }
+
+    @Test
+    void rollupIntraday_RunsOneStatementPerMonth() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        PriceHistoryPartitionService service = new PriceHistoryPartitionService(jdbcTemplate, true, 1, 30, 2, archiveDir.toString());
+        when(jdbcTemplate.update(anyString(), (Object[]) any())).thenReturn(3);
+
+        int rolled = service.rollupIntraday(LocalDateTime.of(2025, 3, 15, 0, 0));
+
+        // januar, februar i mart do cutoff-a
+        verify(jdbcTemplate, times(3)).update(anyString(), (Object[]) any());
+        // change dnevnog bara se racuna iz istih close/open vrednosti koje bar dobija
+        verify(jdbcTemplate, times(3)).update(
+                contains("(array_agg(close ORDER BY date DESC))[1] - (array_agg(open ORDER BY date))[1]"), (Object[]) any());
+        assertEquals(9, rolled);
+    }
+
+    @Test
+    void initialize_DoesNothing_WhenDisabled() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        PriceHistoryPartitionService service = new PriceHistoryPartitionService(jdbcTemplate, false, 1, 30, 12, archiveDir.toString());
+
+        service.initialize();
+        service.applyRetention();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
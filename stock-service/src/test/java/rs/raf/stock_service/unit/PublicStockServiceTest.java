@@ -0,0 +1,158 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rs.raf.stock_service.client.UserClient;
+import rs.raf.stock_service.domain.dto.ClientDto;
+import rs.raf.stock_service.domain.dto.PublicStockDto;
+import rs.raf.stock_service.domain.entity.PortfolioEntry;
+import rs.raf.stock_service.domain.entity.PublicStock;
+import rs.raf.stock_service.domain.entity.Stock;
+import rs.raf.stock_service.domain.enums.ListingType;
+import rs.raf.stock_service.repository.PortfolioEntryRepository;
+import rs.raf.stock_service.repository.PublicStockRepository;
+import rs.raf.stock_service.service.PublicStockService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PublicStockServiceTest {
+
+    @Mock
+    private PublicStockRepository publicStockRepository;
+    @Mock
+    private PortfolioEntryRepository portfolioEntryRepository;
+    @Mock
+    private UserClient userClient;
+    @InjectMocks
+    private PublicStockService publicStockService;
+
+    private PortfolioEntry entry(int amount, int publicAmount) {
+        Stock stock = new Stock();
+        stock.setId(1L);
+        stock.setTicker("AAPL");
+        stock.setPrice(new BigDecimal("150"));
+
+        return PortfolioEntry.builder()
+                .id(5L)
+                .userId(123L)
+                .listing(stock)
+                .type(ListingType.STOCK)
+                .amount(amount)
+                .publicAmount(publicAmount)
+                .lastModified(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    void sync_newPublicEntry_shouldResolveOwnerAndSave() {
+        when(publicStockRepository.findByPortfolioEntryId(5L)).thenReturn(Optional.empty());
+        when(publicStockRepository.findFirstByUserIdAndOwnerIsNotNull(123L)).thenReturn(Optional.empty());
+        when(userClient.getClientById(123L)).thenReturn(ClientDto.builder().firstName("Marko").lastName("Markovic").build());
+
+        publicStockService.sync(entry(100, 20));
+
+        verify(publicStockRepository).save(argThat(row ->
+                row.getPortfolioEntryId() == 5L &&
+                        row.getAmount() == 20 &&
+                        row.getTicker().equals("AAPL") &&
+                        row.getOwner().equals("Marko Markovic")));
+    }
+
+    @Test
+    void sync_existingOwner_shouldNotCallUserService() {
+        when(publicStockRepository.findByPortfolioEntryId(5L)).thenReturn(Optional.empty());
+        when(publicStockRepository.findFirstByUserIdAndOwnerIsNotNull(123L))
+                .thenReturn(Optional.of(PublicStock.builder().owner("Marko Markovic").build()));
+
+        publicStockService.sync(entry(100, 20));
+
+        verifyNoInteractions(userClient);
+        verify(publicStockRepository).save(argThat(row -> row.getOwner().equals("Marko Markovic")));
+    }
+
+    @Test
+    void sync_userServiceDown_shouldNotPersistPlaceholderOwner() {
+        when(publicStockRepository.findByPortfolioEntryId(5L)).thenReturn(Optional.empty());
+        when(publicStockRepository.findFirstByUserIdAndOwnerIsNotNull(123L)).thenReturn(Optional.empty());
+        when(userClient.getClientById(123L)).thenThrow(new RuntimeException("user-service down"));
+        when(userClient.getEmployeeById(123L)).thenThrow(new RuntimeException("user-service down"));
+
+        publicStockService.sync(entry(100, 20));
+
+        verify(publicStockRepository).save(argThat(row -> row.getOwner() == null));
+    }
+
+    @Test
+    void sync_existingRowWithoutOwner_shouldResolveOwnerAgain() {
+        PublicStock existing = PublicStock.builder().portfolioEntryId(5L).userId(123L).build();
+        when(publicStockRepository.findByPortfolioEntryId(5L)).thenReturn(Optional.of(existing));
+        when(publicStockRepository.findFirstByUserIdAndOwnerIsNotNull(123L)).thenReturn(Optional.empty());
+        when(userClient.getClientById(123L)).thenReturn(ClientDto.builder().firstName("Marko").lastName("Markovic").build());
+
+        publicStockService.sync(entry(100, 20));
+
+        verify(publicStockRepository).save(argThat(row -> "Marko Markovic".equals(row.getOwner())));
+    }
+
+    @Test
+    void getAll_rowsWithoutOwner_shouldResolveOncePerUserAndPersist() {
+        PublicStock first = PublicStock.builder().portfolioEntryId(5L).userId(123L).ticker("AAPL").amount(20).build();
+        PublicStock second = PublicStock.builder().portfolioEntryId(6L).userId(123L).ticker("MSFT").amount(10).build();
+        when(publicStockRepository.findAll()).thenReturn(List.of(first, second));
+        when(userClient.getClientById(123L)).thenReturn(ClientDto.builder().firstName("Marko").lastName("Markovic").build());
+
+        List<PublicStockDto> result = publicStockService.getAll();
+
+        assertEquals("Marko Markovic", result.get(0).getOwner());
+        assertEquals("Marko Markovic", result.get(1).getOwner());
+        verify(userClient, times(1)).getClientById(123L);
+        verify(publicStockRepository).updateOwnerByUserId(123L, "Marko Markovic");
+    }
+
+    @Test
+    void getAll_userServiceDown_shouldLeaveOwnerEmpty() {
+        PublicStock row = PublicStock.builder().portfolioEntryId(5L).userId(123L).ticker("AAPL").amount(20).build();
+        when(publicStockRepository.findAll()).thenReturn(List.of(row));
+        when(userClient.getClientById(123L)).thenThrow(new RuntimeException("user-service down"));
+        when(userClient.getEmployeeById(123L)).thenThrow(new RuntimeException("user-service down"));
+
+        List<PublicStockDto> result = publicStockService.getAll();
+
+        assertNull(result.get(0).getOwner());
+        verify(publicStockRepository, never()).updateOwnerByUserId(anyLong(), anyString());
+    }
+
+    @Test
+    void sync_entryNoLongerPublic_shouldDeleteRow() {
+        publicStockService.sync(entry(100, 0));
+
+        verify(publicStockRepository).deleteByPortfolioEntryId(5L);
+        verify(publicStockRepository, never()).save(argThat(row -> true));
+    }
+
+    @Test
+    void updatePrice_shouldIssueBulkUpdate() {
+        Stock stock = new Stock();
+        stock.setId(1L);
+        stock.setPrice(new BigDecimal("200"));
+
+        publicStockService.updatePrice(stock);
+
+        verify(publicStockRepository).updatePriceByListingId(1L, new BigDecimal("200"));
+        verify(publicStockRepository, never()).findByPortfolioEntryId(anyLong());
+    }
+}
@@ -0,0 +1,86 @@
+package rs.raf.stock_service.unit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.TestPropertySource;
+import rs.raf.stock_service.domain.entity.ListingPriceHistory;
+import rs.raf.stock_service.domain.entity.Stock;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+        Proverava da pooled sekvence zaista ukljucuju JDBC batching: sa IDENTITY id-jem
+        Hibernate bi za 100 redova istorije pripremio 100 INSERT-a.
+     */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batching;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,KEY,YEAR,MONTH,DAY,USER",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class SequenceBatchingTest {
+
+    private static final int ROWS = 100;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void persistPriceHistory_UsesBatchedInserts() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Stock stock = new Stock();
+        stock.setTicker("AAPL");
+        stock.setName("Apple Inc.");
+        stock.setPrice(new BigDecimal("150.00"));
+        entityManager.persist(stock);
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 30);
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(ListingPriceHistory.builder()
+                    .listing(stock)
+                    .date(start.plusMinutes(5L * i))
+                    .open(BigDecimal.ONE)
+                    .close(BigDecimal.ONE)
+                    .high(BigDecimal.ONE)
+                    .low(BigDecimal.ONE)
+                    .change(BigDecimal.ZERO)
+                    .volume(100L)
+                    .build());
+        }
+        entityManager.flush();
+
+        assertEquals(ROWS + 1, statistics.getEntityInsertCount());
+        // 1 INSERT za listing, 2 batch-a za istoriju i po jedan nextval na svakih 50 id-jeva
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "Expected batched inserts, got " + statistics.getPrepareStatementCount() + " prepared statements");
+    }
+
+    @Configuration
+    @AutoConfigurationPackage
+    @EntityScan("rs.raf.stock_service.domain.entity")
+    static class JpaConfig {
+    }
+}
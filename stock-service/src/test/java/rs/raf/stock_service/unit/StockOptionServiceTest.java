@@ -6,10 +6,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import rs.raf.stock_service.domain.dto.StockOptionDto;
-import rs.raf.stock_service.domain.entity.Option;
-import rs.raf.stock_service.domain.enums.OptionType;
-import rs.raf.stock_service.domain.mapper.StockOptionMapper;
-import rs.raf.stock_service.repository.OptionRepository;
+import rs.raf.stock_service.service.OptionChainService;
 import rs.raf.stock_service.service.StockOptionService;
 
 import java.math.BigDecimal;
@@ -23,10 +20,7 @@ import static org.mockito.Mockito.*;
 class StockOptionServiceTest {
 
     @Mock
-    private OptionRepository optionRepository;
-
-    @Mock
-    private StockOptionMapper stockOptionMapper;
+    private OptionChainService optionChainService;
 
     @InjectMocks
     private StockOptionService stockOptionService;
@@ -41,14 +35,6 @@ class StockOptionServiceTest {
         Long stockId = 1L;
         LocalDate settlementDate = LocalDate.of(2025, 6, 15);
 
-        Option mockOption = new Option();
-        mockOption.setStrikePrice(new BigDecimal("150"));
-        mockOption.setImpliedVolatility(new BigDecimal("2.5"));
-        mockOption.setOpenInterest(100);
-        mockOption.setOptionType(OptionType.CALL);
-        mockOption.setSettlementDate(settlementDate);
-        mockOption.setOnSale(true);
-
         StockOptionDto expectedDto = new StockOptionDto(
                 new BigDecimal("150"),
                 new BigDecimal("2.5"),
@@ -56,17 +42,15 @@ class StockOptionServiceTest {
                 "CALL"
         );
 
-        when(optionRepository.findByUnderlyingStockIdAndSettlementDate(stockId, settlementDate))
-                .thenReturn(Collections.singletonList(mockOption));
-        when(stockOptionMapper.toDto(mockOption)).thenReturn(expectedDto);
+        when(optionChainService.getOptions(stockId, settlementDate))
+                .thenReturn(Collections.singletonList(expectedDto));
 
         List<StockOptionDto> result = stockOptionService.getStockOptionsByDate(stockId, settlementDate);
 
         assertEquals(1, result.size());
         assertEquals(expectedDto, result.get(0));
 
-        verify(optionRepository, times(1)).findByUnderlyingStockIdAndSettlementDate(stockId, settlementDate);
-        verify(stockOptionMapper, times(1)).toDto(mockOption);
+        verify(optionChainService, times(1)).getOptions(stockId, settlementDate);
     }
 
     @Test
@@ -74,14 +58,13 @@ class StockOptionServiceTest {
         Long stockId = 1L;
         LocalDate settlementDate = LocalDate.of(2025, 6, 15);
 
-        when(optionRepository.findByUnderlyingStockIdAndSettlementDate(stockId, settlementDate))
+        when(optionChainService.getOptions(stockId, settlementDate))
                 .thenReturn(Collections.emptyList());
 
         List<StockOptionDto> result = stockOptionService.getStockOptionsByDate(stockId, settlementDate);
 
         assertEquals(0, result.size());
 
-        verify(optionRepository, times(1)).findByUnderlyingStockIdAndSettlementDate(stockId, settlementDate);
-        verifyNoInteractions(stockOptionMapper);
+        verify(optionChainService, times(1)).getOptions(stockId, settlementDate);
     }
 }
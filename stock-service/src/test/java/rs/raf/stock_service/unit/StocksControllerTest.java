@@ -24,6 +24,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -87,7 +88,7 @@ public class StocksControllerTest {
         List<StockDto> list = Arrays.asList(dto1, dto2);
         Page<StockDto> page = new PageImpl<>(list, PageRequest.of(0, 10), list.size());
 
-        when(stockService.getStocksList(any(PageRequest.class))).thenReturn(page);
+        when(stockService.getStocksList(isNull(), any(PageRequest.class))).thenReturn(page);
 
         mockMvc.perform(get("/api/stocks/all")
                         .param("page", "0")
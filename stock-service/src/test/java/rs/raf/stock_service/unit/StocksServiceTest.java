@@ -8,10 +8,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import rs.raf.stock_service.client.AlphavantageClient;
-import rs.raf.stock_service.client.TwelveDataClient;
 import rs.raf.stock_service.domain.dto.StockDto;
 import rs.raf.stock_service.domain.dto.StockSearchDto;
 import rs.raf.stock_service.domain.entity.Exchange;
@@ -19,6 +19,7 @@ import rs.raf.stock_service.exceptions.StockNotFoundException;
 import rs.raf.stock_service.exceptions.SymbolSearchException;
 import rs.raf.stock_service.service.ExchangeService;
 import rs.raf.stock_service.service.StocksService;
+import rs.raf.stock_service.service.SymbolUniverseService;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -33,7 +34,7 @@ public class StocksServiceTest {
     @Mock
     private AlphavantageClient alphavantageClient;
     @Mock
-    private TwelveDataClient twelveDataClient;
+    private SymbolUniverseService symbolUniverseService;
     @InjectMocks
     private StocksService stockService;
     @Mock
@@ -88,15 +89,13 @@ public class StocksServiceTest {
     }
 
     @Test
-    public void testGetStocksList_Pagination() throws Exception {
-        String stocksJson = "{ \"data\": [ " +
-                "{\"symbol\": \"AAPL\", \"name\": \"Apple Inc.\", \"mic_code\": \"XNAS\"}," +
-                "{\"symbol\": \"MSFT\", \"name\": \"Microsoft Corp.\", \"mic_code\": \"XNAS\"}" +
-                "]}";
-        when(twelveDataClient.getAllStocks("")).thenReturn(stocksJson);
-
-        // Explicitly create a pageable object
+    public void testGetStocksList_Pagination() {
         Pageable pageable = PageRequest.of(0, 2);
+        StockDto apple = new StockDto();
+        apple.setTicker("AAPL");
+        StockDto microsoft = new StockDto();
+        microsoft.setTicker("MSFT");
+        when(symbolUniverseService.getStocks(null, pageable)).thenReturn(new PageImpl<>(List.of(apple, microsoft), pageable, 2));
 
         Page<StockDto> page = stockService.getStocksList(pageable);
         assertEquals(2, page.getTotalElements()); // Expecting 2 stocks
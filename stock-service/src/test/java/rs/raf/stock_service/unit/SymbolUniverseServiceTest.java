@@ -0,0 +1,96 @@
+package rs.raf.stock_service.unit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import rs.raf.stock_service.client.TwelveDataClient;
+import rs.raf.stock_service.domain.dto.ForexPairDto;
+import rs.raf.stock_service.domain.dto.StockDto;
+import rs.raf.stock_service.exceptions.StocksNotFoundException;
+import rs.raf.stock_service.service.SymbolUniverseService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SymbolUniverseServiceTest {
+
+    private static final String STOCKS_JSON = "{ \"data\": [ " +
+            "{\"symbol\": \"MSFT\", \"name\": \"Microsoft Corp.\", \"mic_code\": \"XNAS\"}," +
+            "{\"symbol\": \"AAPL\", \"name\": \"Apple Inc.\", \"mic_code\": \"XNAS\"}," +
+            "{\"symbol\": \"AMZN\", \"name\": \"Amazon.com Inc.\", \"mic_code\": \"XNAS\"}," +
+            "{\"symbol\": \"IBM\", \"name\": \"International Business Machines\", \"mic_code\": \"XNYS\"}" +
+            "], \"status\": \"ok\" }";
+
+    @Mock
+    private TwelveDataClient twelveDataClient;
+
+    @InjectMocks
+    private SymbolUniverseService symbolUniverseService;
+
+    @Test
+    void getStocks_LoadsOnceAndPagesFromMemory() {
+        when(twelveDataClient.getAllStocks("")).thenReturn(STOCKS_JSON);
+
+        Page<StockDto> first = symbolUniverseService.getStocks(null, PageRequest.of(0, 2));
+        Page<StockDto> second = symbolUniverseService.getStocks(null, PageRequest.of(1, 2));
+
+        assertEquals(4, first.getTotalElements());
+        assertEquals("AAPL", first.getContent().get(0).getTicker());
+        assertEquals("XNAS", first.getContent().get(0).getExchange());
+        assertEquals("AMZN", first.getContent().get(1).getTicker());
+        assertEquals("IBM", second.getContent().get(0).getTicker());
+        verify(twelveDataClient, times(1)).getAllStocks("");
+    }
+
+    @Test
+    void getStocks_FiltersByPrefixAndSortsByName() {
+        when(twelveDataClient.getAllStocks("")).thenReturn(STOCKS_JSON);
+
+        Page<StockDto> byPrefix = symbolUniverseService.getStocks("a", PageRequest.of(0, 10));
+        Page<StockDto> byName = symbolUniverseService.getStocks(null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "name")));
+
+        assertEquals(2, byPrefix.getTotalElements());
+        assertEquals("MSFT", byName.getContent().get(0).getTicker());
+        assertEquals("AMZN", byName.getContent().get(3).getTicker());
+    }
+
+    @Test
+    void getForexPairs_SplitsSymbol() {
+        when(twelveDataClient.getAllForexPairs("")).thenReturn("{ \"data\": [ " +
+                "{\"symbol\": \"USD/GBP\", \"currency_group\": \"Major\"}," +
+                "{\"symbol\": \"EUR/USD\", \"currency_group\": \"Major\"}," +
+                "{\"symbol\": \"USD/EUR\", \"currency_group\": \"Major\"}" +
+                "]}");
+
+        Page<ForexPairDto> page = symbolUniverseService.getForexPairs("USD/", PageRequest.of(0, 10));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals("USD/EUR", page.getContent().get(0).getTicker());
+        assertEquals("USD", page.getContent().get(0).getBaseCurrency());
+        assertEquals("EUR", page.getContent().get(0).getQuoteCurrency());
+    }
+
+    @Test
+    void refresh_KeepsPreviousUniverseOnFailure() {
+        when(twelveDataClient.getAllStocks("")).thenReturn(STOCKS_JSON).thenThrow(new RuntimeException("rate limit"));
+        when(twelveDataClient.getAllForexPairs("")).thenThrow(new RuntimeException("rate limit"));
+
+        symbolUniverseService.getStocks(null, PageRequest.of(0, 1));
+        symbolUniverseService.refresh();
+
+        assertEquals(4, symbolUniverseService.getStocks(null, PageRequest.of(0, 1)).getTotalElements());
+    }
+
+    @Test
+    void getStocks_ThrowsWhenNothingLoaded() {
+        when(twelveDataClient.getAllStocks("")).thenThrow(new RuntimeException("Data retrieval error"));
+
+        assertThrows(StocksNotFoundException.class, () -> symbolUniverseService.getStocks(null, PageRequest.of(0, 2)));
+    }
+}
@@ -1,13 +1,23 @@
 package rs.raf.user_service.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
-import org.springframework.web.bind.annotation.GetMapping;
-import rs.raf.user_service.domain.dto.OrderDto;
+import org.springframework.web.bind.annotation.*;
+import rs.raf.user_service.domain.dto.ActuaryLimitDto;
+import rs.raf.user_service.domain.dto.ActuaryProfitDto;
 
 import java.util.List;
 
 @FeignClient(name = "stock-service", url = "${spring.cloud.openfeign.client.config.stock-service.url}")
 public interface StockClient {
-    @GetMapping("api/orders/all")
-    List<OrderDto> getAll();
+    @GetMapping("api/profit/actuaries")
+    List<ActuaryProfitDto> getActuaryProfits(@RequestParam("userIds") List<Long> userIds);
+
+    @PutMapping("api/risk/agents/{id}")
+    void updateAgentLimit(@PathVariable("id") Long id, @RequestBody ActuaryLimitDto actuaryLimitDto);
+
+    @PutMapping("api/risk/agents/{id}/reset")
+    void resetAgentLimit(@PathVariable("id") Long id);
+
+    @PutMapping("api/risk/agents/reset")
+    void resetAgentLimits();
 }
@@ -0,0 +1,133 @@
+package rs.raf.user_service.configuration;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+        Lokalni exporter: svaki zavrsen span je jedan JSON red u tracing.export.path. Fajlovi svih servisa
+        se spajaju po traceId, pa se latencija svakog skoka (HTTP, Feign, RabbitMQ, JDBC) vidi bez Zipkin-a.
+        Ukljucuje se samo sa tracing.export.enabled=true (profil "tracing"); upis radi posebna nit, a
+        span se odbacuje ako je red pun, da disk nikad ne uspori zahtev koji se prati.
+     */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tracing.export.enabled", havingValue = "true")
+public class FileSpanExporter extends SpanHandler implements DisposableBean {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 512;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Path file;
+    private final long maxBytes;
+    private final Thread writerThread;
+    private OutputStream out;
+    private long written;
+    private volatile boolean running = true;
+
+    public FileSpanExporter(@Value("${tracing.export.path:traces/${spring.application.name}.jsonl}") String path,
+                            @Value("${tracing.export.max-bytes:52428800}") long maxBytes) throws IOException {
+        this.file = Path.of(path).toAbsolutePath();
+        this.maxBytes = maxBytes;
+        Files.createDirectories(file.getParent());
+        this.written = Files.exists(file) ? Files.size(file) : 0;
+        this.out = open();
+        this.writerThread = new Thread(this::drain, "span-exporter");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) return true;
+
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("traceId", span.traceId());
+        node.put("parentId", span.parentId());
+        node.put("id", span.id());
+        node.put("name", span.name());
+        node.put("kind", span.kind() == null ? null : span.kind().name());
+        node.put("service", span.localServiceName());
+        node.put("remoteService", span.remoteServiceName());
+        node.put("timestamp", span.startTimestamp());
+        node.put("durationMicros", span.finishTimestamp() - span.startTimestamp());
+        ObjectNode tags = node.putObject("tags");
+        span.forEachTag(ObjectNode::put, tags);
+        if (span.error() != null) node.put("error", span.error().toString());
+
+        // gubitak spana ne sme da obori ni uspori zahtev koji se prati
+        if (!queue.offer(node.toString()) && dropped.getAndIncrement() % QUEUE_CAPACITY == 0)
+            log.warn("Span export queue is full, dropped {} spans so far", dropped.get());
+        return true;
+    }
+
+    private void drain() {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                String first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (IOException e) {
+                log.warn("Failed to export {} spans", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    // jedan flush po paketu; kada fajl predje tracing.export.max-bytes (UTF-8 bajtova), stari postaje <fajl>.1
+    private void write(List<String> lines) throws IOException {
+        for (String line : lines) {
+            byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+            out.write(bytes);
+            written += bytes.length;
+        }
+        out.flush();
+        if (written >= maxBytes) {
+            out.close();
+            Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            out = open();
+            written = 0;
+        }
+    }
+
+    private OutputStream open() throws IOException {
+        return new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    }
+
+    @Override
+    public void destroy() throws IOException, InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        if (!writerThread.isAlive()) out.close();
+    }
+}
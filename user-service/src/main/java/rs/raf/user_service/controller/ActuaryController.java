@@ -14,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import rs.raf.user_service.domain.dto.*;
+import rs.raf.user_service.exceptions.ActuaryLimitExceededException;
 import rs.raf.user_service.exceptions.ActuaryLimitNotFoundException;
 import rs.raf.user_service.exceptions.EmployeeNotFoundException;
 import rs.raf.user_service.exceptions.UserNotAgentException;
@@ -62,6 +63,42 @@ public class ActuaryController {
         }
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("consume-limit/{id}")
+    @Operation(summary = "Consume part of agent's daily limit. With force the limit is not checked (supervisor approved order).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Limit consumed successfully."),
+            @ApiResponse(responseCode = "400", description = "Limit would be exceeded"),
+            @ApiResponse(responseCode = "404", description = "Actuary limit not found")
+    })
+    public ResponseEntity<?> consumeLimit(@PathVariable Long id, @Valid @RequestBody LimitAmountDto limitAmountDto,
+                                          @RequestParam(defaultValue = "false") boolean force) {
+        try {
+            actuaryService.consumeLimit(id, limitAmountDto.getAmount(), force);
+            return ResponseEntity.ok().build();
+        } catch (ActuaryLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (ActuaryLimitNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("release-limit/{id}")
+    @Operation(summary = "Release previously consumed part of agent's daily limit.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Limit released successfully."),
+            @ApiResponse(responseCode = "404", description = "Actuary limit not found")
+    })
+    public ResponseEntity<?> releaseLimit(@PathVariable Long id, @Valid @RequestBody LimitAmountDto limitAmountDto) {
+        try {
+            actuaryService.releaseLimit(id, limitAmountDto.getAmount());
+            return ResponseEntity.ok().build();
+        } catch (ActuaryLimitNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @PreAuthorize("hasRole('SUPERVISOR')")
     @PutMapping("set-approval/{id}")
     @Operation(summary = "Set approval value for an agent.")
@@ -11,7 +11,7 @@ import java.math.BigDecimal;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-public class OrderDto {
+public class ActuaryProfitDto {
 
     private Long userId;
     private BigDecimal profit;
@@ -0,0 +1,18 @@
+package rs.raf.user_service.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LimitAmountDto {
+    @NotNull(message = "Amount cannot be null")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+}
@@ -0,0 +1,9 @@
+package rs.raf.user_service.exceptions;
+
+import java.math.BigDecimal;
+
+public class ActuaryLimitExceededException extends RuntimeException{
+    public ActuaryLimitExceededException(Long id, BigDecimal amount) {
+        super("Consuming " + amount + " would exceed the limit of agent with employeeId: " + id + ".");
+    }
+}
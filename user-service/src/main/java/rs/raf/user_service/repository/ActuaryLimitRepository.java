@@ -1,11 +1,39 @@
 package rs.raf.user_service.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import rs.raf.user_service.domain.entity.ActuaryLimit;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 public interface ActuaryLimitRepository extends JpaRepository<ActuaryLimit, Long> {
     Optional<ActuaryLimit> findByEmployeeId(Long employeeId);
 
+    // atomski increment, vraca 0 ako bi se prekoracio limit
+    @Modifying
+    @Transactional
+    @Query("UPDATE actuary_limits a SET a.usedLimit = a.usedLimit + :amount " +
+            "WHERE a.employee.id = :employeeId AND a.usedLimit + :amount <= a.limitAmount")
+    int consumeLimit(@Param("employeeId") Long employeeId, @Param("amount") BigDecimal amount);
+
+    // supervizor je odobrio order preko limita, trosak se upisuje bez provere
+    @Modifying
+    @Transactional
+    @Query("UPDATE actuary_limits a SET a.usedLimit = a.usedLimit + :amount WHERE a.employee.id = :employeeId")
+    int forceConsumeLimit(@Param("employeeId") Long employeeId, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE actuary_limits a SET a.usedLimit = CASE WHEN a.usedLimit > :amount " +
+            "THEN a.usedLimit - :amount ELSE 0 END WHERE a.employee.id = :employeeId")
+    int releaseLimit(@Param("employeeId") Long employeeId, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE actuary_limits a SET a.usedLimit = 0")
+    int resetAllUsedLimits();
 }
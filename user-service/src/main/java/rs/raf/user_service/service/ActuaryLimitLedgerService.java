@@ -0,0 +1,131 @@
+package rs.raf.user_service.service;
+
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rs.raf.user_service.domain.entity.ActuaryLimit;
+import rs.raf.user_service.exceptions.ActuaryLimitExceededException;
+import rs.raf.user_service.exceptions.ActuaryLimitNotFoundException;
+import rs.raf.user_service.repository.ActuaryLimitRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+        Trosenje limita agenata. Baza je izvor istine (uslovni UPDATE usedLimit + amount <= limitAmount),
+        a ispred nje stoji brojac po agentu (u centima, CAS bez lock-a) koji odbija prekoracenja
+        bez odlaska u bazu. Brojac se ponovo ucitava posle promene limita ili reseta.
+     */
+@Service
+@AllArgsConstructor
+public class ActuaryLimitLedgerService {
+
+    private final ActuaryLimitRepository actuaryLimitRepository;
+
+    private final Map<Long, LimitCounter> counters = new ConcurrentHashMap<>();
+
+    public void consume(Long employeeId, BigDecimal amount) {
+        BigDecimal value = normalize(amount);
+        long cents = toCents(value);
+        LimitCounter counter = getCounter(employeeId);
+
+        if (!counter.tryAdd(cents))
+            throw new ActuaryLimitExceededException(employeeId, value);
+
+        int updated;
+        try {
+            updated = actuaryLimitRepository.consumeLimit(employeeId, value);
+        } catch (RuntimeException e) {
+            counter.subtract(cents);
+            throw e;
+        }
+
+        if (updated == 0) {
+            // baza ima drugacije stanje (npr. promenjen limit), brojac se odbacuje
+            counters.remove(employeeId, counter);
+            throw new ActuaryLimitExceededException(employeeId, value);
+        }
+
+        // ako je pozvan unutar transakcije koja se posle vrati, UPDATE nestaje pa mora i iz brojaca
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) counter.subtract(cents);
+                }
+            });
+        }
+    }
+
+    // brojac ne moze da predje limit, pa se posle prinudnog trosenja ponovo ucitava iz baze
+    public void forceConsume(Long employeeId, BigDecimal amount) {
+        if (actuaryLimitRepository.forceConsumeLimit(employeeId, normalize(amount)) == 0)
+            throw new ActuaryLimitNotFoundException(employeeId);
+        counters.remove(employeeId);
+    }
+
+    public void release(Long employeeId, BigDecimal amount) {
+        BigDecimal value = normalize(amount);
+        if (actuaryLimitRepository.releaseLimit(employeeId, value) == 0)
+            throw new ActuaryLimitNotFoundException(employeeId);
+
+        LimitCounter counter = counters.get(employeeId);
+        if (counter != null)
+            counter.subtract(toCents(value));
+    }
+
+    public void resetAll() {
+        actuaryLimitRepository.resetAllUsedLimits();
+        counters.clear();
+    }
+
+    public void invalidate(Long employeeId) {
+        counters.remove(employeeId);
+    }
+
+    private LimitCounter getCounter(Long employeeId) {
+        LimitCounter counter = counters.get(employeeId);
+        if (counter != null) return counter;
+
+        ActuaryLimit actuaryLimit = actuaryLimitRepository.findByEmployeeId(employeeId)
+                .orElseThrow(() -> new ActuaryLimitNotFoundException(employeeId));
+        LimitCounter loaded = new LimitCounter(toCents(normalize(actuaryLimit.getLimitAmount())),
+                toCents(normalize(actuaryLimit.getUsedLimit())));
+        counter = counters.putIfAbsent(employeeId, loaded);
+        return counter != null ? counter : loaded;
+    }
+
+    private BigDecimal normalize(BigDecimal amount) {
+        return (amount == null ? BigDecimal.ZERO : amount).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    private static class LimitCounter {
+        private final long limit;
+        private final AtomicLong used;
+
+        private LimitCounter(long limit, long used) {
+            this.limit = limit;
+            this.used = new AtomicLong(used);
+        }
+
+        private boolean tryAdd(long amount) {
+            while (true) {
+                long current = used.get();
+                if (current + amount > limit) return false;
+                if (used.compareAndSet(current, current + amount)) return true;
+            }
+        }
+
+        private void subtract(long amount) {
+            used.updateAndGet(current -> Math.max(0, current - amount));
+        }
+    }
+}
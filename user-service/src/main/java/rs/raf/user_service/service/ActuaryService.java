@@ -1,6 +1,7 @@
 package rs.raf.user_service.service;
 
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -28,8 +29,11 @@ import rs.raf.user_service.specification.EmployeeSearchSpecification;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class ActuaryService {
@@ -38,6 +42,7 @@ public class ActuaryService {
     private final EmployeeRepository employeeRepository;
     private final ClientRepository clientRepository;
     private final StockClient stockClient;
+    private final ActuaryLimitLedgerService actuaryLimitLedgerService;
 
     public Page<AgentDto> findAgents(String firstName, String lastName, String email, String position, Pageable pageable) {
         Specification<Employee> spec = Specification.where(EmployeeSearchSpecification.startsWithFirstName(firstName))
@@ -71,18 +76,16 @@ public class ActuaryService {
 
         Page<ActuaryDto> actuaryDtoPage = employeeRepository.findAll(spec, pageable).map(ActuaryMapper::toActuaryDto);
 
-        List<OrderDto> orderDtos = stockClient.getAll();
-
-        for (OrderDto orderDto : orderDtos) {
-            ActuaryDto actuaryDto = actuaryDtoPage.getContent().stream()
-                    .filter(actuary -> actuary.getId().equals(orderDto.getUserId()))
-                    .findFirst()
-                    .orElse(null);
-            if (actuaryDto == null) {
-                System.out.println("Greska actuaryDto je null");
-                continue;
-            }
-            actuaryDto.setProfit(actuaryDto.getProfit().add(orderDto.getProfit()));
+        List<Long> actuaryIds = actuaryDtoPage.getContent().stream().map(ActuaryDto::getId).toList();
+        if (actuaryIds.isEmpty())
+            return actuaryDtoPage;
+
+        Map<Long, BigDecimal> profits = stockClient.getActuaryProfits(actuaryIds).stream()
+                .filter(profit -> profit.getProfit() != null)
+                .collect(Collectors.toMap(ActuaryProfitDto::getUserId, ActuaryProfitDto::getProfit));
+
+        for (ActuaryDto actuaryDto : actuaryDtoPage.getContent()) {
+            actuaryDto.setProfit(profits.getOrDefault(actuaryDto.getId(), BigDecimal.ZERO));
         }
         return actuaryDtoPage;
     }
@@ -94,6 +97,8 @@ public class ActuaryService {
         ActuaryLimit actuaryLimit = actuaryLimitRepository.findByEmployeeId(employeeId).orElseThrow(() -> new ActuaryLimitNotFoundException(employeeId));
         actuaryLimit.setLimitAmount(newLimit);
         actuaryLimitRepository.save(actuaryLimit);
+        actuaryLimitLedgerService.invalidate(employeeId);
+        notifyLimitChange(employeeId, actuaryLimit);
     }
 
     public void resetDailyLimit(Long employeeId) {
@@ -105,6 +110,13 @@ public class ActuaryService {
         ActuaryLimit actuaryLimit = actuaryLimitRepository.findByEmployeeId(employeeId).orElseThrow(() -> new ActuaryLimitNotFoundException(employeeId));
         actuaryLimit.setUsedLimit(BigDecimal.ZERO);
         actuaryLimitRepository.save(actuaryLimit);
+        actuaryLimitLedgerService.invalidate(employeeId);
+
+        try {
+            stockClient.resetAgentLimit(employeeId);
+        } catch (Exception e) {
+            log.warn("Failed to reset used limit in stock-service for agent {}", employeeId, e);
+        }
     }
 
     public void setApproval(Long employeeId, boolean value) {
@@ -116,10 +128,35 @@ public class ActuaryService {
         ActuaryLimit actuaryLimit = actuaryLimitRepository.findByEmployeeId(employeeId).orElseThrow(() -> new ActuaryLimitNotFoundException(employeeId));
         actuaryLimit.setNeedsApproval(value);
         actuaryLimitRepository.save(actuaryLimit);
+        notifyLimitChange(employeeId, actuaryLimit);
+    }
+
+    public void consumeLimit(Long employeeId, BigDecimal amount, boolean force) {
+        if (force)
+            actuaryLimitLedgerService.forceConsume(employeeId, amount);
+        else
+            actuaryLimitLedgerService.consume(employeeId, amount);
+    }
+
+    public void releaseLimit(Long employeeId, BigDecimal amount) {
+        actuaryLimitLedgerService.release(employeeId, amount);
     }
 
     public ActuaryLimitDto getAgentLimit(Long id) {
         ActuaryLimit actuaryLimit = actuaryLimitRepository.findByEmployeeId(id).orElseThrow(() -> new ActuaryLimitNotFoundException(id));
+        return toLimitDto(actuaryLimit);
+    }
+
+    // stock-service drzi limite agenata lokalno za pre-trade proveru, pa mu javljamo svaku promenu
+    private void notifyLimitChange(Long employeeId, ActuaryLimit actuaryLimit) {
+        try {
+            stockClient.updateAgentLimit(employeeId, toLimitDto(actuaryLimit));
+        } catch (Exception e) {
+            log.warn("Failed to notify stock-service about limit change for agent {}", employeeId, e);
+        }
+    }
+
+    private ActuaryLimitDto toLimitDto(ActuaryLimit actuaryLimit) {
         ActuaryLimitDto actuaryLimitDto = new ActuaryLimitDto();
         actuaryLimitDto.setLimitAmount(actuaryLimit.getLimitAmount());
         actuaryLimitDto.setUsedLimit(actuaryLimit.getUsedLimit());
@@ -133,12 +170,14 @@ public class ActuaryService {
     //U ponoc
     @Scheduled(cron = "0 0 0 * * *")
     public void resetDailyLimits() {
-        List<ActuaryLimit> limits = actuaryLimitRepository.findAll();
-        for (ActuaryLimit limit : limits) {
-            limit.setUsedLimit(BigDecimal.ZERO);
+        actuaryLimitLedgerService.resetAll();
+        log.info("Daily used limits have been reset.");
+
+        try {
+            stockClient.resetAgentLimits();
+        } catch (Exception e) {
+            log.warn("Failed to reset used limits in stock-service.", e);
         }
-        System.out.println("Daily used limits have been reset.");
-        actuaryLimitRepository.saveAll(limits);
     }
 
     public List<ActuaryDto> getAllAgentsAndClients(String name, String surname, String role) {
@@ -0,0 +1,147 @@
+package rs.raf.user_service.unit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rs.raf.user_service.domain.entity.ActuaryLimit;
+import rs.raf.user_service.exceptions.ActuaryLimitExceededException;
+import rs.raf.user_service.exceptions.ActuaryLimitNotFoundException;
+import rs.raf.user_service.repository.ActuaryLimitRepository;
+import rs.raf.user_service.service.ActuaryLimitLedgerService;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ActuaryLimitLedgerServiceTest {
+
+    @Mock
+    private ActuaryLimitRepository actuaryLimitRepository;
+
+    @InjectMocks
+    private ActuaryLimitLedgerService actuaryLimitLedgerService;
+
+    private ActuaryLimit limit(long limitAmount, long usedLimit) {
+        return new ActuaryLimit(BigDecimal.valueOf(limitAmount), BigDecimal.valueOf(usedLimit), false, null);
+    }
+
+    @Test
+    void consume_UsesAtomicUpdateAndLoadsLimitOnce() {
+        when(actuaryLimitRepository.findByEmployeeId(1L)).thenReturn(Optional.of(limit(1000, 0)));
+        when(actuaryLimitRepository.consumeLimit(eq(1L), any(BigDecimal.class))).thenReturn(1);
+
+        actuaryLimitLedgerService.consume(1L, BigDecimal.valueOf(400));
+        actuaryLimitLedgerService.consume(1L, BigDecimal.valueOf(600));
+
+        verify(actuaryLimitRepository, times(1)).findByEmployeeId(1L);
+        verify(actuaryLimitRepository, times(1)).consumeLimit(1L, new BigDecimal("400.00"));
+        verify(actuaryLimitRepository, times(1)).consumeLimit(1L, new BigDecimal("600.00"));
+    }
+
+    @Test
+    void consume_ShouldRejectWithoutDatabase_WhenCounterIsFull() {
+        when(actuaryLimitRepository.findByEmployeeId(1L)).thenReturn(Optional.of(limit(1000, 900)));
+
+        assertThrows(ActuaryLimitExceededException.class,
+                () -> actuaryLimitLedgerService.consume(1L, BigDecimal.valueOf(200)));
+        verify(actuaryLimitRepository, never()).consumeLimit(any(), any());
+    }
+
+    @Test
+    void consume_ShouldReloadCounter_WhenDatabaseRejects() {
+        when(actuaryLimitRepository.findByEmployeeId(1L)).thenReturn(Optional.of(limit(1000, 0)));
+        when(actuaryLimitRepository.consumeLimit(eq(1L), any(BigDecimal.class))).thenReturn(0);
+
+        assertThrows(ActuaryLimitExceededException.class,
+                () -> actuaryLimitLedgerService.consume(1L, BigDecimal.valueOf(100)));
+        assertThrows(ActuaryLimitExceededException.class,
+                () -> actuaryLimitLedgerService.consume(1L, BigDecimal.valueOf(100)));
+
+        verify(actuaryLimitRepository, times(2)).findByEmployeeId(1L);
+    }
+
+    @Test
+    void consume_ShouldThrow_WhenLimitDoesNotExist() {
+        when(actuaryLimitRepository.findByEmployeeId(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ActuaryLimitNotFoundException.class,
+                () -> actuaryLimitLedgerService.consume(1L, BigDecimal.ONE));
+    }
+
+    @Test
+    void release_FreesCounterSpace() {
+        when(actuaryLimitRepository.findByEmployeeId(1L)).thenReturn(Optional.of(limit(1000, 0)));
+        when(actuaryLimitRepository.consumeLimit(eq(1L), any(BigDecimal.class))).thenReturn(1);
+        when(actuaryLimitRepository.releaseLimit(eq(1L), any(BigDecimal.class))).thenReturn(1);
+
+        actuaryLimitLedgerService.consume(1L, BigDecimal.valueOf(1000));
+        actuaryLimitLedgerService.release(1L, BigDecimal.valueOf(300));
+        actuaryLimitLedgerService.consume(1L, BigDecimal.valueOf(300));
+
+        verify(actuaryLimitRepository, times(2)).consumeLimit(eq(1L), any(BigDecimal.class));
+    }
+
+    @Test
+    void resetAll_UsesSingleBulkUpdate() {
+        actuaryLimitLedgerService.resetAll();
+
+        verify(actuaryLimitRepository, times(1)).resetAllUsedLimits();
+        verify(actuaryLimitRepository, never()).findAll();
+    }
+
+    @Test
+    void forceConsume_SkipsLimitCheckAndReloadsCounter() {
+        when(actuaryLimitRepository.findByEmployeeId(1L))
+                .thenReturn(Optional.of(limit(1000, 900)))
+                .thenReturn(Optional.of(limit(1000, 1500)));
+        when(actuaryLimitRepository.consumeLimit(eq(1L), any(BigDecimal.class))).thenReturn(1);
+        when(actuaryLimitRepository.forceConsumeLimit(1L, new BigDecimal("600.00"))).thenReturn(1);
+
+        actuaryLimitLedgerService.consume(1L, BigDecimal.valueOf(50));
+        actuaryLimitLedgerService.forceConsume(1L, BigDecimal.valueOf(600));
+
+        // brojac je odbacen, pa nova vrednost iz baze odbija sledece trosenje
+        assertThrows(ActuaryLimitExceededException.class, () -> actuaryLimitLedgerService.consume(1L, BigDecimal.ONE));
+        verify(actuaryLimitRepository, times(2)).findByEmployeeId(1L);
+    }
+
+    @Test
+    void consume_UndoesCounter_WhenRepositoryThrows() {
+        when(actuaryLimitRepository.findByEmployeeId(1L)).thenReturn(Optional.of(limit(1000, 0)));
+        when(actuaryLimitRepository.consumeLimit(eq(1L), any(BigDecimal.class)))
+                .thenThrow(new RuntimeException("connection lost"))
+                .thenReturn(1);
+
+        assertThrows(RuntimeException.class, () -> actuaryLimitLedgerService.consume(1L, BigDecimal.valueOf(800)));
+        actuaryLimitLedgerService.consume(1L, BigDecimal.valueOf(800));
+
+        verify(actuaryLimitRepository, times(2)).consumeLimit(1L, new BigDecimal("800.00"));
+    }
+
+    @Test
+    void consume_UndoesCounter_WhenTransactionRollsBack() {
+        when(actuaryLimitRepository.findByEmployeeId(1L)).thenReturn(Optional.of(limit(1000, 0)));
+        when(actuaryLimitRepository.consumeLimit(eq(1L), any(BigDecimal.class))).thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            actuaryLimitLedgerService.consume(1L, BigDecimal.valueOf(800));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        actuaryLimitLedgerService.consume(1L, BigDecimal.valueOf(800));
+        verify(actuaryLimitRepository, times(2)).consumeLimit(1L, new BigDecimal("800.00"));
+    }
+}
@@ -11,6 +11,7 @@ import rs.raf.user_service.client.BankClient;
 import rs.raf.user_service.client.StockClient;
 import rs.raf.user_service.domain.dto.ActuaryDto;
 import rs.raf.user_service.domain.dto.ActuaryLimitDto;
+import rs.raf.user_service.domain.dto.ActuaryProfitDto;
 import rs.raf.user_service.domain.dto.AgentDto;
 import rs.raf.user_service.domain.dto.EmployeeDto;
 import rs.raf.user_service.domain.entity.ActuaryLimit;
@@ -22,6 +23,7 @@ import rs.raf.user_service.exceptions.EmployeeNotFoundException;
 import rs.raf.user_service.exceptions.UserNotAgentException;
 import rs.raf.user_service.repository.ActuaryLimitRepository;
 import rs.raf.user_service.repository.EmployeeRepository;
+import rs.raf.user_service.service.ActuaryLimitLedgerService;
 import rs.raf.user_service.service.ActuaryService;
 
 import java.math.BigDecimal;
@@ -43,6 +45,9 @@ public class ActuaryServiceTest {
     @Mock
     private StockClient stockClient;
 
+    @Mock
+    private ActuaryLimitLedgerService actuaryLimitLedgerService;
+
     @InjectMocks
     private ActuaryService actuaryService;
 
@@ -107,6 +112,24 @@ public class ActuaryServiceTest {
         verify(actuaryLimitRepository, times(1)).findByEmployeeId(agentEmployee.getId());
     }
 
+    // findActuaries(...) ------------------------------------------------------------------------------------------
+
+    @Test
+    void testFindActuaries_UsesAggregatedProfits() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        Page<Employee> employeesPage = new PageImpl<>(List.of(agentEmployee, nonAgentEmployee));
+        when(employeeRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(employeesPage);
+        when(stockClient.getActuaryProfits(List.of(1L, 2L)))
+                .thenReturn(List.of(new ActuaryProfitDto(1L, BigDecimal.valueOf(250))));
+
+        Page<ActuaryDto> result = actuaryService.findActuaries(pageable);
+
+        assertEquals(BigDecimal.valueOf(250), result.getContent().get(0).getProfit());
+        assertEquals(BigDecimal.ZERO, result.getContent().get(1).getProfit());
+        verify(stockClient, times(1)).getActuaryProfits(List.of(1L, 2L));
+    }
+
     // changeAgentLimit(...) ---------------------------------------------------------------------------------------
 
     @Test
@@ -124,6 +147,7 @@ public class ActuaryServiceTest {
         // Proverimo da li je ActuaryLimit sačuvan sa novim limitom
         assertEquals(newLimit, actuaryLimit.getLimitAmount());
         verify(actuaryLimitRepository, times(1)).save(actuaryLimit);
+        verify(stockClient, times(1)).updateAgentLimit(eq(employeeId), any(ActuaryLimitDto.class));
     }
 
     @Test
@@ -288,22 +312,13 @@ public class ActuaryServiceTest {
 
     @Test
     void testResetDailyLimits_Success() {
-        // Ovde testiramo "scheduled" metodu koja svakodnevno resetuje limit
-        ActuaryLimit limit1 = new ActuaryLimit();
-        limit1.setUsedLimit(BigDecimal.valueOf(100));
-
-        ActuaryLimit limit2 = new ActuaryLimit();
-        limit2.setUsedLimit(BigDecimal.valueOf(200));
-
-        List<ActuaryLimit> limits = List.of(limit1, limit2);
-        when(actuaryLimitRepository.findAll()).thenReturn(limits);
-
+        // Ovde testiramo "scheduled" metodu koja svakodnevno resetuje limit, sada jednim bulk UPDATE-om
         actuaryService.resetDailyLimits();
 
-        assertEquals(BigDecimal.ZERO, limit1.getUsedLimit());
-        assertEquals(BigDecimal.ZERO, limit2.getUsedLimit());
-        // Proveravamo da li je sve snimljeno
-        verify(actuaryLimitRepository, times(1)).saveAll(limits);
+        verify(actuaryLimitLedgerService, times(1)).resetAll();
+        verify(actuaryLimitRepository, never()).findAll();
+        verify(actuaryLimitRepository, never()).saveAll(any());
+        verify(stockClient, times(1)).resetAgentLimits();
     }
 
 }